@@ -0,0 +1,81 @@
+package com.rgt.order_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.controller.OrderController;
+import com.rgt.order_system.controller.OrderLongPollRegistry;
+import com.rgt.order_system.controller.OrderWebSocketController;
+import com.rgt.order_system.ingest.IdempotencyCache;
+import com.rgt.order_system.ingest.IngestLimiter;
+import com.rgt.order_system.ingest.OrderBatchIngest;
+import com.rgt.order_system.metrics.OrderMetrics;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * 벤치마크 공통 준비 코드 - 스프링 컨텍스트 없이 컨트롤러와 저장소를 직접 구성합니다.
+ */
+final class BenchmarkFixtures {
+
+    static final String[] MENU = {"김치찌개", "된장찌개", "비빔밥", "불고기", "제육볶음", "냉면", "라면", "떡볶이"};
+
+    // REST 핸들러에 넘기는 요청 (접수 한도 키로 원격 주소만 사용)
+    static final HttpServletRequest REQUEST = new MockHttpServletRequest();
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @return orderCount건이 접수된 저장소
+     */
+    static OrderStore filledStore(int orderCount) {
+        OrderStore store = new OrderStore();
+        for (int i = 0; i < orderCount; i++) {
+            store.add(newOrder(i));
+        }
+        return store;
+    }
+
+    static Order newOrder(int sequence) {
+        return new Order(null, MENU[sequence & (MENU.length - 1)], 1 + (sequence & 3), null);
+    }
+
+    /**
+     * 브로커로 보내는 메시지는 버리는 WebSocket 컨트롤러
+     */
+    static OrderWebSocketController webSocketController(OrderStore store) {
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> true);
+        return new OrderWebSocketController(messagingTemplate, store, new OrderLongPollRegistry(store),
+                new OrderPayloadCache(new ObjectMapper()), batchIngest(store), metrics(store));
+    }
+
+    static OrderController orderController(OrderStore store) {
+        return new OrderController(store, batchIngest(store), noLimit(), metrics(store));
+    }
+
+    /**
+     * 처리량을 제한하지 않는 접수 한도 (한도 확인 비용만 포함)
+     */
+    static IngestLimiter noLimit() {
+        return new IngestLimiter(1e12, Integer.MAX_VALUE, 1e12, Integer.MAX_VALUE, 10_000, Integer.MAX_VALUE,
+                new SimpleMeterRegistry(), () -> 0, System::nanoTime);
+    }
+
+    /**
+     * 운영 기본값(키 10분 보관, 최대 10만 건)과 같은 일괄 접수기
+     */
+    static OrderBatchIngest batchIngest(OrderStore store) {
+        return new OrderBatchIngest(store, new IdempotencyCache(600_000, 100_000), 1000);
+    }
+
+    /**
+     * 운영과 같은 타이머 비용을 포함하도록 메모리 레지스트리에 지표를 기록
+     */
+    static OrderMetrics metrics(OrderStore store) {
+        return new OrderMetrics(new SimpleMeterRegistry(), store);
+    }
+}
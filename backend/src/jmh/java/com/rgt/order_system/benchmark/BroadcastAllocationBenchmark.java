@@ -0,0 +1,84 @@
+package com.rgt.order_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.model.Order;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 이벤트 하나당 할당량 비교 벤치마크 (구독자 500명)
+ *
+ * perPath: STOMP 브로드캐스트(MappingJackson2MessageConverter)와 REST 응답(/api/orders, /api/orders/since)이
+ *          같은 주문을 각각 직렬화 (기존 구현)
+ * once: OrderPayloadCache로 한 번만 인코딩하고 모든 경로가 같은 바이트를 재사용
+ *
+ * 구독자별 STOMP 프레임 인코딩은 두 경우 모두 동일하게 포함됩니다.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm(B/op)으로 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastAllocationBenchmark {
+
+    @Param({"500"})
+    private int subscribers;
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2MessageConverter messageConverter;
+    private OrderPayloadCache payloadCache;
+    private StompEncoder stompEncoder;
+    private Order order;
+    private List<Order> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        messageConverter = new MappingJackson2MessageConverter();
+        messageConverter.setObjectMapper(objectMapper);
+        payloadCache = new OrderPayloadCache(objectMapper);
+        stompEncoder = new StompEncoder();
+
+        page = new ArrayList<>();
+        for (long id = 100; id > 90; id--) {
+            page.add(new Order(id, "김치찌개", 2, "접수됨"));
+        }
+        order = page.get(0);
+    }
+
+    @Benchmark
+    public void perPath(Blackhole blackhole) throws Exception {
+        Message<?> message = messageConverter.toMessage(order, null);
+        fanOut((byte[]) message.getPayload(), blackhole);
+        blackhole.consume(objectMapper.writeValueAsBytes(page));
+        blackhole.consume(objectMapper.writeValueAsBytes(List.of(order)));
+    }
+
+    @Benchmark
+    public void once(Blackhole blackhole) {
+        fanOut(payloadCache.encode(order), blackhole);
+        blackhole.consume(payloadCache.encodeArray(page));
+        blackhole.consume(payloadCache.encodeArray(List.of(order)));
+    }
+
+    private void fanOut(byte[] payload, Blackhole blackhole) {
+        for (int i = 0; i < subscribers; i++) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setSubscriptionId("sub-" + i);
+            accessor.setDestination("/topic/orders");
+            accessor.setMessageId(Integer.toString(i));
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            blackhole.consume(stompEncoder.encode(accessor.getMessageHeaders(), payload));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.rgt.order_system.benchmark;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/orders?status=&foodName= 조건 조회 비교 벤치마크
+ *
+ * 대부분 완료되고 100건 중 1건만 조리중인 저장소에서 조건에 맞는 최신 주문 SIZE건을 찾습니다.
+ * scan: 전체 주문을 읽으며 조건 확인 (클라이언트가 전체 목록을 받아 거르던 방식과 같은 O(n))
+ * index: 보조 색인 비트맵 (결과 수에 비례)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilteredQueryBenchmark {
+
+    private static final int SIZE = 10;
+    private static final int COOKING_EVERY = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    private int storeSize;
+
+    private OrderStore store;
+    private String foodName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = BenchmarkFixtures.filledStore(storeSize);
+        for (long id = 1; id <= storeSize; id++) {
+            store.updateStatus(id, id % COOKING_EVERY == 0 ? OrderStatus.COOKING : OrderStatus.DONE);
+        }
+        foodName = BenchmarkFixtures.MENU[3];
+    }
+
+    @Benchmark
+    public List<Order> scanByStatus() {
+        String label = OrderStatus.COOKING.getLabel();
+        List<Order> matches = new ArrayList<>();
+        store.forEach(1, store.headId(), order -> {
+            if (label.equals(order.getStatus())) {
+                matches.add(order);
+            }
+        });
+        return matches.subList(Math.max(0, matches.size() - SIZE), matches.size());
+    }
+
+    @Benchmark
+    public List<Order> indexByStatus() {
+        return store.findMatching(OrderStatus.COOKING, null, 0, SIZE);
+    }
+
+    @Benchmark
+    public List<Order> indexByFoodName() {
+        return store.findMatching(null, foodName, 0, SIZE);
+    }
+
+    @Benchmark
+    public List<Order> indexByStatusAndFoodName() {
+        return store.findMatching(OrderStatus.COOKING, foodName, 0, SIZE);
+    }
+
+    @Benchmark
+    public List<Order> indexByStatusDeepCursor() {
+        return store.findMatchingBefore(OrderStatus.COOKING, null, storeSize / 2, SIZE);
+    }
+}
@@ -0,0 +1,123 @@
+package com.rgt.order_system.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.rgt.order_system.controller.OrderController;
+import com.rgt.order_system.controller.OrderWebSocketController;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 접수/조회 경로의 로그 비용 비교 벤치마크
+ *
+ * legacy: 현재 컨트롤러에 기존 로그를 더한 것 (주문마다 toString 로그, 조회마다 INFO 로그)
+ * createOrder/pagination: 현재 컨트롤러 (파라미터 로그 하나, 조회 로그 초당 10건 제한)
+ * appender=sync는 요청 스레드가 파일에 직접 쓰고, async는 logback-spring.xml과 같은 비동기 큐를 거칩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class LoggingBenchmark {
+
+    private static final int STORE_SIZE = 10_000;
+    private static final Logger legacyLog = LoggerFactory.getLogger(OrderController.class);
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    private Path logFile;
+    private OrderStore store;
+    private OrderController controller;
+    private OrderWebSocketController webSocketController;
+
+    @Setup(Level.Trial)
+    public void setUpLogging() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSS} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> target = file;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            target = async;
+        }
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownLogging() throws IOException {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = BenchmarkFixtures.filledStore(STORE_SIZE);
+        controller = BenchmarkFixtures.orderController(store);
+        webSocketController = BenchmarkFixtures.webSocketController(store);
+    }
+
+    @State(Scope.Thread)
+    public static class Sequence {
+        int next;
+    }
+
+    @Benchmark
+    public ResponseEntity<String> legacyCreateOrder(Sequence sequence) {
+        Order order = BenchmarkFixtures.newOrder(sequence.next++);
+        ResponseEntity<String> response = controller.createOrder(order, BenchmarkFixtures.REQUEST);
+        legacyLog.info(String.valueOf(order)); // 제거된 toString 로그
+        return response;
+    }
+
+    @Benchmark
+    public ResponseEntity<String> createOrder(Sequence sequence) {
+        return controller.createOrder(BenchmarkFixtures.newOrder(sequence.next++), BenchmarkFixtures.REQUEST);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> legacyPagination() {
+        ResponseEntity<byte[]> response = webSocketController.getOrdersWithPagination(0, 10, null, null, null);
+        legacyLog.info("Pagination - page: {}, size: {}, before: {}, returned: {}, total: {}",
+                0, 10, null, 10, store.size()); // 빈도 제한 없는 조회 로그
+        return response;
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> pagination() {
+        return webSocketController.getOrdersWithPagination(0, 10, null, null, null);
+    }
+}
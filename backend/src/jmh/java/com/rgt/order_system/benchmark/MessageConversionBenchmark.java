@@ -0,0 +1,62 @@
+package com.rgt.order_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 메시지 변환 벤치마크
+ *
+ * converter: SimpMessagingTemplate.convertAndSend가 사용하는 MappingJackson2MessageConverter
+ * cache: OrderPayloadCache (캐시 용량 65,536건 - 저장소가 이보다 크면 임의 조회의 적중률이 떨어짐)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageConversionBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int storeSize;
+
+    private OrderStore store;
+    private MappingJackson2MessageConverter converter;
+    private OrderPayloadCache payloadCache;
+    private List<Order> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = BenchmarkFixtures.filledStore(storeSize);
+        ObjectMapper objectMapper = new ObjectMapper();
+        converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        payloadCache = new OrderPayloadCache(objectMapper);
+        page = store.findNewest(0, 10);
+    }
+
+    @Benchmark
+    public Message<?> converter() {
+        return converter.toMessage(randomOrder(), null);
+    }
+
+    @Benchmark
+    public byte[] cacheRandomOrder() {
+        return payloadCache.encode(randomOrder());
+    }
+
+    @Benchmark
+    public byte[] cacheNewestPage() {
+        return payloadCache.encodeArray(page);
+    }
+
+    private Order randomOrder() {
+        return store.get(1 + ThreadLocalRandom.current().nextInt(storeSize));
+    }
+}
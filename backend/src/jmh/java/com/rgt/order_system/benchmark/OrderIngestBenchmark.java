@@ -0,0 +1,61 @@
+package com.rgt.order_system.benchmark;
+
+import com.rgt.order_system.controller.OrderWebSocketController;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.ingest.OrderSubmission;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 접수(handleOrder, handleOrders) 처리량 벤치마크
+ *
+ * 저장소에 storeSize건이 이미 있는 상태에서 STOMP /app/order, /app/orders/batch 핸들러를 직접 호출합니다.
+ * handleOrders는 중복 방지 키가 붙은 BATCH_SIZE건을 한 번에 접수하며, 처리량은 호출 수 기준입니다 (주문 수 = 호출 수 x BATCH_SIZE).
+ * 측정 중 추가된 주문이 쌓이지 않도록 반복(iteration)마다 저장소를 새로 채웁니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class OrderIngestBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    private int storeSize;
+
+    private OrderWebSocketController controller;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        OrderStore store = BenchmarkFixtures.filledStore(storeSize);
+        controller = BenchmarkFixtures.webSocketController(store);
+    }
+
+    @State(Scope.Thread)
+    public static class Sequence {
+        int next;
+        // 스레드마다 다른 키를 쓰도록 스레드 상태 객체의 해시를 접두사로 사용
+        final String keyPrefix = Integer.toHexString(System.identityHashCode(this)) + "-";
+    }
+
+    @Benchmark
+    public void handleOrder(Sequence sequence) {
+        controller.handleOrder(BenchmarkFixtures.newOrder(sequence.next++));
+    }
+
+    @Benchmark
+    public Object handleOrders(Sequence sequence) {
+        List<OrderSubmission> submissions = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int next = sequence.next++;
+            submissions.add(new OrderSubmission(sequence.keyPrefix + next,
+                    BenchmarkFixtures.MENU[next & (BenchmarkFixtures.MENU.length - 1)], 1 + (next & 3)));
+        }
+        return controller.handleOrders(submissions);
+    }
+}
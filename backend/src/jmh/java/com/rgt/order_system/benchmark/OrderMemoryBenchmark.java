@@ -0,0 +1,75 @@
+package com.rgt.order_system.benchmark;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 저장소 메모리 사용량 벤치마크 - 주문 100만 건을 저장했을 때 주문당 힙 사용량(bytesPerOrder)
+ *
+ * objectStore: 기존 구현처럼 주문마다 Order 객체(Long ID, 요청마다 새로 만들어진 음식 이름 문자열)를 보관
+ * columnarStore: OrderStore의 열 저장 (int 배열 + 이름 사전)
+ * 음식 이름은 JSON 역직렬화처럼 주문마다 새 String 인스턴스로 만듭니다. 결과의 bytesPerOrder 보조 지표를 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class OrderMemoryBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerOrder;
+    }
+
+    @Benchmark
+    public Object objectStore(Footprint footprint) {
+        long before = usedHeap();
+        AtomicReferenceArray<Order> orders = new AtomicReferenceArray<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.set(i, new Order((long) i + 1, foodName(i), 1 + (i & 3), OrderStatus.RECEIVED.getLabel()));
+        }
+        footprint.bytesPerOrder = (usedHeap() - before) / ORDERS;
+        return orders;
+    }
+
+    @Benchmark
+    public Object columnarStore(Footprint footprint) {
+        long before = usedHeap();
+        OrderStore store = new OrderStore();
+        for (int i = 0; i < ORDERS; i++) {
+            store.add(new Order(null, foodName(i), 1 + (i & 3), null));
+        }
+        footprint.bytesPerOrder = (usedHeap() - before) / ORDERS;
+        return store;
+    }
+
+    private static String foodName(int sequence) {
+        return new String(BenchmarkFixtures.MENU[sequence & (BenchmarkFixtures.MENU.length - 1)]);
+    }
+
+    /**
+     * GC 후 사용 중인 힙 크기
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,54 @@
+package com.rgt.order_system.benchmark;
+
+import com.rgt.order_system.controller.OrderWebSocketController;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 API 벤치마크 - GET /api/orders, GET /api/orders/since
+ *
+ * 응답 본문(JSON 바이트) 생성까지 포함합니다. 주문 JSON 캐시는 반복 호출로 채워진 상태에서 측정됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderQueryBenchmark {
+
+    private static final int SIZE = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    private int storeSize;
+
+    private OrderWebSocketController controller;
+    private long headId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OrderStore store = BenchmarkFixtures.filledStore(storeSize);
+        controller = BenchmarkFixtures.webSocketController(store);
+        headId = store.headId();
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> paginationFirstPage() {
+        return controller.getOrdersWithPagination(0, SIZE, null, null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> paginationDeepCursor() {
+        return controller.getOrdersWithPagination(0, SIZE, headId / 2, null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> sinceTenNewOrders() {
+        return controller.getOrdersSince(headId - SIZE, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> sinceNotModified() {
+        return controller.getOrdersSince(headId, null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.rgt.order_system.benchmark;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/orders 페이지네이션 비교 벤치마크
+ *
+ * legacy: CopyOnWriteArrayList 전체 복사 + ID 내림차순 정렬 후 subList (기존 구현)
+ * store: OrderStore의 역방향 슬라이스 (offset 모드 / before 커서 모드)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PaginationBenchmark {
+
+    private static final int PAGE = 5;
+    private static final int SIZE = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    private int orderCount;
+
+    private List<Order> legacyOrders;
+    private OrderStore orderStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderStore = new OrderStore();
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(orderStore.add(new Order(null, "menu-" + (i % 20), 1, "접수됨")));
+        }
+        legacyOrders = new CopyOnWriteArrayList<>(orders);
+    }
+
+    @Benchmark
+    public List<Order> legacyCopyAndSort() {
+        List<Order> sortedOrders = new ArrayList<>(legacyOrders);
+        sortedOrders.sort((a, b) -> Long.compare(b.getId(), a.getId()));
+
+        int totalElements = sortedOrders.size();
+        int start = Math.min(PAGE * SIZE, totalElements);
+        int end = Math.min(start + SIZE, totalElements);
+        if (start >= totalElements) {
+            return Collections.emptyList();
+        }
+        return sortedOrders.subList(start, end);
+    }
+
+    @Benchmark
+    public List<Order> storeOffsetPage() {
+        return orderStore.findNewest((long) PAGE * SIZE, SIZE);
+    }
+
+    @Benchmark
+    public List<Order> storeCursorDeepPage() {
+        // 전체의 중간 지점 페이지 - 깊이와 무관하게 O(size)
+        return orderStore.findNewestBefore(orderCount / 2, SIZE);
+    }
+}
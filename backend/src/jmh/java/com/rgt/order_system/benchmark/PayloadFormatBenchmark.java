@@ -0,0 +1,59 @@
+package com.rgt.order_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.rgt.order_system.broadcast.OrderPayloadFormat;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 이벤트 인코딩 형식 벤치마크 - JSON(기본)과 CBOR의 배치 프레임 크기, 인코딩/디코딩 시간
+ *
+ * 브로드캐스트 최대 배치(256건)를 캐시 없이 매번 직렬화합니다.
+ * bytesPerBatch 보조 지표가 전송 바이트(STOMP 본문 크기)입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<Order> batch;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytesPerBatch;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = OrderPayloadFormat.valueOf(format.toUpperCase()) == OrderPayloadFormat.CBOR
+                ? new CBORMapper() : new ObjectMapper();
+        OrderStore store = BenchmarkFixtures.filledStore(BATCH_SIZE);
+        batch = store.findNewest(0, BATCH_SIZE);
+        encoded = mapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public byte[] encode(WireSize wireSize) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(batch);
+        wireSize.bytesPerBatch = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Order[] decode() throws Exception {
+        return mapper.readValue(encoded, Order[].class);
+    }
+}
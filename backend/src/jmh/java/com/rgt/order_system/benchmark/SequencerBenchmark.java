@@ -0,0 +1,84 @@
+package com.rgt.order_system.benchmark;
+
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderSequencer;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다중 생산자 접수 처리량 - 기본 경로(요청 스레드가 직접 기록) 대비 단일 기록 스레드 처리기(sequencer 프로필)
+ *
+ * 스레드 수별로 주문 접수와, 접수된 주문의 상태 변경(접수 8건당 1건)을 섞어 보냅니다.
+ * 처리기 경로의 지연에는 요청 스레드가 처리 스레드의 반영을 기다리는 시간이 포함됩니다.
+ * 측정 중 추가된 주문이 쌓이지 않도록 반복(iteration)마다 저장소를 새로 만듭니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class SequencerBenchmark {
+
+    @Param({"direct", "sequencer"})
+    private String path;
+
+    private OrderStore store;
+    private OrderSequencer sequencer;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = new OrderStore();
+        if ("sequencer".equals(path)) {
+            sequencer = new OrderSequencer(store, 65536, 256, new SimpleMeterRegistry());
+            sequencer.start();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        if (sequencer != null) {
+            sequencer.stop();
+            sequencer = null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sequence {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object ingest1(Sequence sequence) {
+        return ingest(sequence);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object ingest4(Sequence sequence) {
+        return ingest(sequence);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object ingest16(Sequence sequence) {
+        return ingest(sequence);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Object ingest64(Sequence sequence) {
+        return ingest(sequence);
+    }
+
+    private Object ingest(Sequence sequence) {
+        int next = sequence.next++;
+        if ((next & 7) == 7) {
+            return store.updateStatus(store.headId() - (next & 63), OrderStatus.COOKING); // 최근 접수 주문 중 하나
+        }
+        return store.add(BenchmarkFixtures.newOrder(next));
+    }
+}
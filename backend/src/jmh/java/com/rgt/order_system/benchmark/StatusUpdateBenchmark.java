@@ -0,0 +1,46 @@
+package com.rgt.order_system.benchmark;
+
+import com.rgt.order_system.controller.OrderController;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상태 변경(PUT /api/orders/{id}/status) 벤치마크
+ *
+ * 임의의 주문을 다음 상태로 진행시킵니다. 완료된 주문은 거절(409) 경로를 타므로,
+ * 반복마다 저장소를 새로 채워 성공 경로 위주로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class StatusUpdateBenchmark {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Param({"10000", "100000", "1000000"})
+    private int storeSize;
+
+    private OrderStore store;
+    private OrderController controller;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = BenchmarkFixtures.filledStore(storeSize);
+        controller = BenchmarkFixtures.orderController(store);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> advanceStatus() {
+        long id = 1 + ThreadLocalRandom.current().nextInt(storeSize);
+        OrderStatus current = OrderStatus.from(store.get(id).getStatus());
+        OrderStatus next = STATUSES[Math.min(current.ordinal() + 1, STATUSES.length - 1)];
+        return controller.updateOrderStatusById(id, next.name());
+    }
+}
@@ -0,0 +1,401 @@
+package com.rgt.order_system.broadcast;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.OrderStoreListener;
+import com.rgt.order_system.websocket.OrderUpdateCoalescer;
+import com.rgt.order_system.websocket.SubscriptionIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 브로드캐스트 파이프라인
+ *
+ * 주문 추가/상태 변경 이벤트를 큐에 넣기만 하고 요청 스레드는 바로 반환됩니다.
+ * 전용 스레드가 window-ms 동안(또는 max-batch-size건까지) 이벤트를 모은 뒤,
+ * 같은 주문의 연속 상태 변경은 최신 상태 하나로 합쳐 /topic/orders/batch에 배열 프레임 하나로 전송합니다.
+ * 기존 클라이언트를 위해 /topic/orders에도 합쳐진 주문을 건별로 전송합니다.
+ *
+ * 주문 JSON은 OrderPayloadCache에서 한 번만 인코딩되며, 바이트 그대로 브로커에 전달되어
+ * 모든 구독자와 REST 응답이 같은 페이로드를 공유합니다.
+ *
+ * 큐 크기는 queue-capacity로 제한됩니다. 큐가 가득 차면 변경을 일으킨 스레드를 막지 않고 그 이벤트를 버리며
+ * (orders.broadcast.dropped), 놓친 주문은 클라이언트가 /api/orders, /api/orders/since 조회로 따라잡습니다.
+ *
+ * CBOR 경로(/topic/cbor/...)는 구독자가 있을 때만 인코딩해서 전송합니다.
+ *
+ * 필요한 주문만 받으려는 화면을 위해 라우팅 경로도 제공합니다.
+ * - /topic/orders/status/{상태 이름}: 해당 상태로 바뀐(또는 접수된) 주문. 병합 전 이벤트 기준이라 window 안에서 지나간 상태도 전송
+ * - /topic/orders/item/{음식 이름}: 해당 음식 주문의 최신 상태 (병합 후)
+ * 라우팅은 구독자별이 아니라 이벤트마다 한 번, SubscriptionIndex에서 경로의 구독 여부만 확인하며
+ * 구독자가 없는 경로는 인코딩도 전송도 하지 않습니다.
+ *
+ * 모든 변경에는 OrderReplayLog에서 순번이 붙으며, /topic/orders/deltas로 병합 없이 순번 순서대로 전송됩니다.
+ * 순번 발급과 큐 삽입은 함께 잠금 안에서 처리되므로 전송 순서가 순번 순서와 같습니다.
+ * 앞선 ID가 아직 기록 중이라 headId 밖에 있는 주문의 변경은 순번을 받지 않고 잠시 보류했다가, headId가 그 주문까지
+ * 전진한 뒤(앞선 ID를 기록한 스레드의 이벤트가 들어올 때) 발급합니다. 따라서 순번 N까지의 변경은 모두 headId 안의 주문이며,
+ * headSeq()를 읽은 뒤 만든 스냅샷(/app/orders/sync)에는 그 순번까지의 주문이 빠짐없이 보입니다.
+ *
+ * 주문 하나를 담은 메시지에는 주문 ID 헤더를 붙여, 쓰기 중인 세션에서는 같은 주문의 최신 메시지만 나가게 합니다 (OrderUpdateCoalescer).
+ */
+@Slf4j
+@Component
+public class OrderBroadcaster implements OrderStoreListener {
+
+    public static final String ORDERS_DESTINATION = "/topic/orders";
+    public static final String BATCH_DESTINATION = "/topic/orders/batch";
+    public static final String DELTAS_DESTINATION = "/topic/orders/deltas";
+    public static final String STATUS_DESTINATION_PREFIX = ORDERS_DESTINATION + "/status/";
+    public static final String ITEM_DESTINATION_PREFIX = ORDERS_DESTINATION + "/item/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final OrderPayloadCache payloadCache;
+    private final SubscriptionIndex subscriptionIndex;
+    private final OrderReplayLog replayLog;
+    private final OrderStore orderStore;
+    private final Object sequenceLock = new Object();
+    private final List<HeldEvent> invisible = new ArrayList<>(); // headId 밖의 주문 변경 (sequenceLock 안에서만 접근)
+    private final BlockingQueue<PendingEvent> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer publishTimer;
+    private final Timer deliveryDelayTimer;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderBroadcaster(OrderStore orderStore,
+                            SimpMessagingTemplate messagingTemplate,
+                            OrderPayloadCache payloadCache,
+                            SubscriptionIndex subscriptionIndex,
+                            OrderReplayLog replayLog,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.broadcast.window-ms:20}") long windowMs,
+                            @Value("${order.broadcast.max-batch-size:256}") int maxBatchSize,
+                            @Value("${order.broadcast.queue-capacity:65536}") int queueCapacity) {
+        this.orderStore = orderStore;
+        this.messagingTemplate = messagingTemplate;
+        this.payloadCache = payloadCache;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.subscriptionIndex = subscriptionIndex;
+        this.replayLog = replayLog;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+
+        this.batchSizeSummary = DistributionSummary.builder("orders.broadcast.batch.size")
+                .description("브로드캐스트 배치당 주문 수 (병합 후)")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("orders.broadcast.publish")
+                .description("배치 하나를 브로커로 전송하는 데 걸린 시간")
+                .register(meterRegistry);
+        this.deliveryDelayTimer = Timer.builder("orders.broadcast.delay")
+                .description("이벤트 발생(주문 접수/상태 변경)부터 브로커 전송 완료까지 걸린 시간")
+                .publishPercentileHistogram() // Prometheus 히스토그램 버킷
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("orders.broadcast.dropped")
+                .description("브로드캐스트 큐가 가득 차 보내지 않고 버린 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("orders.broadcast.queue", queue, BlockingQueue::size)
+                .description("전송 대기 중인 이벤트 수")
+                .register(meterRegistry);
+
+        orderStore.addListener(this);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "order-broadcaster");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    @Override
+    public void orderAdded(Order order) {
+        enqueue(order);
+    }
+
+    @Override
+    public void statusChanged(Order previous, Order current) {
+        enqueue(current);
+    }
+
+    /**
+     * 한 번에 저장된 주문은 잠금 한 번으로 연속해서 큐에 넣어 같은 배치로 전송되도록 합니다.
+     */
+    @Override
+    public void ordersAdded(List<Order> orders) {
+        long now = System.nanoTime();
+        synchronized (sequenceLock) {
+            long head = releaseVisible();
+            for (Order order : orders) {
+                sequence(order, head, now);
+            }
+        }
+    }
+
+    private void enqueue(Order order) {
+        long now = System.nanoTime();
+        synchronized (sequenceLock) {
+            sequence(order, releaseVisible(), now);
+        }
+    }
+
+    /**
+     * 큐가 가득 차면 기다리지 않고 버립니다 - 리스너는 주문을 기록한 스레드에서 호출되므로 막히면 접수 전체가 멈춥니다.
+     * 버린 변경도 순번은 재전송 기록에 남으므로, 순번이 건너뛴 것을 본 클라이언트는 lastSeq로 다시 받을 수 있습니다.
+     */
+    private void offer(PendingEvent event) {
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+            log.debug("브로드캐스트 큐가 가득 차 이벤트를 버림: orderId={}", event.order().getId());
+        }
+    }
+
+    // sequenceLock 안에서 호출
+    private void sequence(Order order, long head, long now) {
+        if (order.getId() > head) {
+            invisible.add(new HeldEvent(order, now));
+            return;
+        }
+        offer(new PendingEvent(replayLog.append(order), now));
+    }
+
+    /**
+     * 보류 중인 변경 중 headId 안에 들어온 주문의 변경에 순번을 발급합니다 (sequenceLock 안에서 호출).
+     * 새 이벤트보다 먼저 처리해야, 보류된 주문 접수보다 그 주문의 상태 변경이 먼저 순번을 받지 않습니다.
+     * @return 확인한 headId
+     */
+    private long releaseVisible() {
+        long head = orderStore.headId();
+        if (invisible.isEmpty()) {
+            return head;
+        }
+        Iterator<HeldEvent> iterator = invisible.iterator();
+        while (iterator.hasNext()) {
+            HeldEvent held = iterator.next();
+            if (held.order().getId() <= head) {
+                offer(new PendingEvent(replayLog.append(held.order()), held.enqueuedAt()));
+                iterator.remove();
+            }
+        }
+        return head;
+    }
+
+    /**
+     * @return 전송 대기 중인 이벤트 수 (IngestLimiter 과부하 판단에 사용)
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<PendingEvent> drained = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingEvent first = queue.take();
+                drained.add(first);
+
+                // 첫 이벤트 기준 window 동안 모으되, 최대 배치 크기에 도달하면 바로 전송
+                long deadline = first.enqueuedAt() + windowNanos;
+                while (drained.size() < maxBatchSize) {
+                    queue.drainTo(drained, maxBatchSize - drained.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (drained.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    drained.add(next);
+                }
+
+                publish(drained);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("주문 브로드캐스트 중 오류 발생: {}", e.getMessage(), e);
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+
+    private void publish(List<PendingEvent> events) {
+        // 같은 주문의 연속 상태 변경은 가장 진행된 상태 하나만 전송
+        Map<Long, Order> latest = new LinkedHashMap<>();
+        for (PendingEvent event : events) {
+            latest.merge(event.order().getId(), event.order(), OrderBroadcaster::newer);
+        }
+        List<Order> batch = new ArrayList<>(latest.values());
+
+        long start = System.nanoTime();
+        for (OrderPayloadFormat format : OrderPayloadFormat.values()) {
+            publish(batch, format);
+            publishRouted(events, batch, format);
+        }
+        if (subscriptionIndex.hasSubscribers(DELTAS_DESTINATION)) {
+            send(DELTAS_DESTINATION, OrderPayloadFormat.JSON,
+                    payloadCache.encodeDeltas(events.stream().map(PendingEvent::delta).toList()));
+        }
+        long end = System.nanoTime();
+
+        publishTimer.record(end - start, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(batch.size());
+        for (PendingEvent event : events) {
+            deliveryDelayTimer.record(end - event.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * JSON은 항상 전송하고, 다른 형식은 해당 경로에 구독자가 있을 때만 인코딩해서 전송합니다.
+     */
+    private void publish(List<Order> batch, OrderPayloadFormat format) {
+        String batchDestination = format.destination(BATCH_DESTINATION);
+        String ordersDestination = format.destination(ORDERS_DESTINATION);
+        boolean always = format == OrderPayloadFormat.JSON;
+        if (always || subscriptionIndex.hasSubscribers(batchDestination)) {
+            send(batchDestination, format, payloadCache.encodeArray(batch, format));
+        }
+        if (always || subscriptionIndex.hasSubscribers(ordersDestination)) {
+            for (Order order : batch) {
+                sendOrder(ordersDestination, format, order);
+            }
+        }
+    }
+
+    /**
+     * 상태/음식별 경로 중 구독자가 있는 경로로만 주문을 건별로 전송합니다.
+     */
+    private void publishRouted(List<PendingEvent> events, List<Order> batch, OrderPayloadFormat format) {
+        // 라우팅 경로 구독이 하나도 없으면 주문별 경로 계산도 생략
+        if (subscriptionIndex.hasSubscribersUnder(format.destination(STATUS_DESTINATION_PREFIX))) {
+            publishByStatus(events, format);
+        }
+        if (subscriptionIndex.hasSubscribersUnder(format.destination(ITEM_DESTINATION_PREFIX))) {
+            publishByItem(batch, format);
+        }
+    }
+
+    private void publishByStatus(List<PendingEvent> events, OrderPayloadFormat format) {
+        for (PendingEvent event : events) {
+            OrderStatus status = OrderStatus.from(event.order().getStatus());
+            if (status == null) {
+                continue;
+            }
+            String destination = format.destination(statusDestination(status));
+            if (subscriptionIndex.hasSubscribers(destination)) {
+                sendOrder(destination, format, event.order());
+            }
+        }
+    }
+
+    private void publishByItem(List<Order> batch, OrderPayloadFormat format) {
+        for (Order order : batch) {
+            if (order.getFoodName() == null) {
+                continue;
+            }
+            String destination = format.destination(itemDestination(order.getFoodName()));
+            if (subscriptionIndex.hasSubscribers(destination)) {
+                sendOrder(destination, format, order);
+            }
+        }
+    }
+
+    /**
+     * @return 상태별 구독 경로 (예: /topic/orders/status/READY)
+     */
+    public static String statusDestination(OrderStatus status) {
+        return STATUS_DESTINATION_PREFIX + status.name();
+    }
+
+    /**
+     * @return 음식별 구독 경로 (예: /topic/orders/item/김치찌개)
+     */
+    public static String itemDestination(String foodName) {
+        return ITEM_DESTINATION_PREFIX + foodName;
+    }
+
+    /**
+     * 주문 하나를 담은 메시지 - 주문 ID 헤더를 붙여 전송합니다.
+     */
+    private void sendOrder(String destination, OrderPayloadFormat format, Order order) {
+        send(destination, format, payloadCache.encode(order, format), order.getId());
+    }
+
+    private void send(String destination, OrderPayloadFormat format, byte[] payload) {
+        send(destination, format, payload, null);
+    }
+
+    /**
+     * 이미 인코딩된 바이트를 메시지 변환 없이 그대로 전송합니다.
+     */
+    private void send(String destination, OrderPayloadFormat format, byte[] payload, Long orderId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(format.getMimeType());
+        if (orderId != null) {
+            accessor.setHeader(OrderUpdateCoalescer.ORDER_ID_HEADER, orderId); // 브로커가 구독자별 메시지에 복사
+        }
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    /**
+     * 상태는 앞으로만 진행되므로, 큐에 들어온 순서와 관계없이 더 진행된 상태가 최신입니다.
+     */
+    private static Order newer(Order a, Order b) {
+        OrderStatus statusA = OrderStatus.from(a.getStatus());
+        OrderStatus statusB = OrderStatus.from(b.getStatus());
+        if (statusA == null || statusB == null) {
+            return b;
+        }
+        return statusB.ordinal() >= statusA.ordinal() ? b : a;
+    }
+
+    private record HeldEvent(Order order, long enqueuedAt) {
+    }
+
+    private record PendingEvent(OrderDelta delta, long enqueuedAt) {
+
+        Order order() {
+            return delta.order();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.rgt.order_system.broadcast;
+
+import com.rgt.order_system.model.Order;
+
+/**
+ * 순번이 붙은 주문 변경 (주문 접수 또는 상태 변경 후의 주문)
+ * @param seq 노드 안에서 1부터 증가하는 변경 순번
+ * @param order 변경 후 주문
+ */
+public record OrderDelta(long seq, Order order) {
+}
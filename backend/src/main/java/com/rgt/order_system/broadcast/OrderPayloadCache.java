@@ -0,0 +1,153 @@
+package com.rgt.order_system.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 주문 직렬화 캐시
+ *
+ * 주문 하나를 (주문 ID, 버전) 단위로 형식(JSON/CBOR)마다 한 번만 인코딩하고,
+ * STOMP 브로드캐스트와 REST 응답(/api/orders, /api/orders/since)이 같은 바이트를 재사용합니다.
+ * 상태는 앞으로만 진행되므로 상태 순서가 곧 버전입니다.
+ *
+ * 캐시는 ID 하위 비트로 위치가 정해지는 고정 크기 테이블이라 메모리가 일정하며,
+ * 최근 주문일수록 캐시에 남아 있습니다. 반환된 바이트 배열은 공유되므로 수정하면 안 됩니다.
+ */
+@Component
+public class OrderPayloadCache {
+
+    private static final int CAPACITY = 1 << 16;
+    private static final int MASK = CAPACITY - 1;
+
+    private final Codec[] codecs = new Codec[OrderPayloadFormat.values().length];
+
+    public OrderPayloadCache(ObjectMapper objectMapper) {
+        codecs[OrderPayloadFormat.JSON.ordinal()] = new Codec(objectMapper, new AtomicReferenceArray<>(CAPACITY));
+        codecs[OrderPayloadFormat.CBOR.ordinal()] = new Codec(new CBORMapper(), new AtomicReferenceArray<>(CAPACITY));
+    }
+
+    /**
+     * @return 주문의 JSON 바이트 (공유 배열)
+     */
+    public byte[] encode(Order order) {
+        return encode(order, OrderPayloadFormat.JSON);
+    }
+
+    /**
+     * @return 주문을 format으로 인코딩한 바이트 (공유 배열)
+     */
+    public byte[] encode(Order order, OrderPayloadFormat format) {
+        return encode(order, format, true);
+    }
+
+    /**
+     * 캐시에 있으면 재사용하고, 없으면 캐시에 넣지 않고 JSON으로 인코딩합니다.
+     * 전체 주문을 훑는 조회가 최근 주문 캐시를 밀어내지 않도록 합니다.
+     * @return 주문의 JSON 바이트
+     */
+    public byte[] encodeUncached(Order order) {
+        return encode(order, OrderPayloadFormat.JSON, false);
+    }
+
+    private byte[] encode(Order order, OrderPayloadFormat format, boolean store) {
+        Codec codec = codecs[format.ordinal()];
+        long id = order.getId();
+        int version = versionOf(order);
+        int index = (int) (id & MASK);
+
+        Payload cached = codec.table().get(index);
+        if (cached != null && cached.id() == id && cached.version() == version) {
+            return cached.bytes();
+        }
+        try {
+            byte[] bytes = codec.mapper().writeValueAsBytes(order);
+            if (store) {
+                codec.table().set(index, new Payload(id, version, bytes));
+            }
+            return bytes;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 캐시된 주문 JSON을 이어 붙여 JSON 배열을 만듭니다. 주문을 다시 직렬화하지 않습니다.
+     * @return 주문 목록의 JSON 배열 바이트
+     */
+    public byte[] encodeArray(List<Order> orders) {
+        return encodeArray(orders, OrderPayloadFormat.JSON);
+    }
+
+    /**
+     * 캐시된 주문 인코딩을 이어 붙여 format의 배열을 만듭니다. 주문을 다시 직렬화하지 않습니다.
+     * @return 주문 목록의 배열 바이트
+     */
+    public byte[] encodeArray(List<Order> orders, OrderPayloadFormat format) {
+        byte[] start = format.arrayStart(orders.size());
+        byte[] separator = format.separator();
+        byte[] end = format.arrayEnd();
+        byte[][] parts = new byte[orders.size()][];
+        int length = start.length + end.length + Math.max(0, orders.size() - 1) * separator.length;
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = encode(orders.get(i), format);
+            length += parts[i].length;
+        }
+
+        byte[] result = new byte[length];
+        int position = append(result, 0, start);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                position = append(result, position, separator);
+            }
+            position = append(result, position, parts[i]);
+        }
+        append(result, position, end);
+        return result;
+    }
+
+    /**
+     * 순번이 붙은 변경 목록의 JSON 배열 ([{"seq":1,"order":{...}}, ...]) - 주문 JSON은 캐시된 바이트를 재사용합니다.
+     * @return 변경 목록의 JSON 배열 바이트
+     */
+    public byte[] encodeDeltas(List<OrderDelta> deltas) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + deltas.size() * 96);
+        out.write('[');
+        for (int i = 0; i < deltas.size(); i++) {
+            OrderDelta delta = deltas.get(i);
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(("{\"seq\":" + delta.seq() + ",\"order\":").getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(encode(delta.order()));
+            out.write('}');
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static int append(byte[] target, int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, target, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private static int versionOf(Order order) {
+        OrderStatus status = OrderStatus.from(order.getStatus());
+        return status != null ? status.ordinal() : -1;
+    }
+
+    private record Codec(ObjectMapper mapper, AtomicReferenceArray<Payload> table) {
+    }
+
+    private record Payload(long id, int version, byte[] bytes) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.rgt.order_system.broadcast;
+
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * 주문 이벤트 인코딩 형식
+ *
+ * JSON이 기본이며, CBOR 구독자는 /topic/cbor 아래의 같은 경로로 이진 프레임을 받습니다.
+ * 구독 시 content-type(또는 accept) 헤더로 application/cbor를 지정하면 JSON 경로로 구독해도 CBOR 경로로 연결됩니다.
+ */
+public enum OrderPayloadFormat {
+    JSON(MimeTypeUtils.APPLICATION_JSON, "/topic"),
+    CBOR(new MimeType("application", "cbor"), "/topic/cbor");
+
+    private static final String TOPIC_PREFIX = "/topic";
+    private static final byte[] JSON_SEPARATOR = {','};
+    private static final byte[] JSON_ARRAY_END = {']'};
+    private static final byte[] NONE = {};
+
+    private final MimeType mimeType;
+    private final String destinationPrefix;
+
+    OrderPayloadFormat(MimeType mimeType, String destinationPrefix) {
+        this.mimeType = mimeType;
+        this.destinationPrefix = destinationPrefix;
+    }
+
+    public MimeType getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @param jsonDestination JSON 구독 경로 (예: /topic/orders)
+     * @return 이 형식의 구독 경로 (예: /topic/cbor/orders)
+     */
+    public String destination(String jsonDestination) {
+        return destinationPrefix + jsonDestination.substring(TOPIC_PREFIX.length());
+    }
+
+    /**
+     * @return MIME 타입 문자열에 맞는 형식, 없거나 알 수 없으면 null
+     */
+    public static OrderPayloadFormat fromMimeType(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        MimeType requested;
+        try {
+            requested = MimeTypeUtils.parseMimeType(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        for (OrderPayloadFormat format : values()) {
+            if (format.mimeType.equalsTypeAndSubtype(requested)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 배열 프레임의 시작 바이트 - JSON은 '[', CBOR은 길이가 정해진 배열 헤더(major type 4)
+     */
+    byte[] arrayStart(int count) {
+        if (this == JSON) {
+            return new byte[]{'['};
+        }
+        if (count < 24) {
+            return new byte[]{(byte) (0x80 | count)};
+        }
+        if (count < 0x100) {
+            return new byte[]{(byte) 0x98, (byte) count};
+        }
+        if (count < 0x10000) {
+            return new byte[]{(byte) 0x99, (byte) (count >>> 8), (byte) count};
+        }
+        return new byte[]{(byte) 0x9a, (byte) (count >>> 24), (byte) (count >>> 16), (byte) (count >>> 8), (byte) count};
+    }
+
+    /**
+     * @return 요소 사이 구분자 (JSON ',', CBOR 없음)
+     */
+    byte[] separator() {
+        return this == JSON ? JSON_SEPARATOR : NONE;
+    }
+
+    /**
+     * @return 배열 끝 바이트 (JSON ']', CBOR 없음)
+     */
+    byte[] arrayEnd() {
+        return this == JSON ? JSON_ARRAY_END : NONE;
+    }
+}
@@ -0,0 +1,70 @@
+package com.rgt.order_system.broadcast;
+
+import com.rgt.order_system.model.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 변경 재전송 버퍼
+ *
+ * 브로드캐스트되는 모든 변경(주문 접수/상태 변경)에 순번을 붙이고, 최근 capacity건을 고정 크기 링 버퍼에 보관합니다.
+ * 재연결한 대시보드는 마지막으로 받은 순번(lastSeq) 이후의 변경만 받아 목록을 다시 읽지 않고 이어 갈 수 있으며,
+ * 보관 범위를 벗어난 순번이면 스냅샷부터 다시 받습니다.
+ *
+ * 순번은 저장소에 반영되어 headId 안에 들어온 주문에만 발급되므로(OrderBroadcaster), headSeq()를 읽은 뒤 조회한 저장소에는
+ * 그 순번까지의 변경이 모두 보입니다.
+ */
+@Component
+public class OrderReplayLog {
+
+    private final OrderDelta[] ring;
+    private final int mask;
+    private volatile long head; // 마지막으로 발급한 순번 (쓰기는 this 잠금 안에서만)
+
+    public OrderReplayLog(@Value("${order.sync.replay-capacity:8192}") int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1; // 2의 거듭제곱으로 올림
+        this.ring = new OrderDelta[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * 다음 순번을 발급해 변경을 보관합니다. 가장 오래된 변경을 덮어쓸 수 있습니다.
+     * @return 순번이 붙은 변경
+     */
+    public synchronized OrderDelta append(Order order) {
+        long seq = head + 1;
+        OrderDelta delta = new OrderDelta(seq, order);
+        ring[(int) (seq & mask)] = delta;
+        head = seq;
+        return delta;
+    }
+
+    /**
+     * @return 마지막으로 발급한 순번 (변경이 없으면 0)
+     */
+    public long headSeq() {
+        return head;
+    }
+
+    /**
+     * @param lastSeq 클라이언트가 마지막으로 받은 순번
+     * @return lastSeq 이후 변경 (순번 순), 보관 범위를 벗어났거나 발급된 적 없는 순번이면 null
+     */
+    public synchronized List<OrderDelta> since(long lastSeq) {
+        if (lastSeq < 0 || lastSeq > head || head - lastSeq > ring.length) {
+            return null;
+        }
+        List<OrderDelta> deltas = new ArrayList<>((int) (head - lastSeq));
+        for (long seq = lastSeq + 1; seq <= head; seq++) {
+            deltas.add(ring[(int) (seq & mask)]);
+        }
+        return deltas;
+    }
+
+    int capacity() {
+        return ring.length;
+    }
+}
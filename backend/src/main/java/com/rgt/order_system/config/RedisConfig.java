@@ -0,0 +1,25 @@
+package com.rgt.order_system.config;
+
+import com.rgt.order_system.redis.RedisOrderKeys;
+import com.rgt.order_system.redis.RedisOrderRelay;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@Profile("redis") // 여러 백엔드 인스턴스가 Redis로 주문을 공유할 때만 사용
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer orderEventListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                     RedisOrderRelay relay,
+                                                                     RedisOrderKeys keys) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(keys.getChannel()));
+        return container;
+    }
+}
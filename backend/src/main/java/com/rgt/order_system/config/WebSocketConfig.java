@@ -1,11 +1,33 @@
 package com.rgt.order_system.config;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.rgt.order_system.broadcast.OrderPayloadFormat;
+import com.rgt.order_system.websocket.IngestAdmissionInterceptor;
+import com.rgt.order_system.websocket.OrderUpdateCoalescer;
+import com.rgt.order_system.websocket.PayloadFormatNegotiator;
+import com.rgt.order_system.websocket.SessionWriteTracker;
+import com.rgt.order_system.websocket.SlowConsumerInterceptor;
+import com.rgt.order_system.websocket.StompErrorHandler;
+import com.rgt.order_system.websocket.SubscriptionIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -14,12 +36,123 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${custom.websocket.sockjs.enabled:true}")  // 환경 변수에 따라 SockJS 활성화 여부 설정
     private boolean sockJsEnabled;
 
+    // 클라이언트 → 서버 (STOMP 프레임 처리)
+    @Value("${order.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+    @Value("${order.websocket.inbound.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+    @Value("${order.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    // 서버 → 클라이언트 (구독자별 전송) - 느린 세션 하나가 쓰기 중인 스레드 하나를 점유하므로 넉넉하게
+    @Value("${order.websocket.outbound.core-pool-size:32}")
+    private int outboundCorePoolSize;
+    @Value("${order.websocket.outbound.max-pool-size:64}")
+    private int outboundMaxPoolSize;
+    @Value("${order.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    // 세션당 전송 한도 - 넘으면 세션 종료
+    @Value("${order.websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+    @Value("${order.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    @Value("${order.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${order.websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    private final SessionWriteTracker sessionWriteTracker;
+    private final SlowConsumerInterceptor slowConsumerInterceptor;
+    private final OrderUpdateCoalescer orderUpdateCoalescer;
+    private final PayloadFormatNegotiator payloadFormatNegotiator;
+    private final SubscriptionIndex subscriptionIndex;
+    private final IngestAdmissionInterceptor ingestAdmissionInterceptor;
+    private final StompErrorHandler stompErrorHandler;
+    // virtual 프로필(spring.threads.virtual.enabled=true, Java 21 이상)에서는 채널 스레드풀 대신 가상 스레드 사용
+    private final boolean virtualThreads;
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(SessionWriteTracker sessionWriteTracker, SlowConsumerInterceptor slowConsumerInterceptor,
+                           OrderUpdateCoalescer orderUpdateCoalescer,
+                           PayloadFormatNegotiator payloadFormatNegotiator, SubscriptionIndex subscriptionIndex,
+                           IngestAdmissionInterceptor ingestAdmissionInterceptor, StompErrorHandler stompErrorHandler,
+                           Environment environment) {
+        this.sessionWriteTracker = sessionWriteTracker;
+        this.slowConsumerInterceptor = slowConsumerInterceptor;
+        this.orderUpdateCoalescer = orderUpdateCoalescer;
+        this.payloadFormatNegotiator = payloadFormatNegotiator;
+        this.subscriptionIndex = subscriptionIndex;
+        this.ingestAdmissionInterceptor = ingestAdmissionInterceptor;
+        this.stompErrorHandler = stompErrorHandler;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    // 하트비트용 스케줄러 (WebSocket 설정이 만드는 스케줄러를 재사용)
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        registry.enableSimpleBroker("/topic", "/queue") // /queue: 세션별 응답 (/user/queue/...)
+                .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         registry.setApplicationDestinationPrefixes("/app");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("clientInboundChannel-"));
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(inboundCorePoolSize)
+                    .maxPoolSize(inboundMaxPoolSize)
+                    .queueCapacity(inboundQueueCapacity);
+        }
+        // 한도를 넘은 주문은 가장 먼저 거부하고, 형식 협상으로 바뀐 구독 경로를 구독 수에 반영하도록 협상을 색인보다 먼저 실행
+        registration.interceptors(ingestAdmissionInterceptor, payloadFormatNegotiator, subscriptionIndex);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            // 느린 세션이 쓰기 중인 스레드를 붙잡아도 다른 세션 전송은 새 가상 스레드에서 진행
+            registration.executor(new VirtualThreadTaskExecutor("clientOutboundChannel-"));
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(outboundCorePoolSize)
+                    .maxPoolSize(outboundMaxPoolSize)
+                    .queueCapacity(outboundQueueCapacity);
+        }
+        // DROP 정책에서 느린 세션의 메시지는 대기시키지 않고 먼저 버림
+        registration.interceptors(slowConsumerInterceptor, orderUpdateCoalescer);
+    }
+
+    /**
+     * /app으로 들어오는 주문은 content-type에 따라 JSON(기본) 또는 CBOR로 변환합니다.
+     * CBOR 변환기는 content-type이 application/cbor일 때만 사용됩니다.
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        MappingJackson2MessageConverter cborConverter = new MappingJackson2MessageConverter(OrderPayloadFormat.CBOR.getMimeType());
+        cborConverter.setObjectMapper(new CBORMapper());
+        cborConverter.setStrictContentTypeMatch(true);
+        messageConverters.add(cborConverter);
+        return true; // 기본 변환기(JSON 등)도 등록
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(sessionWriteTracker);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         if (sockJsEnabled) {
@@ -30,5 +163,6 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
             registry.addEndpoint("/ws")
                     .setAllowedOrigins("http://localhost:3000"); // 테스트 실행 시 SockJS 제거
         }
+        registry.setErrorHandler(stompErrorHandler); // 접수 한도 초과 시 retry-after 헤더
     }
 }
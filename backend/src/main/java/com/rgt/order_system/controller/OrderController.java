@@ -1,57 +1,162 @@
 package com.rgt.order_system.controller;
 
+import com.rgt.order_system.ingest.Admission;
+import com.rgt.order_system.ingest.IngestLimiter;
+import com.rgt.order_system.ingest.OrderBatchIngest;
+import com.rgt.order_system.ingest.OrderSubmission;
+import com.rgt.order_system.ingest.OrderSubmissionResult;
+import com.rgt.order_system.metrics.OrderMetrics;
 import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.StatusUpdate;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 @Slf4j
 @RestController
 @RequestMapping("/api")
 public class OrderController {
 
-    private final List<Order> orders = new CopyOnWriteArrayList<>();
-    private final SimpMessagingTemplate messagingTemplate;
+    private final OrderStore orderStore;
+    private final OrderBatchIngest batchIngest;
+    private final IngestLimiter ingestLimiter;
+    private final OrderMetrics metrics;
 
-    public OrderController(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public OrderController(OrderStore orderStore, OrderBatchIngest batchIngest, IngestLimiter ingestLimiter,
+                           OrderMetrics metrics) {
+        this.orderStore = orderStore;
+        this.batchIngest = batchIngest;
+        this.ingestLimiter = ingestLimiter;
+        this.metrics = metrics;
     }
 
     @PostMapping(value = "/order", produces = MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8")
-    public ResponseEntity<String> createOrder(@RequestBody Order order) {
-        order.setStatus("접수됨");
-        orders.add(order);
-        log.info("주문 접수됨: 음식={}, 수량={}", order.getFoodName(), order.getQuantity());
+    public ResponseEntity<String> createOrder(@RequestBody Order order, HttpServletRequest request) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Admission admission = ingestLimiter.tryAcquire(clientKey(request), 1);
+            if (!admission.admitted()) {
+                return tooManyRequests(admission, "주문이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            orderStore.add(order); // ID 할당 및 접수됨 상태로 저장
+            if (log.isInfoEnabled()) {
+                log.info("주문 접수됨: 아이디={}, 음식={}, 수량={}", order.getId(), order.getFoodName(), order.getQuantity());
+            }
 
-        // WebSocket으로 실시간 주문 정보 전송
-        log.info(String.valueOf(order));
-        messagingTemplate.convertAndSend("/topic/orders", order);
+            // WebSocket 전송은 OrderBroadcaster가 배치로 처리
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.valueOf("text/plain;charset=UTF-8"))
-                .body("주문이 접수되었습니다.");
+            return ResponseEntity.ok()
+                    .contentType(MediaType.valueOf("text/plain;charset=UTF-8"))
+                    .body("주문이 접수되었습니다.");
+        } finally {
+            sample.stop(metrics.createOrder());
+        }
+    }
+
+    /**
+     * 일괄 주문 접수 API
+     * 주문마다 idempotencyKey를 지정하면 재시도로 같은 키가 다시 와도 주문을 새로 만들지 않고 처음 접수된 ID를 돌려줍니다.
+     * @param submissions 접수할 주문 목록 (최대 order.ingest.max-batch-size건)
+     * @return 요청 순서와 같은 접수 결과, 건수 한도를 넘으면 400, 접수 한도에 걸리면 429
+     */
+    @PostMapping("/orders/batch")
+    public ResponseEntity<List<OrderSubmissionResult>> createOrders(@RequestBody List<OrderSubmission> submissions,
+                                                                    HttpServletRequest request) {
+        Timer.Sample sample = Timer.start();
+        try {
+            batchIngest.checkSize(submissions.size()); // 거절될 요청이 접수 한도를 쓰지 않도록 먼저 확인
+            Admission admission = ingestLimiter.tryAcquire(clientKey(request), Math.max(1, submissions.size()));
+            if (!admission.admitted()) {
+                return tooManyRequests(admission, null);
+            }
+            List<OrderSubmissionResult> results = batchIngest.submit(submissions);
+            if (log.isInfoEnabled()) {
+                log.info("일괄 주문 접수됨: 요청={}, 중복={}", results.size(),
+                        results.stream().filter(OrderSubmissionResult::duplicate).count());
+            }
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } finally {
+            sample.stop(metrics.createOrders());
+        }
     }
 
+    /**
+     * 주문 상태 변경 API - 주문 ID 기준
+     * 상태는 접수됨 → 조리중 → 준비완료 → 완료 순서로만 변경할 수 있습니다.
+     * @param id 주문 ID
+     * @param status 변경할 상태 (RECEIVED/COOKING/READY/DONE 또는 접수됨/조리중/준비완료/완료)
+     * @return 처리 결과 메시지
+     */
+    @PutMapping(value = "/orders/{id}/status", produces = "text/plain;charset=UTF-8")
+    public ResponseEntity<String> updateOrderStatusById(@PathVariable("id") long id, @RequestParam("status") String status) {
+        OrderStatus next = OrderStatus.from(status);
+        if (next == null) {
+            return ResponseEntity.badRequest().body("알 수 없는 주문 상태입니다: " + status);
+        }
+
+        StatusUpdate result = changeStatus(id, next);
+        return switch (result.outcome()) {
+            case UPDATED, UNCHANGED -> ResponseEntity.ok("주문 상태가 업데이트되었습니다.");
+            case REJECTED -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("허용되지 않는 상태 변경입니다: " + result.order().getStatus() + " → " + next.getLabel());
+            case NOT_FOUND -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("존재하지 않는 주문입니다.");
+        };
+    }
 
+    /**
+     * 주문 상태 변경 API - 목록 위치 기준 (이전 버전 호환용)
+     * 주문 ID는 1부터 연속으로 발급되므로 index 위치의 주문은 ID index + 1 입니다.
+     */
     @PutMapping(value = "/order/{index}", produces = "text/plain;charset=UTF-8")
     public String updateOrderStatus(@PathVariable("index") int index, @RequestParam("status") String status) {
-        if (index < 0 || index >= orders.size()) {
-            return "잘못된 주문 인덱스입니다.";
+        OrderStatus next = OrderStatus.from(status);
+        if (next == null) {
+            return "알 수 없는 주문 상태입니다: " + status;
         }
-        orders.get(index).setStatus(status);
-        log.info("주문 상태 변경: 음식={}, 상태={}", orders.get(index).getFoodName(), status);
 
-        messagingTemplate.convertAndSend("/topic/orders", orders.get(index));
+        StatusUpdate result = changeStatus(index + 1L, next);
+        return switch (result.outcome()) {
+            case UPDATED, UNCHANGED -> "주문 상태가 업데이트되었습니다.";
+            case REJECTED -> "허용되지 않는 상태 변경입니다: " + result.order().getStatus() + " → " + next.getLabel();
+            case NOT_FOUND -> "잘못된 주문 인덱스입니다.";
+        };
+    }
+
+    /**
+     * 접수 한도의 클라이언트 키 - 프록시 뒤에서는 server.forward-headers-strategy=native에 따라
+     * 내부망 프록시가 전달한 X-Forwarded-For의 클라이언트 IP입니다.
+     */
+    private static String clientKey(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
 
-        return "주문 상태가 업데이트되었습니다.";
+    /**
+     * 접수 한도 초과 - 429와 Retry-After(초)
+     */
+    private static <T> ResponseEntity<T> tooManyRequests(Admission admission, T body) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                .body(body);
+    }
+
+    private StatusUpdate changeStatus(long id, OrderStatus next) {
+        StatusUpdate result = orderStore.updateStatus(id, next);
+        if (result.isUpdated() && log.isInfoEnabled()) {
+            Order order = result.order();
+            log.info("주문 상태 변경: 아이디={}, 음식={}, 상태={}", order.getId(), order.getFoodName(), order.getStatus());
+        }
+        return result;
     }
 
     /*
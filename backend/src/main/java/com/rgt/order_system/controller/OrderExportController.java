@@ -0,0 +1,91 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.function.Predicate;
+
+/**
+ * 주문 이력 내보내기 (마감 정산용)
+ *
+ * 저장소를 ID 순서대로 읽으며 한 건씩 응답에 쓰므로(StreamingResponseBody) 이력 크기와 관계없이 메모리 사용량이 일정하고,
+ * 첫 바이트가 바로 나갑니다. 디스크로 옮겨진 완료 주문도 포함됩니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class OrderExportController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderStore orderStore;
+    private final OrderPayloadCache payloadCache;
+
+    public OrderExportController(OrderStore orderStore, OrderPayloadCache payloadCache) {
+        this.orderStore = orderStore;
+        this.payloadCache = payloadCache;
+    }
+
+    /**
+     * 주문 이력 내보내기 API
+     * @param format ndjson(기본) 또는 csv
+     * @param fromId 시작 주문 ID (포함, 기본 1)
+     * @param toId 끝 주문 ID (포함, 기본 요청 시점의 마지막 주문)
+     * @param status 상태 이름 또는 표시 값 (선택)
+     * @return 주문 스트림, 형식이나 상태가 잘못되면 400
+     */
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestParam(name = "fromId", defaultValue = "1") long fromId,
+            @RequestParam(name = "toId", required = false) Long toId,
+            @RequestParam(name = "status", required = false) String status) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Predicate<Order> filter = null;
+        if (status != null) {
+            OrderStatus target = OrderStatus.from(status);
+            if (target == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            String label = target.getLabel();
+            filter = order -> label.equals(order.getStatus());
+        }
+
+        long head = orderStore.headId();
+        long to = toId != null ? Math.min(toId, head) : head; // 요청 시점까지의 주문만
+        Predicate<Order> statusFilter = filter;
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+            OrderStreamWriter writer = csv ? OrderStreamWriter.csv(buffered) : OrderStreamWriter.ndjson(buffered, payloadCache);
+            writer.writeAll(orderStore, fromId, to, statusFilter);
+            log.info("주문 내보내기 완료: 형식={}, 범위={}~{}, 상태={}, 소요={}ms",
+                    csv ? "csv" : "ndjson", fromId, to, status, (System.nanoTime() - start) / 1_000_000);
+        };
+
+        String fileName = "orders-" + fromId + "-" + to + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
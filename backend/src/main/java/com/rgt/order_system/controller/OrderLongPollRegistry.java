@@ -0,0 +1,152 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.OrderStoreListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * /api/orders/since 롱폴링 대기열
+ *
+ * 새 주문이 없을 때 요청을 DeferredResult로 보류해 두고, 주문이 추가되면 응답을 완료합니다.
+ * 대기 중인 요청은 서블릿 스레드를 점유하지 않으므로 유휴 대시보드의 비용은 거의 0에 가깝습니다.
+ *
+ * 대기 중인 요청(최대 MAX_WAITERS건)의 응답 생성과 완료는 전용 스레드에서 처리합니다. 저장소 리스너는 주문을 기록한 스레드에서
+ * 호출되므로 신호만 남기고 바로 반환하며, 신호가 여러 번 와도 전용 스레드는 최신 headId로 한 번만 깨웁니다.
+ */
+@Slf4j
+@Component
+public class OrderLongPollRegistry implements OrderStoreListener {
+
+    static final int MAX_WAITERS = 10_000;
+
+    private final OrderStore orderStore;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Boolean> signal = new ArrayBlockingQueue<>(1); // 처리되지 않은 신호는 하나로 합침
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderLongPollRegistry(OrderStore orderStore) {
+        this.orderStore = orderStore;
+        orderStore.addListener(this);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "order-long-poll");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    /**
+     * lastId 이후 주문이 생기거나 waitMs가 지나면 완료되는 응답을 반환합니다.
+     * @param lastId 마지막으로 받은 주문 ID
+     * @param waitMs 최대 대기 시간(ms)
+     * @param responder lastId로 응답을 만드는 함수
+     * @return 보류된 응답
+     */
+    public DeferredResult<ResponseEntity<byte[]>> await(
+            long lastId, long waitMs, LongFunction<ResponseEntity<byte[]>> responder) {
+        DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>(waitMs);
+
+        // 대기열이 가득 찼거나 이미 새 주문이 있으면 즉시 응답
+        if (waiters.size() >= MAX_WAITERS || orderStore.headId() > lastId) {
+            result.setResult(responder.apply(lastId));
+            return result;
+        }
+
+        Waiter waiter = new Waiter(lastId, result, responder);
+        result.onTimeout(() -> {
+            waiters.remove(waiter);
+            waiter.complete();
+        });
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+
+        // 등록 직전에 추가된 주문을 놓치지 않도록 다시 확인
+        if (orderStore.headId() > lastId && waiters.remove(waiter)) {
+            waiter.complete();
+        }
+        return result;
+    }
+
+    int waitingCount() {
+        return waiters.size();
+    }
+
+    @Override
+    public void orderAdded(Order order) {
+        wakeUp();
+    }
+
+    /**
+     * 한 번에 저장된 주문은 신호 한 번으로 알립니다.
+     */
+    @Override
+    public void ordersAdded(List<Order> orders) {
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        if (!waiters.isEmpty()) {
+            signal.offer(Boolean.TRUE); // 이미 신호가 있으면 무시됨
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                signal.take();
+                completeWaiters();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("롱폴링 응답 완료 중 오류 발생: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void completeWaiters() {
+        long head = orderStore.headId();
+        for (Waiter waiter : waiters) {
+            if (waiter.lastId() < head && waiters.remove(waiter)) {
+                waiter.complete();
+            }
+        }
+    }
+
+    private record Waiter(long lastId,
+                          DeferredResult<ResponseEntity<byte[]>> result,
+                          LongFunction<ResponseEntity<byte[]>> responder) {
+
+        void complete() {
+            result.setResult(responder.apply(lastId));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.stats.OrderStats;
+import com.rgt.order_system.stats.OrderStatsAggregator;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 실시간 주문 집계 조회 - 같은 내용이 /topic/stats로도 주기적으로 전송됩니다.
+ */
+@RestController
+@RequestMapping("/api")
+public class OrderStatsController {
+
+    private final OrderStatsAggregator statsAggregator;
+
+    public OrderStatsController(OrderStatsAggregator statsAggregator) {
+        this.statsAggregator = statsAggregator;
+    }
+
+    /**
+     * @return 마지막 집계 스냅샷 (주문 수와 관계없이 O(1))
+     */
+    @GetMapping("/stats")
+    public OrderStats getStats() {
+        return statsAggregator.current();
+    }
+}
@@ -0,0 +1,163 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 주문 스트리밍 응답 - 저장소를 세그먼트 단위로 읽으며 주문마다 바로 응답에 씁니다.
+ * 주문 목록을 만들지 않으므로 주문 수와 관계없이 메모리 사용량이 일정합니다.
+ */
+abstract class OrderStreamWriter implements Consumer<Order> {
+
+    private static final byte[] CSV_HEADER = "id,foodName,quantity,status\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    protected final OutputStream out;
+
+    protected OrderStreamWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @return JSON 배열 ([{...},{...}]) 작성기 - 주문 JSON은 캐시된 바이트가 있으면 재사용
+     */
+    static OrderStreamWriter jsonArray(OutputStream out, OrderPayloadCache payloadCache) {
+        return new OrderStreamWriter(out) {
+            private boolean first = true;
+
+            @Override
+            protected void begin() throws IOException {
+                out.write('[');
+            }
+
+            @Override
+            protected void write(Order order) throws IOException {
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                out.write(payloadCache.encodeUncached(order));
+            }
+
+            @Override
+            protected void end() throws IOException {
+                out.write(']');
+            }
+        };
+    }
+
+    /**
+     * @return NDJSON (한 줄에 주문 JSON 하나) 작성기
+     */
+    static OrderStreamWriter ndjson(OutputStream out, OrderPayloadCache payloadCache) {
+        return new OrderStreamWriter(out) {
+            @Override
+            protected void write(Order order) throws IOException {
+                out.write(payloadCache.encodeUncached(order));
+                out.write('\n');
+            }
+        };
+    }
+
+    /**
+     * @return CSV (id,foodName,quantity,status, RFC 4180 따옴표 처리) 작성기
+     */
+    static OrderStreamWriter csv(OutputStream out) {
+        return new OrderStreamWriter(out) {
+            private final StringBuilder line = new StringBuilder(64);
+
+            @Override
+            protected void begin() throws IOException {
+                out.write(CSV_HEADER);
+            }
+
+            @Override
+            protected void write(Order order) throws IOException {
+                line.setLength(0);
+                line.append(order.getId()).append(',');
+                appendCsvField(line, order.getFoodName());
+                line.append(',').append(order.getQuantity()).append(',');
+                appendCsvField(line, order.getStatus());
+                line.append("\r\n");
+                out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    /**
+     * fromId부터 toId까지의 주문을 씁니다.
+     * @throws IOException 클라이언트 연결이 끊긴 경우 등
+     */
+    void writeAll(OrderStore orderStore, long fromId, long toId) throws IOException {
+        writeAll(orderStore, fromId, toId, null);
+    }
+
+    /**
+     * fromId부터 toId까지의 주문 중 filter를 통과한 주문을 씁니다.
+     * @param filter 주문 조건, null이면 모두
+     * @throws IOException 클라이언트 연결이 끊긴 경우 등
+     */
+    void writeAll(OrderStore orderStore, long fromId, long toId, Predicate<Order> filter) throws IOException {
+        begin();
+        try {
+            orderStore.forEach(fromId, toId, filter == null ? this : order -> {
+                if (filter.test(order)) {
+                    accept(order);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        end();
+        out.flush();
+    }
+
+    @Override
+    public final void accept(Order order) {
+        try {
+            write(order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected void begin() throws IOException {
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 안의 따옴표는 두 번 씀
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    protected abstract void write(Order order) throws IOException;
+
+    protected void end() throws IOException {
+    }
+}
@@ -0,0 +1,25 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.broadcast.OrderDelta;
+import com.rgt.order_system.model.Order;
+
+import java.util.List;
+
+/**
+ * /app/orders/sync 구독 응답
+ * @param seq 이 응답에 반영된 마지막 변경 순번 - 이후 /topic/orders/deltas에서 seq보다 큰 변경만 적용
+ * @param reset true면 orders가 스냅샷(최신순)이므로 화면 목록을 교체, false면 deltas만 이어서 적용
+ * @param orders 스냅샷 (reset일 때만)
+ * @param deltas lastSeq 이후 변경 (reset이 아닐 때만)
+ */
+public record OrderSync(long seq, boolean reset, List<Order> orders, List<OrderDelta> deltas) {
+
+    static OrderSync snapshot(long seq, List<Order> orders) {
+        return new OrderSync(seq, true, orders, List.of());
+    }
+
+    static OrderSync resume(long lastSeq, List<OrderDelta> deltas) {
+        long seq = deltas.isEmpty() ? lastSeq : deltas.get(deltas.size() - 1).seq();
+        return new OrderSync(seq, false, List.of(), deltas);
+    }
+}
@@ -0,0 +1,70 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.broadcast.OrderDelta;
+import com.rgt.order_system.broadcast.OrderReplayLog;
+import com.rgt.order_system.store.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+/**
+ * 대시보드 재연결용 스냅샷 + 변경분 동기화
+ *
+ * 클라이언트는 /topic/orders/deltas를 먼저 구독한 뒤 /app/orders/sync를 구독합니다.
+ * - lastSeq 헤더가 없거나 재전송 범위를 벗어나면: 최신 주문 스냅샷과 그 시점의 순번 (reset=true)
+ * - lastSeq가 재전송 범위 안이면: lastSeq 이후 변경만 (reset=false)
+ * 이후 /topic/orders/deltas에서 응답의 seq보다 큰 변경만 적용하면 누락 없이 이어집니다.
+ * (스냅샷에 이미 반영된 변경이 다시 올 수 있지만 상태는 앞으로만 진행되므로 다시 적용해도 결과는 같습니다)
+ */
+@Slf4j
+@Controller
+public class OrderSyncController {
+
+    static final String LAST_SEQ_HEADER = "lastSeq";
+    static final String SIZE_HEADER = "size";
+    private static final int MAX_SNAPSHOT_SIZE = 1000;
+
+    private final OrderStore orderStore;
+    private final OrderReplayLog replayLog;
+    private final int snapshotSize;
+
+    public OrderSyncController(OrderStore orderStore, OrderReplayLog replayLog,
+                               @Value("${order.sync.snapshot-size:100}") int snapshotSize) {
+        this.orderStore = orderStore;
+        this.replayLog = replayLog;
+        this.snapshotSize = snapshotSize;
+    }
+
+    @SubscribeMapping("/orders/sync")
+    public OrderSync sync(SimpMessageHeaderAccessor headers) {
+        Long lastSeq = parseLong(headers.getFirstNativeHeader(LAST_SEQ_HEADER));
+        if (lastSeq != null) {
+            List<OrderDelta> deltas = replayLog.since(lastSeq);
+            if (deltas != null) {
+                return OrderSync.resume(lastSeq, deltas);
+            }
+            log.debug("재전송 범위를 벗어난 순번, 스냅샷으로 동기화: lastSeq={}, headSeq={}", lastSeq, replayLog.headSeq());
+        }
+        Long requestedSize = parseLong(headers.getFirstNativeHeader(SIZE_HEADER));
+        int size = requestedSize != null ? (int) Math.min(Math.max(requestedSize, 1), MAX_SNAPSHOT_SIZE) : snapshotSize;
+
+        // 순번을 먼저 읽어야 스냅샷에 그 순번까지의 변경이 모두 포함됨 (순번은 headId 안의 주문에만 발급됨)
+        long seq = replayLog.headSeq();
+        return OrderSync.snapshot(seq, orderStore.findNewest(0, size));
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,114 +1,246 @@
 package com.rgt.order_system.controller;
 
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.ingest.OrderBatchIngest;
+import com.rgt.order_system.ingest.OrderSubmission;
+import com.rgt.order_system.ingest.OrderSubmissionResult;
+import com.rgt.order_system.logging.LogRateLimiter;
+import com.rgt.order_system.metrics.OrderMetrics;
 import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @RestController
 public class OrderWebSocketController {
 
     private final SimpMessagingTemplate messagingTemplate;
-    private final List<Order> orders = new CopyOnWriteArrayList<>();
-    private final AtomicLong orderIdGenerator = new AtomicLong(1);
+    private final OrderStore orderStore;
+    private final OrderLongPollRegistry longPollRegistry;
+    private final OrderPayloadCache payloadCache;
+    private final OrderBatchIngest batchIngest;
+    private final OrderMetrics metrics;
     private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final long MAX_WAIT_MS = 30_000;
+    private static final int READ_LOGS_PER_SECOND = 10;
 
-    public OrderWebSocketController(SimpMessagingTemplate messagingTemplate) {
+    // 조회 로그는 요청마다 남기지 않고 초당 READ_LOGS_PER_SECOND건까지만 기록 (생략 건수는 다음 로그에 포함)
+    private final LogRateLimiter paginationLog = new LogRateLimiter(READ_LOGS_PER_SECOND, Duration.ofSeconds(1));
+    private final LogRateLimiter sinceLog = new LogRateLimiter(READ_LOGS_PER_SECOND, Duration.ofSeconds(1));
+
+    public OrderWebSocketController(SimpMessagingTemplate messagingTemplate, OrderStore orderStore,
+                                    OrderLongPollRegistry longPollRegistry, OrderPayloadCache payloadCache,
+                                    OrderBatchIngest batchIngest, OrderMetrics metrics) {
         this.messagingTemplate = messagingTemplate;
+        this.orderStore = orderStore;
+        this.longPollRegistry = longPollRegistry;
+        this.payloadCache = payloadCache;
+        this.batchIngest = batchIngest;
+        this.metrics = metrics;
     }
 
     @MessageMapping("/order")
     public void handleOrder(Order order) {
+        Timer.Sample sample = Timer.start();
         try {
-            // 새로운 주문에 고유 ID 할당
-            order.setId(orderIdGenerator.getAndIncrement());
-
-            // WebSocket을 통해 받은 주문을 주문 목록에 추가
-            orders.add(order);
-            log.info("새로운 주문이 접수되었습니다: 아이디={}, 음식={}, 수량={}, 상태={}",
-                    order.getId(), order.getFoodName(), order.getQuantity(), order.getStatus());
-
-            // 주문을 클라이언트에게 다시 브로드캐스트 (topic/orders로 전송)
-            messagingTemplate.convertAndSend("/topic/orders", order);
+            // 새로운 주문에 고유 ID를 할당하여 공유 주문 저장소에 추가
+            // (topic/orders 브로드캐스트는 OrderBroadcaster가 배치로 처리)
+            orderStore.add(order);
+            if (log.isInfoEnabled()) {
+                log.info("새로운 주문이 접수되었습니다: 아이디={}, 음식={}, 수량={}, 상태={}",
+                        order.getId(), order.getFoodName(), order.getQuantity(), order.getStatus());
+            }
         } catch (Exception e) {
             log.error("주문 처리 중 오류 발생: {}", e.getMessage(), e);
             messagingTemplate.convertAndSend("/topic/errors", "주문 처리 중 오류가 발생했습니다: " + e.getMessage());
+        } finally {
+            sample.stop(metrics.handleOrder());
+        }
+    }
+
+    /**
+     * 일괄 주문 접수 - 결과는 요청한 세션에만 /user/queue/orders/batch로 전송됩니다.
+     * 중복 방지 키 처리는 POST /api/orders/batch와 같습니다.
+     */
+    @MessageMapping("/orders/batch")
+    @SendToUser(destinations = "/queue/orders/batch", broadcast = false)
+    public List<OrderSubmissionResult> handleOrders(List<OrderSubmission> submissions) {
+        Timer.Sample sample = Timer.start();
+        try {
+            List<OrderSubmissionResult> results = batchIngest.submit(submissions);
+            if (log.isInfoEnabled()) {
+                log.info("일괄 주문이 접수되었습니다: 요청={}", results.size());
+            }
+            return results;
+        } catch (Exception e) {
+            log.error("일괄 주문 처리 중 오류 발생: {}", e.getMessage(), e);
+            messagingTemplate.convertAndSend("/topic/errors", "주문 처리 중 오류가 발생했습니다: " + e.getMessage());
+            return null; // 결과 프레임 없음
+        } finally {
+            sample.stop(metrics.handleOrders());
         }
     }
 
     /**
-     * 모든 주문 목록을 반환하는 API
-     * @return 전체 주문 목록
+     * 모든 주문 목록을 반환하는 API - ID 오름차순 JSON 배열
+     * 목록을 만들지 않고 저장소를 세그먼트 단위로 읽으며 바로 응답에 쓰므로, 주문 수와 관계없이 메모리 사용량이 일정합니다.
+     * 디스크로 옮겨진 완료 주문도 포함됩니다.
+     * @return 전체 주문 목록 스트림
      */
     @GetMapping("/api/getallorders")
-    public List<Order> getAllOrders() {
-        return new ArrayList<>(orders); // 방어적 복사본 반환
+    public ResponseEntity<StreamingResponseBody> getAllOrders() {
+        long head = orderStore.headId(); // 응답 시작 시점까지의 주문만
+        StreamingResponseBody body = out -> OrderStreamWriter.jsonArray(out, payloadCache).writeAll(orderStore, 1, head);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
      * 주문 목록 페이지네이션 API - 최신순(ID 내림차순) 정렬
+     * before가 주어지면 커서 모드로 동작하여 해당 ID보다 오래된 주문을 반환합니다.
+     * status/foodName이 주어지면 보조 색인으로 조건에 맞는 주문만 찾으며, 페이지와 커서는 조건에 맞는 주문 기준입니다.
      * @param page 페이지 번호 (0부터 시작)
      * @param size 페이지 크기
-     * @return 페이지네이션된 주문 목록
+     * @param before 커서 - 이전 페이지의 마지막 주문 ID (선택)
+     * @param status 상태 이름 또는 표시 값 (선택)
+     * @param foodName 음식 이름 (선택)
+     * @return 페이지네이션된 주문 목록, 상태가 잘못되면 400
      */
     @GetMapping("/api/orders")
-    public List<Order> getOrdersWithPagination(
+    public ResponseEntity<byte[]> getOrdersWithPagination(
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "10") int size) {
-
-        // 페이지 및 크기 유효성 검사
-        if (page < 0) page = 0;
-        if (size <= 0) size = 10; // DEFAULT_PAGE_SIZE 값을 직접 10으로 설정
-
-        List<Order> sortedOrders = new ArrayList<>(orders);
-
-        // 최신 주문이 먼저 오도록 ID 기준 내림차순 정렬
-        sortedOrders.sort((a, b) -> Long.compare(b.getId(), a.getId()));
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "before", required = false) Long before,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "foodName", required = false) String foodName) {
+        Timer.Sample sample = Timer.start();
+        try {
+            // 페이지 및 크기 유효성 검사
+            if (page < 0) page = 0;
+            if (size <= 0) size = DEFAULT_PAGE_SIZE;
+            if (size > MAX_PAGE_SIZE) size = MAX_PAGE_SIZE;
+            OrderStatus statusFilter = null;
+            if (status != null) {
+                statusFilter = OrderStatus.from(status);
+                if (statusFilter == null) {
+                    return ResponseEntity.badRequest().build();
+                }
+            }
 
-        int totalElements = sortedOrders.size();
-        int start = Math.min(page * size, totalElements);
-        int end = Math.min(start + size, totalElements);
+            // ID가 오름차순으로 발급되므로 최신순 페이지는 저장소를 뒤에서부터 읽으면 됨
+            List<Order> result;
+            if (statusFilter != null || foodName != null) {
+                result = before != null
+                        ? orderStore.findMatchingBefore(statusFilter, foodName, before, size)
+                        : orderStore.findMatching(statusFilter, foodName, (long) page * size, size);
+            } else {
+                result = before != null
+                        ? orderStore.findNewestBefore(before, size)
+                        : orderStore.findNewest((long) page * size, size);
+            }
 
-        log.info("Pagination - page: {}, size: {}, start: {}, end: {}, total: {}",
-                page, size, start, end, totalElements);
+            if (log.isInfoEnabled() && paginationLog.tryAcquire()) {
+                log.info("Pagination - page: {}, size: {}, before: {}, status: {}, foodName: {}, returned: {}, total: {}, suppressed: {}",
+                        page, size, before, status, foodName, result.size(), orderStore.size(), paginationLog.drainSuppressed());
+            }
 
-        if (start >= totalElements) {
-            return Collections.emptyList();
+            return json(payloadCache.encodeArray(result));
+        } finally {
+            sample.stop(metrics.ordersWithPagination());
         }
-
-        return sortedOrders.subList(start, end);
     }
 
     /**
      * 최신 주문 상태 API - 특정 ID보다 큰 주문만 반환
+     * 새 주문이 없으면 본문 없이 304 Not Modified를 반환합니다.
      * @param lastId 마지막으로 받은 주문 ID (이것보다 큰 ID의 주문만 반환)
      * @return 새로운 주문 목록
      */
     @GetMapping("/api/orders/since")
-    public List<Order> getOrdersSince(@RequestParam(value = "lastId", defaultValue = "0") long lastId) {
-        List<Order> newOrders = new ArrayList<>();
-
-        for (Order order : orders) {
-            if (order.getId() > lastId) {
-                newOrders.add(order);
+    public ResponseEntity<byte[]> getOrdersSince(
+            @RequestParam(value = "lastId", defaultValue = "0") long lastId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            String etag = etagOf(orderStore.headId());
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
             }
+            return sinceResponse(lastId);
+        } finally {
+            sample.stop(metrics.ordersSince());
+        }
+    }
+
+    /**
+     * 최신 주문 상태 롱폴링 API - 새 주문이 생기거나 waitMs가 지날 때까지 응답을 보류
+     * @param lastId 마지막으로 받은 주문 ID
+     * @param waitMs 최대 대기 시간(ms), 최대 30초
+     * @return 새로운 주문 목록 (시간 초과 시 304)
+     */
+    @GetMapping(value = "/api/orders/since", params = "waitMs")
+    public DeferredResult<ResponseEntity<byte[]>> getOrdersSinceLongPoll(
+            @RequestParam(value = "lastId", defaultValue = "0") long lastId,
+            @RequestParam("waitMs") long waitMs) {
+        long timeout = Math.max(0, Math.min(waitMs, MAX_WAIT_MS));
+        if (timeout == 0) {
+            DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>();
+            result.setResult(sinceResponse(lastId));
+            return result;
+        }
+        return longPollRegistry.await(lastId, timeout, this::sinceResponse);
+    }
+
+    private ResponseEntity<byte[]> sinceResponse(long lastId) {
+        long head = orderStore.headId();
+        String etag = etagOf(head);
+        if (lastId >= head) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
 
-        // ID 기준 내림차순 정렬
-        newOrders.sort((a, b) -> Long.compare(b.getId(), a.getId()));
+        // ID 기준 내림차순
+        List<Order> newOrders = orderStore.findSince(lastId);
+
+        if (log.isInfoEnabled() && sinceLog.tryAcquire()) {
+            log.info("Fetching orders since ID: {}, found: {} new orders, suppressed: {}",
+                    lastId, newOrders.size(), sinceLog.drainSuppressed());
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payloadCache.encodeArray(newOrders));
+    }
+
+    /**
+     * 브로드캐스트와 같은 캐시된 주문 JSON으로 응답합니다.
+     */
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
-        log.info("Fetching orders since ID: {}, found: {} new orders", lastId, newOrders.size());
-        return newOrders;
+    /**
+     * ETag는 읽기 가능한 최신 주문 ID(headId)입니다.
+     */
+    private static String etagOf(long headId) {
+        return "\"" + headId + "\"";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.rgt.order_system.ingest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 접수 허용 여부
+ * @param admitted 허용되었으면 true
+ * @param retryAfterNanos 거부된 경우 다시 시도할 때까지 기다릴 시간(ns)
+ * @param reason 거부 사유 (client: 클라이언트 한도, global: 전체 한도, overload: 브로커 출력 큐 또는 브로드캐스트 큐 포화)
+ */
+public record Admission(boolean admitted, long retryAfterNanos, String reason) {
+
+    static final Admission ADMITTED = new Admission(true, 0, null);
+
+    static Admission rejected(String reason, long retryAfterNanos) {
+        return new Admission(false, retryAfterNanos, reason);
+    }
+
+    /**
+     * @return Retry-After 값 (초, 올림, 최소 1)
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,112 @@
+package com.rgt.order_system.ingest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 중복 방지 키 캐시 - 최근 ttl 동안 접수된 키와 주문 ID를 최대 maxKeys건까지 보관합니다.
+ *
+ * 만료 시간이 모두 같으므로 삽입 순서가 곧 만료 순서입니다. 삽입 순서 큐의 앞에서부터 만료되었거나
+ * 한도를 넘은 키를 지우므로 정리 비용은 지운 건수에 비례하고, 전체를 훑는 정리 작업이 없습니다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    @Autowired
+    public IdempotencyCache(@Value("${order.idempotency.ttl-ms:600000}") long ttlMs,
+                            @Value("${order.idempotency.max-keys:100000}") int maxKeys) {
+        this(ttlMs, maxKeys, System::nanoTime);
+    }
+
+    IdempotencyCache(long ttlMs, int maxKeys, LongSupplier clock) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxKeys = Math.max(1, maxKeys);
+        this.clock = clock;
+    }
+
+    /**
+     * 키를 예약합니다. 처음 보는 키면 예약하고 null을, 이미 보관 중인 키면 그 기록을 반환합니다.
+     * @return 기존 기록 (주문 ID가 아직 없으면 처음 요청이 처리 중), 새로 예약했으면 null
+     */
+    Entry reserve(String key) {
+        long now = clock.getAsLong();
+        evict(now);
+        Entry entry = new Entry(key, now + ttlNanos);
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing;
+        }
+        insertionOrder.offer(entry);
+        while (entries.size() > maxKeys) {
+            Entry oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            entries.remove(oldest.key, oldest);
+        }
+        return null;
+    }
+
+    /**
+     * 예약한 키에 접수된 주문 ID를 기록합니다.
+     */
+    void complete(String key, long orderId) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.orderId = orderId;
+        }
+    }
+
+    /**
+     * 접수에 실패한 키의 예약을 취소해 다시 시도할 수 있게 합니다.
+     */
+    void release(String key) {
+        entries.computeIfPresent(key, (k, entry) -> entry.orderId == 0 ? null : entry);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = insertionOrder.peek()) != null && oldest.expiresAt - now <= 0) {
+            if (insertionOrder.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    static final class Entry {
+        private final String key;
+        private final long expiresAt;
+        private volatile long orderId; // 0이면 처리 중
+
+        private Entry(String key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @return 접수된 주문 ID, 처리 중이면 null
+         */
+        Long orderId() {
+            long id = orderId;
+            return id != 0 ? id : null;
+        }
+    }
+}
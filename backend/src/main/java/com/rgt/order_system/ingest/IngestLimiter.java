@@ -0,0 +1,217 @@
+package com.rgt.order_system.ingest;
+
+import com.rgt.order_system.broadcast.OrderBroadcaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * 주문 접수 한도 (REST: 클라이언트 IP, STOMP: 세션 ID 기준)
+ *
+ * 다음 순서로 확인하며 하나라도 걸리면 거부하고 다시 시도할 시간을 알려 줍니다.
+ * 1. 브로커 출력 큐(clientOutboundChannel) 대기 작업이 overload-queue-depth를 넘거나
+ *    브로드캐스트 큐(OrderBroadcaster) 대기 이벤트가 overload-broadcast-depth를 넘으면 거부 - 지연이 무너지기 전에 부하를 덜어냄
+ * 2. 클라이언트별 토큰 버킷 (client-rate/초, client-burst)
+ * 3. 전체 토큰 버킷 (global-rate/초, global-burst)
+ *
+ * 거부된 요청은 저장소와 브로커 큐에 들어가지 않으므로, 유입량과 관계없이 메모리 증가 속도는 global-rate로 제한됩니다.
+ * 클라이언트 버킷은 최대 max-clients개만 보관합니다. 넘으면 가득 찬(한동안 요청이 없던) 버킷을 지우고,
+ * 그래도 넘으면 새 클라이언트는 공용 버킷 하나를 함께 씁니다.
+ */
+@Slf4j
+@Component
+public class IngestLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long OVERLOAD_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double clientRate;
+    private final int clientBurst;
+    private final int maxClients;
+    private final int overloadQueueDepth;
+    private final IntSupplier outboundQueueDepth;
+    private final int overloadBroadcastDepth;
+    private final IntSupplier broadcastQueueDepth;
+    private final LongSupplier clock;
+
+    private final Map<String, TokenBucket> clients = new ConcurrentHashMap<>();
+    private final TokenBucket overflowClients;
+    private final TokenBucket global;
+    private volatile long lastSweep;
+
+    private final Counter clientRejected;
+    private final Counter globalRejected;
+    private final Counter overloadRejected;
+
+    @Autowired
+    public IngestLimiter(@Value("${order.ingest.limit.client-rate:20}") double clientRate,
+                         @Value("${order.ingest.limit.client-burst:40}") int clientBurst,
+                         @Value("${order.ingest.limit.global-rate:2000}") double globalRate,
+                         @Value("${order.ingest.limit.global-burst:4000}") int globalBurst,
+                         @Value("${order.ingest.limit.max-clients:10000}") int maxClients,
+                         @Value("${order.ingest.limit.overload-queue-depth:8000}") int overloadQueueDepth,
+                         @Value("${order.ingest.limit.overload-broadcast-depth:32768}") int overloadBroadcastDepth,
+                         MeterRegistry meterRegistry,
+                         @Qualifier("clientOutboundChannelExecutor") ObjectProvider<Executor> outboundExecutor,
+                         ObjectProvider<OrderBroadcaster> broadcaster) {
+        this(clientRate, clientBurst, globalRate, globalBurst, maxClients, overloadQueueDepth, meterRegistry,
+                new OutboundQueueDepth(outboundExecutor), overloadBroadcastDepth, new BroadcastQueueDepth(broadcaster),
+                System::nanoTime);
+    }
+
+    public IngestLimiter(double clientRate, int clientBurst, double globalRate, int globalBurst, int maxClients,
+                         int overloadQueueDepth, MeterRegistry meterRegistry,
+                         IntSupplier outboundQueueDepth, LongSupplier clock) {
+        this(clientRate, clientBurst, globalRate, globalBurst, maxClients, overloadQueueDepth, meterRegistry,
+                outboundQueueDepth, Integer.MAX_VALUE, () -> 0, clock);
+    }
+
+    public IngestLimiter(double clientRate, int clientBurst, double globalRate, int globalBurst, int maxClients,
+                         int overloadQueueDepth, MeterRegistry meterRegistry, IntSupplier outboundQueueDepth,
+                         int overloadBroadcastDepth, IntSupplier broadcastQueueDepth, LongSupplier clock) {
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.maxClients = maxClients;
+        this.overloadQueueDepth = overloadQueueDepth;
+        this.outboundQueueDepth = outboundQueueDepth;
+        this.overloadBroadcastDepth = overloadBroadcastDepth;
+        this.broadcastQueueDepth = broadcastQueueDepth;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.overflowClients = new TokenBucket(clientRate, clientBurst, now);
+        this.global = new TokenBucket(globalRate, globalBurst, now);
+        this.lastSweep = now;
+        this.clientRejected = rejectedCounter(meterRegistry, "client");
+        this.globalRejected = rejectedCounter(meterRegistry, "global");
+        this.overloadRejected = rejectedCounter(meterRegistry, "overload");
+    }
+
+    /**
+     * @param client 클라이언트 식별자 (IP 또는 세션 ID)
+     * @param permits 접수할 주문 수
+     * @return 허용 여부와 다시 시도할 시간
+     */
+    public Admission tryAcquire(String client, int permits) {
+        if (outboundQueueDepth.getAsInt() > overloadQueueDepth
+                || broadcastQueueDepth.getAsInt() > overloadBroadcastDepth) {
+            overloadRejected.increment();
+            return Admission.rejected("overload", OVERLOAD_RETRY_NANOS);
+        }
+
+        long now = clock.getAsLong();
+        TokenBucket bucket = clientBucket(client != null ? client : "", now);
+        long wait = bucket.tryAcquire(permits, now);
+        if (wait > 0) {
+            clientRejected.increment();
+            return Admission.rejected("client", wait);
+        }
+        wait = global.tryAcquire(permits, now);
+        if (wait > 0) {
+            bucket.refund(permits);
+            globalRejected.increment();
+            return Admission.rejected("global", wait);
+        }
+        return Admission.ADMITTED;
+    }
+
+    int clientCount() {
+        return clients.size();
+    }
+
+    private TokenBucket clientBucket(String client, long now) {
+        TokenBucket bucket = clients.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (clients.size() >= maxClients) {
+            sweep(now);
+            if (clients.size() >= maxClients) {
+                return overflowClients;
+            }
+        }
+        return clients.computeIfAbsent(client, key -> new TokenBucket(clientRate, clientBurst, now));
+    }
+
+    // 가득 찬 버킷은 새 버킷과 같으므로 지워도 한도가 느슨해지지 않음. 한도를 넘은 동안에도 초당 한 번만 훑음
+    private void sweep(long now) {
+        long last = lastSweep;
+        if (now - last < SWEEP_INTERVAL_NANOS) {
+            return;
+        }
+        lastSweep = now;
+        int before = clients.size();
+        clients.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("주문 접수 한도 클라이언트 정리: {} → {}", before, clients.size());
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("orders.ingest.rejected")
+                .description("접수 한도에 걸려 거부된 주문 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 브로커 출력 채널의 대기 작업 수 - 스레드풀 실행기일 때만 측정 가능하며, 가상 스레드 실행기는 큐가 없어 0입니다.
+     * 실행기 빈은 WebSocket 설정 이후에 만들어지므로 처음 사용할 때 찾습니다.
+     */
+    private static final class OutboundQueueDepth implements IntSupplier {
+
+        private final ObjectProvider<Executor> provider;
+        private volatile ThreadPoolTaskExecutor executor;
+        private volatile boolean resolved;
+
+        private OutboundQueueDepth(ObjectProvider<Executor> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public int getAsInt() {
+            if (!resolved) {
+                if (provider.getIfAvailable() instanceof ThreadPoolTaskExecutor pool) {
+                    executor = pool;
+                }
+                resolved = true;
+            }
+            ThreadPoolTaskExecutor pool = executor;
+            return pool != null ? pool.getQueueSize() : 0;
+        }
+    }
+
+    /**
+     * 브로드캐스트 큐의 대기 이벤트 수 - 브로드캐스터는 저장소를 거쳐 만들어지므로 순환 참조를 피하려고 처음 사용할 때 찾습니다.
+     */
+    private static final class BroadcastQueueDepth implements IntSupplier {
+
+        private final ObjectProvider<OrderBroadcaster> provider;
+        private volatile OrderBroadcaster broadcaster;
+        private volatile boolean resolved;
+
+        private BroadcastQueueDepth(ObjectProvider<OrderBroadcaster> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public int getAsInt() {
+            if (!resolved) {
+                broadcaster = provider.getIfAvailable();
+                resolved = true;
+            }
+            OrderBroadcaster current = broadcaster;
+            return current != null ? current.pendingCount() : 0;
+        }
+    }
+}
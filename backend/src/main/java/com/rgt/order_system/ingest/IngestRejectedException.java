@@ -0,0 +1,21 @@
+package com.rgt.order_system.ingest;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+
+/**
+ * STOMP 주문 접수가 한도에 걸려 거부됨 - clientInboundChannel에서 던지면 STOMP ERROR 프레임으로 전송됩니다.
+ */
+public class IngestRejectedException extends MessagingException {
+
+    private final transient Admission admission;
+
+    public IngestRejectedException(Message<?> message, Admission admission) {
+        super(message, "주문 접수 한도를 초과했습니다 (" + admission.reason() + ")");
+        this.admission = admission;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+}
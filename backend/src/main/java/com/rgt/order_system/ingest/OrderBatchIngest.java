@@ -0,0 +1,95 @@
+package com.rgt.order_system.ingest;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일괄 주문 접수 - POST /api/orders/batch와 /app/orders/batch가 함께 사용합니다.
+ *
+ * 중복 방지 키로 이미 접수된 주문을 걸러낸 뒤, 나머지를 OrderStore.addAll 한 번으로 저장합니다.
+ * ID는 연속된 블록으로 한 번에 발급되고, 브로드캐스트도 한 배치로 나갑니다.
+ * 같은 요청 안에서 키가 겹치는 경우도 중복으로 처리합니다.
+ */
+@Component
+public class OrderBatchIngest {
+
+    private final OrderStore orderStore;
+    private final IdempotencyCache idempotencyCache;
+    private final int maxBatchSize;
+
+    public OrderBatchIngest(OrderStore orderStore, IdempotencyCache idempotencyCache,
+                            @Value("${order.ingest.max-batch-size:1000}") int maxBatchSize) {
+        this.orderStore = orderStore;
+        this.idempotencyCache = idempotencyCache;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @param submissions 접수할 주문 목록
+     * @return 요청 순서와 같은 접수 결과
+     * @throws IllegalArgumentException 주문 수가 한도를 넘은 경우
+     */
+    public List<OrderSubmissionResult> submit(List<OrderSubmission> submissions) {
+        checkSize(submissions.size());
+
+        OrderSubmissionResult[] results = new OrderSubmissionResult[submissions.size()];
+        IdempotencyCache.Entry[] duplicates = new IdempotencyCache.Entry[submissions.size()];
+        List<Order> accepted = new ArrayList<>(submissions.size());
+        int[] positions = new int[submissions.size()];
+        for (int i = 0; i < submissions.size(); i++) {
+            OrderSubmission submission = submissions.get(i);
+            if (submission.hasIdempotencyKey()) {
+                IdempotencyCache.Entry existing = idempotencyCache.reserve(submission.idempotencyKey());
+                if (existing != null) {
+                    duplicates[i] = existing;
+                    continue;
+                }
+            }
+            positions[accepted.size()] = i;
+            accepted.add(submission.toOrder());
+        }
+
+        try {
+            orderStore.addAll(accepted);
+        } catch (RuntimeException e) {
+            for (int j = 0; j < accepted.size(); j++) {
+                OrderSubmission submission = submissions.get(positions[j]);
+                if (submission.hasIdempotencyKey()) {
+                    idempotencyCache.release(submission.idempotencyKey());
+                }
+            }
+            throw e;
+        }
+
+        for (int j = 0; j < accepted.size(); j++) {
+            OrderSubmission submission = submissions.get(positions[j]);
+            long id = accepted.get(j).getId();
+            if (submission.hasIdempotencyKey()) {
+                idempotencyCache.complete(submission.idempotencyKey(), id);
+            }
+            results[positions[j]] = new OrderSubmissionResult(submission.idempotencyKey(), id, false);
+        }
+        // 중복 결과는 저장 후에 채워야 같은 요청 안에서 겹친 키도 방금 발급된 ID를 받음
+        for (int i = 0; i < duplicates.length; i++) {
+            if (duplicates[i] != null) {
+                results[i] = new OrderSubmissionResult(submissions.get(i).idempotencyKey(), duplicates[i].orderId(), true);
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * 접수 한도(토큰)를 쓰기 전에 건수 한도를 먼저 확인할 때 사용합니다.
+     * @throws IllegalArgumentException 주문 수가 한도를 넘은 경우
+     */
+    public void checkSize(int count) {
+        if (count > maxBatchSize) {
+            throw new IllegalArgumentException("한 번에 접수할 수 있는 주문은 최대 " + maxBatchSize + "건입니다.");
+        }
+    }
+}
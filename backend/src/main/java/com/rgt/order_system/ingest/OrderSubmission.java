@@ -0,0 +1,20 @@
+package com.rgt.order_system.ingest;
+
+import com.rgt.order_system.model.Order;
+
+/**
+ * 일괄 주문 접수 요청의 주문 한 건
+ * @param idempotencyKey 클라이언트가 주문마다 정하는 중복 방지 키 (재시도 시 같은 키로 전송, 없으면 중복 검사 안 함)
+ * @param foodName 음식 이름
+ * @param quantity 수량
+ */
+public record OrderSubmission(String idempotencyKey, String foodName, int quantity) {
+
+    Order toOrder() {
+        return new Order(null, foodName, quantity, null);
+    }
+
+    boolean hasIdempotencyKey() {
+        return idempotencyKey != null && !idempotencyKey.isBlank();
+    }
+}
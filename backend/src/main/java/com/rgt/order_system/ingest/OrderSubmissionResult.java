@@ -0,0 +1,10 @@
+package com.rgt.order_system.ingest;
+
+/**
+ * 일괄 주문 접수 결과 (요청 순서와 같음)
+ * @param idempotencyKey 요청의 중복 방지 키
+ * @param id 주문 ID - 중복이면 처음 접수된 주문의 ID, 처음 요청이 아직 처리 중이면 null
+ * @param duplicate 이미 접수된 키여서 새 주문을 만들지 않았으면 true
+ */
+public record OrderSubmissionResult(String idempotencyKey, Long id, boolean duplicate) {
+}
@@ -0,0 +1,58 @@
+package com.rgt.order_system.ingest;
+
+/**
+ * 토큰 버킷 - 초당 rate개씩 최대 burst개까지 채워집니다.
+ *
+ * 요청한 수만큼 토큰이 없어도 토큰이 min(요청 수, burst)개 이상이면 허용하고 잔량을 음수(빚)로 남깁니다.
+ * 그래서 burst보다 큰 일괄 접수도 허용되지만, 그만큼 이후 요청이 기다리게 되어 평균 속도는 rate를 넘지 않습니다.
+ */
+final class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private double tokens;
+    private long updatedAt;
+
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.updatedAt = now;
+    }
+
+    /**
+     * @return 허용되면 0, 아니면 허용될 때까지 남은 시간(ns)
+     */
+    synchronized long tryAcquire(int permits, long now) {
+        refill(now);
+        double required = Math.min(permits, capacity);
+        if (tokens >= required) {
+            tokens -= permits;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((required - tokens) / permitsPerNano));
+    }
+
+    /**
+     * 다른 한도에 걸려 접수하지 못한 요청의 토큰을 돌려줍니다.
+     */
+    synchronized void refund(int permits) {
+        tokens = Math.min(capacity, tokens + permits);
+    }
+
+    /**
+     * @return 가득 찬 버킷이면 true - 새로 만든 버킷과 같으므로 지워도 됨
+     */
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - updatedAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * permitsPerNano);
+            updatedAt = now;
+        }
+    }
+}
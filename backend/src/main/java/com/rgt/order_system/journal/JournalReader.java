@@ -0,0 +1,84 @@
+package com.rgt.order_system.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 저널 세그먼트 해석기
+ *
+ * 빈 레코드(예약만 되고 기록되지 않은 자리, 미사용 영역)는 건너뛰고, 체크섬이 맞지 않는 레코드는
+ * 손상된 것으로 보고 버립니다. 이름 조각이 빠진 ADD 레코드도 주문 하나를 통째로 버립니다.
+ */
+final class JournalReader {
+
+    interface Visitor {
+        void onAdd(long id, int status, int quantity, String foodName);
+
+        void onStatus(long id, int status);
+    }
+
+    // 메뉴 이름은 종류가 적으므로 같은 문자열 인스턴스를 공유
+    private final Map<String, String> names = new HashMap<>();
+    private long corrupted;
+
+    long corrupted() {
+        return corrupted;
+    }
+
+    void read(ByteBuffer segment, Visitor visitor) {
+        int limit = segment.limit() - segment.limit() % JournalRecord.SIZE;
+        int base = 0;
+        while (base < limit) {
+            byte type = segment.get(base + 4);
+            if (type == JournalRecord.EMPTY) {
+                base += JournalRecord.SIZE;
+                continue;
+            }
+            if (!JournalRecord.isValid(segment, base)) {
+                corrupted++;
+                base += JournalRecord.SIZE;
+                continue;
+            }
+            long id = segment.getLong(base + 8);
+            int status = segment.get(base + 5);
+            if (type == JournalRecord.STATUS) {
+                visitor.onStatus(id, status);
+                base += JournalRecord.SIZE;
+            } else if (type == JournalRecord.ADD) {
+                base = readAdd(segment, base, limit, id, status, visitor);
+            } else {
+                base += JournalRecord.SIZE; // ADD 없이 남은 이름 조각
+            }
+        }
+    }
+
+    private int readAdd(ByteBuffer segment, int base, int limit, long id, int status, Visitor visitor) {
+        int nameLength = segment.getShort(base + 6) & 0xFFFF;
+        int quantity = segment.getInt(base + 16);
+        byte[] name = new byte[nameLength];
+        int head = Math.min(nameLength, JournalRecord.ADD_NAME_BYTES);
+        segment.get(base + 20, name, 0, head);
+
+        int next = base + JournalRecord.SIZE;
+        int nameOffset = head;
+        while (nameOffset < nameLength) {
+            if (next >= limit
+                    || segment.get(next + 4) != JournalRecord.NAME
+                    || segment.getLong(next + 8) != id
+                    || !JournalRecord.isValid(segment, next)) {
+                corrupted++;
+                return next;
+            }
+            int chunk = Math.min(segment.getShort(next + 6), nameLength - nameOffset);
+            segment.get(next + 16, name, nameOffset, chunk);
+            nameOffset += chunk;
+            next += JournalRecord.SIZE;
+        }
+
+        String foodName = new String(name, StandardCharsets.UTF_8);
+        visitor.onAdd(id, status, quantity, names.computeIfAbsent(foodName, key -> key));
+        return next;
+    }
+}
@@ -0,0 +1,117 @@
+package com.rgt.order_system.journal;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * 저널 레코드 형식 - 모든 레코드는 64바이트 고정 크기입니다.
+ *
+ * <pre>
+ * [0..4)   CRC32C ([4..64) 구간)
+ * [4]      타입 (ADD=1, STATUS=2, NAME=3, 0이면 빈 레코드)
+ * [5]      상태 순서 (OrderStatus.ordinal)
+ * [6..8)   ADD: 메뉴 이름 전체 바이트 수 / NAME: 이 레코드의 이름 조각 바이트 수
+ * [8..16)  주문 ID
+ * ADD:  [16..20) 수량, [20..64) 메뉴 이름 앞부분 (UTF-8, 최대 44바이트)
+ * NAME: [16..64) 메뉴 이름 나머지 조각 (최대 48바이트) - ADD 바로 뒤에 이어서 기록
+ * </pre>
+ */
+final class JournalRecord {
+
+    static final int SIZE = 64;
+
+    static final byte EMPTY = 0;
+    static final byte ADD = 1;
+    static final byte STATUS = 2;
+    static final byte NAME = 3;
+
+    static final int ADD_NAME_BYTES = 44;
+    static final int NAME_CHUNK_BYTES = 48;
+    static final int MAX_NAME_BYTES = Short.MAX_VALUE;
+
+    private static final int HEADER_BYTES = 16;
+    private static final ThreadLocal<CRC32C> CRC = ThreadLocal.withInitial(CRC32C::new);
+
+    private JournalRecord() {
+    }
+
+    /**
+     * @return 메뉴 이름 길이에 따른 ADD 레코드 수 (이름 조각 포함)
+     */
+    static int addRecords(int nameLength) {
+        if (nameLength <= ADD_NAME_BYTES) {
+            return 1;
+        }
+        return 1 + (nameLength - ADD_NAME_BYTES + NAME_CHUNK_BYTES - 1) / NAME_CHUNK_BYTES;
+    }
+
+    /**
+     * ADD 레코드와 이름 조각 레코드를 buffer 앞부분에 기록합니다.
+     * @return 기록한 바이트 수
+     */
+    static int encodeAdd(byte[] buffer, long id, int status, int quantity, byte[] name) {
+        int records = addRecords(name.length);
+        ByteBuffer out = ByteBuffer.wrap(buffer, 0, records * SIZE);
+
+        int head = Math.min(name.length, ADD_NAME_BYTES);
+        header(out, 0, ADD, status, name.length, id);
+        out.putInt(16, quantity);
+        out.put(20, name, 0, head);
+        clear(buffer, 20 + head, SIZE);
+        seal(buffer, 0);
+
+        int nameOffset = head;
+        for (int i = 1; i < records; i++) {
+            int base = i * SIZE;
+            int chunk = Math.min(name.length - nameOffset, NAME_CHUNK_BYTES);
+            header(out, base, NAME, status, chunk, id);
+            out.put(base + HEADER_BYTES, name, nameOffset, chunk);
+            clear(buffer, base + HEADER_BYTES + chunk, base + SIZE);
+            seal(buffer, base);
+            nameOffset += chunk;
+        }
+        return records * SIZE;
+    }
+
+    /**
+     * STATUS 레코드 하나를 buffer 앞부분에 기록합니다.
+     * @return 기록한 바이트 수
+     */
+    static int encodeStatus(byte[] buffer, long id, int status) {
+        ByteBuffer out = ByteBuffer.wrap(buffer, 0, SIZE);
+        header(out, 0, STATUS, status, 0, id);
+        clear(buffer, HEADER_BYTES, SIZE);
+        seal(buffer, 0);
+        return SIZE;
+    }
+
+    /**
+     * @return 레코드 체크섬이 맞으면 true
+     */
+    static boolean isValid(ByteBuffer in, int base) {
+        CRC32C crc = CRC.get();
+        crc.reset();
+        crc.update(in.slice(base + 4, SIZE - 4));
+        return (int) crc.getValue() == in.getInt(base);
+    }
+
+    private static void header(ByteBuffer out, int base, byte type, int status, int length, long id) {
+        out.put(base + 4, type);
+        out.put(base + 5, (byte) status);
+        out.putShort(base + 6, (short) length);
+        out.putLong(base + 8, id);
+    }
+
+    private static void seal(byte[] buffer, int base) {
+        CRC32C crc = CRC.get();
+        crc.reset();
+        crc.update(buffer, base + 4, SIZE - 4);
+        ByteBuffer.wrap(buffer).putInt(base, (int) crc.getValue());
+    }
+
+    private static void clear(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            buffer[i] = 0;
+        }
+    }
+}
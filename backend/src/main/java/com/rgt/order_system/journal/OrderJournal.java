@@ -0,0 +1,487 @@
+package com.rgt.order_system.journal;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.OrderStoreListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 주문 저널 (write-ahead log, journal 프로필)
+ *
+ * 주문 추가/상태 변경을 64바이트 고정 크기 레코드로 메모리 매핑된 세그먼트 파일에 덧붙입니다.
+ * 쓰는 스레드는 AtomicLong으로 위치만 예약하고 매핑된 영역에 바로 복사하므로 락이 없고,
+ * 프로세스가 죽어도 기록된 내용은 OS 페이지 캐시에 남습니다.
+ * 디스크 동기화(force)는 전용 스레드가 sync-interval-ms마다, 또는 sync-records건이 쌓이면 모아서 수행합니다.
+ * (OS 장애 시 최대 sync-interval-ms 동안의 변경이 유실될 수 있습니다)
+ *
+ * 기동 시 저널을 재생해 OrderStore와 ID 발급 위치를 복구합니다. 같은 주문의 상태 레코드는
+ * 가장 진행된 상태 하나로 합쳐지므로 레코드 순서와 무관합니다.
+ *
+ * 세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 닫힌 세그먼트의 주문이 모두 완료 상태가 되면
+ * 주문당 ADD 레코드 하나(완료 상태)만 남기고 나머지 상태 레코드를 버려 세그먼트를 압축합니다.
+ * 단일 노드용이며 redis 프로필과 함께 사용하지 않습니다.
+ */
+@Slf4j
+@Profile("journal")
+@Component
+public class OrderJournal implements OrderStoreListener {
+
+    static final int MIN_SEGMENT_RECORDS = 1024; // 가장 긴 메뉴 이름의 ADD 레코드가 들어가는 크기
+    private static final int MAX_SEGMENTS = 1 << 16;
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final OrderStore orderStore;
+    private final Path directory;
+    private final long segmentBytes;
+    private final long syncIntervalNanos;
+    private final long syncRecords;
+    private final long compactionIntervalNanos;
+
+    private final AtomicLong position = new AtomicLong();
+    private final AtomicReferenceArray<WritableSegment> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicLong unsyncedRecords = new AtomicLong();
+    private final ThreadLocal<byte[]> recordBuffer = ThreadLocal.withInitial(() -> new byte[JournalRecord.SIZE * 4]);
+    private final ThreadLocal<EncodedName> lastName = new ThreadLocal<>(); // 같은 메뉴가 연속되면 인코딩 재사용
+
+    // 아래 필드는 저널 스레드에서만 사용
+    private final Deque<Path> sealed = new ArrayDeque<>();
+    private final Map<Path, Long> compactionBlockers = new HashMap<>();
+    private int syncedSegment;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderJournal(OrderStore orderStore,
+                        @Value("${order.journal.dir:data/journal}") Path directory,
+                        @Value("${order.journal.segment-records:1048576}") int segmentRecords,
+                        @Value("${order.journal.sync-interval-ms:10}") long syncIntervalMs,
+                        @Value("${order.journal.sync-records:1000}") long syncRecords,
+                        @Value("${order.journal.compaction-interval-ms:10000}") long compactionIntervalMs) {
+        this.orderStore = orderStore;
+        this.directory = directory;
+        this.segmentBytes = (long) Math.max(segmentRecords, MIN_SEGMENT_RECORDS) * JournalRecord.SIZE;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMs);
+        this.syncRecords = Math.max(1, syncRecords);
+        this.compactionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(compactionIntervalMs);
+        orderStore.addListener(this);
+    }
+
+    /**
+     * 저널을 재생해 저장소를 복구하고, 새 세그먼트부터 기록을 시작합니다.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = segmentFiles();
+
+        long begin = System.nanoTime();
+        JournalReader reader = new JournalReader();
+        List<Order> orders = replay(files, reader);
+        orderStore.restore(orders);
+        log.info("주문 저널 복구 완료: {}건, 세그먼트 {}개, 손상 레코드 {}건, {}ms",
+                orders.size(), files.size(), reader.corrupted(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+
+        // 이전 실행의 세그먼트는 닫힌 것으로 보고, 압축되지 않은 것만 압축 대상으로 등록
+        for (Path file : files) {
+            if (Files.size(file) >= segmentBytes) {
+                sealed.add(file);
+            }
+        }
+        syncedSegment = files.isEmpty() ? 0 : segmentIndex(files.get(files.size() - 1)) + 1;
+        position.set(syncedSegment * segmentBytes);
+
+        running = true;
+        worker = new Thread(this::run, "order-journal");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void orderAdded(Order order) {
+        byte[] name = encodeName(order.getFoodName());
+        byte[] buffer = recordBuffer(JournalRecord.addRecords(name.length));
+        int length = JournalRecord.encodeAdd(buffer, order.getId(), statusOf(order), order.getQuantity(), name);
+        append(buffer, length);
+    }
+
+    @Override
+    public void statusChanged(Order previous, Order current) {
+        byte[] buffer = recordBuffer(1);
+        int length = JournalRecord.encodeStatus(buffer, current.getId(), statusOf(current));
+        append(buffer, length);
+    }
+
+    /**
+     * 세그먼트 파일을 순서대로 읽어 주문 목록(ID 오름차순)을 만듭니다.
+     */
+    static List<Order> replay(List<Path> files, JournalReader reader) throws IOException {
+        Replay replay = new Replay();
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                reader.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), replay);
+            }
+        }
+        return replay.orders();
+    }
+
+    List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * 위치를 예약하고 레코드를 매핑된 세그먼트에 복사합니다.
+     * 한 항목(ADD와 이름 조각)은 세그먼트 경계에 걸치지 않도록, 걸치면 남은 자리를 비워 두고 다시 예약합니다.
+     */
+    private void append(byte[] records, int length) {
+        while (true) {
+            long start = position.getAndAdd(length);
+            int index = (int) (start / segmentBytes);
+            int offset = (int) (start % segmentBytes);
+            WritableSegment segment = segment(index);
+            if (offset + length <= segmentBytes) {
+                segment.write(offset, records, length);
+                break;
+            }
+            int remaining = (int) (segmentBytes - offset);
+            segment.skip(remaining);
+            segment(index + 1).skip(length - remaining);
+        }
+        if (unsyncedRecords.addAndGet(length / JournalRecord.SIZE) >= syncRecords) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private WritableSegment segment(int index) {
+        WritableSegment segment = segments.get(index);
+        return segment != null ? segment : createSegment(index);
+    }
+
+    private synchronized WritableSegment createSegment(int index) {
+        if (index >= MAX_SEGMENTS) {
+            throw new IllegalStateException("주문 저널 세그먼트 수를 초과했습니다: " + index);
+        }
+        WritableSegment segment = segments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+        Path path = directory.resolve(String.format("orders-%08d%s", index, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = new WritableSegment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes), segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.set(index, segment);
+        return segment;
+    }
+
+    private void run() {
+        long nextCompaction = System.nanoTime() + compactionIntervalNanos;
+        while (running) {
+            LockSupport.parkNanos(this, syncIntervalNanos);
+            try {
+                sync();
+                if (System.nanoTime() - nextCompaction >= 0) {
+                    compact();
+                    nextCompaction = System.nanoTime() + compactionIntervalNanos;
+                }
+            } catch (Exception e) {
+                log.error("주문 저널 동기화 중 오류 발생: {}", e.getMessage(), e);
+            }
+        }
+        sync();
+    }
+
+    /**
+     * 열린 세그먼트를 디스크에 동기화하고, 가득 찬 세그먼트는 닫아서 압축 대상으로 넘깁니다.
+     */
+    void sync() {
+        unsyncedRecords.set(0);
+        int current = (int) (position.get() / segmentBytes);
+        while (syncedSegment < current) {
+            WritableSegment segment = segments.get(syncedSegment);
+            if (segment == null || !segment.isFull()) {
+                break; // 예약된 기록이 아직 끝나지 않음
+            }
+            segment.force();
+            segments.set(syncedSegment, null);
+            sealed.add(segment.path());
+            syncedSegment++;
+        }
+        long reserved = position.get();
+        for (int index = syncedSegment; index <= current && index < MAX_SEGMENTS; index++) {
+            WritableSegment segment = segments.get(index);
+            if (segment != null) {
+                segment.forceUpTo((int) Math.min(segmentBytes, reserved - index * segmentBytes));
+            }
+        }
+    }
+
+    /**
+     * 주문이 모두 완료 상태가 된 닫힌 세그먼트를 압축합니다.
+     */
+    void compact() throws IOException {
+        Iterator<Path> iterator = sealed.iterator();
+        while (iterator.hasNext()) {
+            Path path = iterator.next();
+            Long blocker = compactionBlockers.get(path);
+            if (blocker != null && !isTerminal(blocker)) {
+                continue; // 지난번에 완료되지 않았던 주문이 아직 진행 중
+            }
+            if (compact(path)) {
+                iterator.remove();
+                compactionBlockers.remove(path);
+            }
+        }
+    }
+
+    private boolean compact(Path path) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            new JournalReader().read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), new JournalReader.Visitor() {
+                @Override
+                public void onAdd(long id, int status, int quantity, String foodName) {
+                    entries.add(new Entry(id, status, quantity, foodName));
+                }
+
+                @Override
+                public void onStatus(long id, int status) {
+                    entries.add(new Entry(id, status, 0, null));
+                }
+            });
+        }
+
+        Set<Long> added = new HashSet<>();
+        for (Entry entry : entries) {
+            if (entry.isAdd()) {
+                if (!isTerminal(entry.id())) {
+                    compactionBlockers.put(path, entry.id());
+                    return false;
+                }
+                added.add(entry.id());
+            }
+        }
+
+        int done = OrderStatus.DONE.ordinal();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        byte[] buffer = new byte[JournalRecord.SIZE * JournalRecord.addRecords(JournalRecord.MAX_NAME_BYTES)];
+        long kept = 0;
+        try (FileChannel out = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry entry : entries) {
+                int length;
+                if (entry.isAdd()) {
+                    length = JournalRecord.encodeAdd(buffer, entry.id(), done, entry.quantity(),
+                            entry.foodName().getBytes(StandardCharsets.UTF_8));
+                } else if (added.contains(entry.id()) || (entry.status() != done && isTerminal(entry.id()))) {
+                    continue; // 완료 상태 레코드가 따로 있으므로 중간 상태는 필요 없음
+                } else {
+                    length = JournalRecord.encodeStatus(buffer, entry.id(), entry.status());
+                }
+                out.write(ByteBuffer.wrap(buffer, 0, length));
+                kept += length / JournalRecord.SIZE;
+            }
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("주문 저널 세그먼트 압축: {} (레코드 {}건 → {}건)", path.getFileName(), entries.size(), kept);
+        return true;
+    }
+
+    private boolean isTerminal(long id) {
+        Order order = orderStore.get(id);
+        return order != null && OrderStatus.from(order.getStatus()) == OrderStatus.DONE;
+    }
+
+    private byte[] encodeName(String foodName) {
+        String name = foodName != null ? foodName : "";
+        EncodedName cached = lastName.get();
+        if (cached != null && cached.name().equals(name)) {
+            return cached.bytes();
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > JournalRecord.MAX_NAME_BYTES) {
+            bytes = Arrays.copyOf(bytes, JournalRecord.MAX_NAME_BYTES);
+        }
+        lastName.set(new EncodedName(name, bytes));
+        return bytes;
+    }
+
+    private byte[] recordBuffer(int records) {
+        byte[] buffer = recordBuffer.get();
+        if (buffer.length < records * JournalRecord.SIZE) {
+            buffer = new byte[records * JournalRecord.SIZE];
+            recordBuffer.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static int statusOf(Order order) {
+        OrderStatus status = OrderStatus.from(order.getStatus());
+        return status != null ? status.ordinal() : 0;
+    }
+
+    private static int segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring("orders-".length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 쓰기용으로 매핑된 세그먼트. 서로 다른 스레드가 겹치지 않는 영역에 동시에 씁니다.
+     */
+    private static final class WritableSegment {
+
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final long capacity;
+        private final AtomicLong filled = new AtomicLong(); // 기록(또는 건너뛰기)이 끝난 바이트 수
+        private int forced; // 이 위치 앞은 모두 기록되고 동기화됨 (저널 스레드만 사용)
+
+        WritableSegment(Path path, MappedByteBuffer buffer, long capacity) {
+            this.path = path;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        void write(int offset, byte[] records, int length) {
+            buffer.put(offset, records, 0, length);
+            filled.addAndGet(length);
+        }
+
+        void skip(int length) {
+            filled.addAndGet(length);
+        }
+
+        boolean isFull() {
+            return filled.get() >= capacity;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        /**
+         * 마지막 동기화 이후 예약된 구간만 동기화합니다.
+         * 구간 안의 기록이 모두 끝났을 때만 다음 시작 위치를 옮기므로, 늦게 끝난 기록도 다음 번에 다시 포함됩니다.
+         */
+        void forceUpTo(int reserved) {
+            if (reserved <= forced) {
+                return;
+            }
+            buffer.force(forced, reserved - forced);
+            if (filled.get() >= reserved) {
+                forced = reserved;
+            }
+        }
+    }
+
+    private record EncodedName(String name, byte[] bytes) {
+    }
+
+    private record Entry(long id, int status, int quantity, String foodName) {
+
+        boolean isAdd() {
+            return foodName != null;
+        }
+    }
+
+    /**
+     * 재생 중인 주문 상태 - ID가 곧 배열 위치입니다.
+     */
+    private static final class Replay implements JournalReader.Visitor {
+
+        private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+        private String[] names = new String[1024];
+        private int[] quantities = new int[1024];
+        private byte[] statuses = new byte[1024]; // 상태 순서 + 1 (0이면 기록 없음)
+        private int maxId;
+
+        @Override
+        public void onAdd(long id, int status, int quantity, String foodName) {
+            if (ensure(id, status)) {
+                names[(int) id] = foodName;
+                quantities[(int) id] = quantity;
+                advance((int) id, status);
+            }
+        }
+
+        @Override
+        public void onStatus(long id, int status) {
+            if (ensure(id, status)) {
+                advance((int) id, status);
+            }
+        }
+
+        List<Order> orders() {
+            List<Order> orders = new ArrayList<>(maxId);
+            for (int id = 1; id <= maxId; id++) {
+                if (names[id] != null) {
+                    String label = STATUSES[statuses[id] - 1].getLabel();
+                    orders.add(new Order((long) id, names[id], quantities[id], label));
+                }
+            }
+            return orders;
+        }
+
+        private void advance(int id, int status) {
+            statuses[id] = (byte) Math.max(statuses[id], status + 1);
+        }
+
+        private boolean ensure(long id, int status) {
+            if (id < 1 || id >= Integer.MAX_VALUE || status < 0 || status >= STATUSES.length) {
+                return false;
+            }
+            if (id >= names.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(id + 1, (long) names.length * 2));
+                names = Arrays.copyOf(names, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            maxId = (int) Math.max(maxId, id);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.rgt.order_system.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 로그 빈도 제한기 - interval마다 최대 permits건만 기록을 허용하고 나머지는 건수만 셉니다.
+ *
+ * 요청마다 남기던 조회 로그처럼 빈도가 높은 로그에 사용합니다. 허용된 로그에 drainSuppressed()로
+ * 그동안 생략된 건수를 함께 남기면 전체 요청 수를 잃지 않습니다. 락 없이 동작하며, 구간이 바뀌는 순간에는
+ * 경쟁 때문에 permits를 약간 넘을 수 있습니다.
+ */
+public class LogRateLimiter {
+
+    private final int permits;
+    private final long intervalNanos;
+    private final LongSupplier clock;
+    private final AtomicLong windowStart;
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogRateLimiter(int permits, Duration interval) {
+        this(permits, interval, System::nanoTime);
+    }
+
+    LogRateLimiter(int permits, Duration interval, LongSupplier clock) {
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.clock = clock;
+        this.windowStart = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * @return 이번 구간에 기록이 허용되면 true, 아니면 생략 건수를 올리고 false
+     */
+    public boolean tryAcquire() {
+        long now = clock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.get() < permits && used.incrementAndGet() <= permits) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @return 마지막 호출 이후 생략된 로그 수 (호출 시 0으로 초기화)
+     */
+    public long drainSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
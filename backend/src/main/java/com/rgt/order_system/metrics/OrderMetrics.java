@@ -0,0 +1,89 @@
+package com.rgt.order_system.metrics;
+
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 API 지표 - 주문 접수/조회 핸들러의 처리 시간과 저장소 크기
+ *
+ * 핸들러 타이머는 orders.requests 하나에 operation 태그로 구분되며, Prometheus에서
+ * 백분위를 계산할 수 있도록 히스토그램 버킷을 함께 내보냅니다 (/actuator/prometheus).
+ * 브로드캐스트 지연(orders.broadcast.delay)은 OrderBroadcaster가 기록합니다.
+ */
+@Component
+public class OrderMetrics {
+
+    public static final String REQUESTS = "orders.requests";
+
+    private final Timer createOrder;
+    private final Timer handleOrder;
+    private final Timer createOrders;
+    private final Timer handleOrders;
+    private final Timer ordersWithPagination;
+    private final Timer ordersSince;
+
+    public OrderMetrics(MeterRegistry meterRegistry, OrderStore orderStore) {
+        this.createOrder = requestTimer(meterRegistry, "createOrder");
+        this.handleOrder = requestTimer(meterRegistry, "handleOrder");
+        this.createOrders = requestTimer(meterRegistry, "createOrders");
+        this.handleOrders = requestTimer(meterRegistry, "handleOrders");
+        this.ordersWithPagination = requestTimer(meterRegistry, "getOrdersWithPagination");
+        this.ordersSince = requestTimer(meterRegistry, "getOrdersSince");
+        Gauge.builder("orders.store.size", orderStore, OrderStore::size)
+                .description("저장된 주문 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * REST 주문 접수 (POST /api/order)
+     */
+    public Timer createOrder() {
+        return createOrder;
+    }
+
+    /**
+     * STOMP 주문 접수 (/app/order)
+     */
+    public Timer handleOrder() {
+        return handleOrder;
+    }
+
+    /**
+     * REST 일괄 주문 접수 (POST /api/orders/batch)
+     */
+    public Timer createOrders() {
+        return createOrders;
+    }
+
+    /**
+     * STOMP 일괄 주문 접수 (/app/orders/batch)
+     */
+    public Timer handleOrders() {
+        return handleOrders;
+    }
+
+    /**
+     * 최신순 페이지 조회 (GET /api/orders)
+     */
+    public Timer ordersWithPagination() {
+        return ordersWithPagination;
+    }
+
+    /**
+     * 새 주문 조회 (GET /api/orders/since, 롱폴링 제외)
+     */
+    public Timer ordersSince() {
+        return ordersSince;
+    }
+
+    private static Timer requestTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(REQUESTS)
+                .description("주문 API 핸들러 처리 시간")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.rgt.order_system.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 상태 - 접수됨 → 조리중 → 준비완료 → 완료 순서로만 진행됩니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderStatus {
+    RECEIVED("접수됨"),
+    COOKING("조리중"),
+    READY("준비완료"),
+    DONE("완료");
+
+    private final String label; // 화면/응답에 표시되는 상태 값
+
+    /**
+     * 앞 단계로 되돌아가거나 같은 상태로 변경하는 것은 허용되지 않습니다.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return next.ordinal() > ordinal();
+    }
+
+    public boolean isTerminal() {
+        return this == DONE;
+    }
+
+    /**
+     * 상태 이름(RECEIVED) 또는 표시 값(접수됨)으로 상태를 찾습니다.
+     * @return 일치하는 상태, 없으면 null
+     */
+    public static OrderStatus from(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (OrderStatus status : values()) {
+            if (status.name().equalsIgnoreCase(value) || status.label.equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
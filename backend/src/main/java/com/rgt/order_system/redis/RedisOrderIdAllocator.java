@@ -0,0 +1,95 @@
+package com.rgt.order_system.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderIdAllocator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Redis INCR 기반 주문 ID 발급기 (redis 프로필)
+ *
+ * 스크립트 하나로 ID 발급, 정렬 집합 기록, 이벤트 발행을 원자적으로 처리합니다.
+ * 따라서 발급된 ID는 항상 Redis에 기록되어 있고, 다른 노드가 이벤트를 놓쳐도 Redis에서 다시 읽을 수 있습니다.
+ * 여러 건은 INCRBY 한 번으로 연속된 ID 블록을 발급하고 같은 스크립트 안에서 모두 기록합니다.
+ */
+@Profile("redis")
+@Component
+public class RedisOrderIdAllocator implements OrderIdAllocator {
+
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            local id = redis.call('INCR', KEYS[1])
+            local order = cjson.decode(ARGV[1])
+            order['id'] = id
+            local json = cjson.encode(order)
+            redis.call('ZADD', KEYS[2], id, json)
+            redis.call('PUBLISH', KEYS[3], ARGV[2] .. '|' .. json)
+            return id
+            """, Long.class);
+
+    // ARGV[1]: 노드 ID, ARGV[2..]: 주문 JSON
+    private static final RedisScript<Long> ADD_BLOCK_SCRIPT = new DefaultRedisScript<>("""
+            local count = #ARGV - 1
+            local first = redis.call('INCRBY', KEYS[1], count) - count + 1
+            for i = 1, count do
+                local order = cjson.decode(ARGV[i + 1])
+                order['id'] = first + i - 1
+                local json = cjson.encode(order)
+                redis.call('ZADD', KEYS[2], order['id'], json)
+                redis.call('PUBLISH', KEYS[3], ARGV[1] .. '|' .. json)
+            end
+            return first
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisOrderKeys keys;
+
+    public RedisOrderIdAllocator(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, RedisOrderKeys keys) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keys = keys;
+    }
+
+    @Override
+    public long allocate(Order order) {
+        try {
+            String json = objectMapper.writeValueAsString(order);
+            Long id = redisTemplate.execute(ADD_SCRIPT,
+                    List.of(keys.getSequence(), keys.getOrders(), keys.getChannel()),
+                    json, keys.getNodeId());
+            if (id == null) {
+                throw new IllegalStateException("Redis에서 주문 ID를 발급받지 못했습니다.");
+            }
+            return id;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long allocateBlock(List<Order> orders) {
+        try {
+            Object[] args = new Object[orders.size() + 1];
+            args[0] = keys.getNodeId();
+            for (int i = 0; i < orders.size(); i++) {
+                args[i + 1] = objectMapper.writeValueAsString(orders.get(i));
+            }
+            Long firstId = redisTemplate.execute(ADD_BLOCK_SCRIPT,
+                    List.of(keys.getSequence(), keys.getOrders(), keys.getChannel()), args);
+            if (firstId == null) {
+                throw new IllegalStateException("Redis에서 주문 ID 블록을 발급받지 못했습니다.");
+            }
+            return firstId;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.rgt.order_system.redis;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * redis 프로필에서 사용하는 키/채널 이름과 현재 노드 ID
+ *
+ * {prefix}:seq    - 주문 ID 시퀀스 (INCR)
+ * {prefix}:orders - 주문 JSON을 ID 점수로 저장하는 정렬 집합
+ * {prefix}:events - 주문 추가/상태 변경 이벤트 채널 ("노드ID|주문JSON")
+ */
+@Getter
+@Profile("redis")
+@Component
+public class RedisOrderKeys {
+
+    private final String sequence;
+    private final String orders;
+    private final String channel;
+    private final String nodeId;
+
+    public RedisOrderKeys(@Value("${order.redis.key-prefix:orders}") String prefix,
+                          @Value("${order.redis.node-id:${random.uuid}}") String nodeId) {
+        this.sequence = prefix + ":seq";
+        this.orders = prefix + ":orders";
+        this.channel = prefix + ":events";
+        this.nodeId = nodeId;
+    }
+}
@@ -0,0 +1,189 @@
+package com.rgt.order_system.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.OrderStoreListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis pub/sub 주문 이벤트 중계기 (redis 프로필)
+ *
+ * 다른 노드가 발행한 주문 추가/상태 변경을 로컬 OrderStore에 반영합니다. 반영된 변경은 로컬 리스너
+ * (브로드캐스터, 롱폴링)에도 전달되므로, 노드 A에 연결된 클라이언트도 노드 B에서 들어온 주문을 받습니다.
+ * 로컬 상태 변경은 Redis에 기록하고 발행합니다. 주문 추가는 RedisOrderIdAllocator가 이미 발행합니다.
+ *
+ * pub/sub은 전달을 보장하지 않으므로 주기적으로 Redis 시퀀스와 로컬 headId를 비교해,
+ * 놓친 주문을 정렬 집합에서 다시 읽어 옵니다. 기동 시 기존 주문 적재도 같은 경로를 사용합니다.
+ */
+@Slf4j
+@Profile("redis")
+@Component
+public class RedisOrderRelay implements OrderStoreListener, MessageListener {
+
+    private static final int REPAIR_BATCH_SIZE = 10_000;
+
+    // 저장된 상태보다 더 진행된 상태일 때만 기록하고 발행 (ARGV[4..]: 상태 라벨, 진행 순서대로)
+    private static final RedisScript<Long> STATUS_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], ARGV[1])[1]
+            if not current then
+              return 0
+            end
+            local rank = {}
+            for i = 4, #ARGV do
+              rank[ARGV[i]] = i
+            end
+            local order = cjson.decode(current)
+            if (rank[order['status']] or 0) >= rank[ARGV[2]] then
+              return 0
+            end
+            order['status'] = ARGV[2]
+            local json = cjson.encode(order)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], ARGV[1], ARGV[1])
+            redis.call('ZADD', KEYS[1], ARGV[1], json)
+            redis.call('PUBLISH', KEYS[2], ARGV[3] .. '|' .. json)
+            return 1
+            """, Long.class);
+
+    private final OrderStore orderStore;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisOrderKeys keys;
+    private final long repairIntervalMs;
+    private final Object[] statusLabels;
+
+    // 원격 변경을 반영하는 동안 발생한 리스너 호출은 다시 발행하지 않음
+    private final ThreadLocal<Boolean> applyingRemote = ThreadLocal.withInitial(() -> false);
+    private ScheduledExecutorService repairExecutor;
+
+    public RedisOrderRelay(OrderStore orderStore,
+                           StringRedisTemplate redisTemplate,
+                           ObjectMapper objectMapper,
+                           RedisOrderKeys keys,
+                           @Value("${order.redis.repair-interval-ms:1000}") long repairIntervalMs) {
+        this.orderStore = orderStore;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keys = keys;
+        this.repairIntervalMs = repairIntervalMs;
+
+        OrderStatus[] statuses = OrderStatus.values();
+        this.statusLabels = new Object[statuses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            statusLabels[i] = statuses[i].getLabel();
+        }
+        orderStore.addListener(this);
+    }
+
+    @PostConstruct
+    public void start() {
+        repair(); // 기존 주문 적재
+        repairExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-order-repair");
+            thread.setDaemon(true);
+            return thread;
+        });
+        repairExecutor.scheduleWithFixedDelay(this::repairSafely, repairIntervalMs, repairIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Redis 주문 중계 시작: nodeId={}, 적재된 주문={}건", keys.getNodeId(), orderStore.headId());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (repairExecutor != null) {
+            repairExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.startsWith(keys.getNodeId() + "|")) {
+            return; // 형식이 다르거나 이 노드가 발행한 이벤트
+        }
+        try {
+            applyRemote(objectMapper.readValue(body.substring(separator + 1), Order.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Redis 주문 이벤트를 해석하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void statusChanged(Order previous, Order current) {
+        if (applyingRemote.get()) {
+            return;
+        }
+        Object[] args = new Object[3 + statusLabels.length];
+        args[0] = String.valueOf(current.getId());
+        args[1] = current.getStatus();
+        args[2] = keys.getNodeId();
+        System.arraycopy(statusLabels, 0, args, 3, statusLabels.length);
+        redisTemplate.execute(STATUS_SCRIPT, List.of(keys.getOrders(), keys.getChannel()), args);
+    }
+
+    /**
+     * Redis 시퀀스까지 로컬에 없는 주문을 정렬 집합에서 읽어 반영합니다.
+     */
+    void repair() {
+        String sequence = redisTemplate.opsForValue().get(keys.getSequence());
+        long last = sequence != null ? Long.parseLong(sequence) : 0;
+        long head;
+        while ((head = orderStore.headId()) < last) {
+            Set<String> missing = redisTemplate.opsForZSet()
+                    .rangeByScore(keys.getOrders(), head + 1, last, 0, REPAIR_BATCH_SIZE);
+            if (missing == null || missing.isEmpty()) {
+                return;
+            }
+            List<Order> orders = new ArrayList<>(missing.size());
+            for (String json : missing) {
+                try {
+                    orders.add(objectMapper.readValue(json, Order.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Redis에 저장된 주문을 해석하지 못했습니다: {}", e.getMessage());
+                }
+            }
+            orders.forEach(this::applyRemote);
+            if (orderStore.headId() == head) {
+                return; // 더 진행되지 않으면 다음 주기에 다시 시도
+            }
+        }
+    }
+
+    private void repairSafely() {
+        try {
+            repair();
+        } catch (Exception e) {
+            log.warn("Redis 주문 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    private void applyRemote(Order order) {
+        applyingRemote.set(true);
+        try {
+            orderStore.applyRemote(order);
+        } finally {
+            applyingRemote.set(false);
+        }
+    }
+}
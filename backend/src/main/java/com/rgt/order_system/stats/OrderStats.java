@@ -0,0 +1,20 @@
+package com.rgt.order_system.stats;
+
+import java.util.Map;
+
+/**
+ * 주문 집계 스냅샷 (GET /api/stats, /topic/stats)
+ * @param timestamp 집계 시각 (epoch ms)
+ * @param totalOrders 전체 주문 수
+ * @param byStatus 상태 이름(RECEIVED, COOKING, READY, DONE)별 현재 주문 수
+ * @param byFood 음식 이름별 누적 주문 수
+ * @param ordersPerMinute 최근 1분 동안 접수된 주문 수
+ * @param completedPerMinute 최근 1분 동안 완료된 주문 수
+ */
+public record OrderStats(long timestamp,
+                         long totalOrders,
+                         Map<String, Long> byStatus,
+                         Map<String, Long> byFood,
+                         long ordersPerMinute,
+                         long completedPerMinute) {
+}
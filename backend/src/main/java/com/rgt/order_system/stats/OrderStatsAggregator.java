@@ -0,0 +1,196 @@
+package com.rgt.order_system.stats;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.OrderStoreListener;
+import com.rgt.order_system.websocket.SubscriptionIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 실시간 주문 집계 - 음식별/상태별 주문 수와 최근 1분 처리량
+ *
+ * 저장소 리스너로 주문 접수/상태 변경마다 LongAdder만 증가시키므로 요청 스레드끼리 경합하지 않습니다.
+ * 처리량은 1초 단위 60칸 링(RateWindow)에 기록합니다.
+ *
+ * push-interval-ms마다 집계 스냅샷을 한 번 만들어 /topic/stats로 전송하고(구독자가 있을 때만),
+ * GET /api/stats는 마지막 스냅샷을 그대로 반환하므로 주문 수와 관계없이 O(1)입니다 (최대 push-interval-ms 이전 값).
+ * redis 프로필에서는 다른 노드의 주문도 applyRemote로 리스너에 전달되므로 모든 노드의 집계가 같습니다.
+ */
+@Slf4j
+@Component
+public class OrderStatsAggregator implements OrderStoreListener {
+
+    public static final String STATS_DESTINATION = "/topic/stats";
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int RATE_BUCKETS = 60;
+    private static final long RATE_BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionIndex subscriptionIndex;
+    private final long pushIntervalMs;
+    private final LongSupplier clock;
+
+    private final LongAdder totalOrders = new LongAdder();
+    private final LongAdder[] byStatus = new LongAdder[STATUSES.length];
+    private final Map<String, LongAdder> byFood = new ConcurrentHashMap<>();
+    private final RateWindow created = new RateWindow(RATE_BUCKETS, RATE_BUCKET_NANOS);
+    private final RateWindow completed = new RateWindow(RATE_BUCKETS, RATE_BUCKET_NANOS);
+
+    private volatile OrderStats current;
+    private ScheduledExecutorService pushExecutor;
+
+    @Autowired
+    public OrderStatsAggregator(OrderStore orderStore,
+                                SimpMessagingTemplate messagingTemplate,
+                                SubscriptionIndex subscriptionIndex,
+                                @Value("${order.stats.push-interval-ms:1000}") long pushIntervalMs) {
+        this(orderStore, messagingTemplate, subscriptionIndex, pushIntervalMs, System::nanoTime);
+    }
+
+    OrderStatsAggregator(OrderStore orderStore, SimpMessagingTemplate messagingTemplate,
+                         SubscriptionIndex subscriptionIndex, long pushIntervalMs, LongSupplier clock) {
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionIndex = subscriptionIndex;
+        this.pushIntervalMs = pushIntervalMs;
+        this.clock = clock;
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new LongAdder();
+        }
+        this.current = snapshot();
+        orderStore.addListener(this);
+    }
+
+    @PostConstruct
+    public void start() {
+        refresh(); // 저널에서 복구된 주문 반영
+        pushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pushExecutor.scheduleAtFixedRate(this::publishSafely, pushIntervalMs, pushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pushExecutor != null) {
+            pushExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return 마지막으로 만든 집계 스냅샷
+     */
+    public OrderStats current() {
+        return current;
+    }
+
+    @Override
+    public void orderAdded(Order order) {
+        countNew(order);
+        created.record(1, clock.getAsLong());
+    }
+
+    @Override
+    public void ordersAdded(List<Order> orders) {
+        for (Order order : orders) {
+            countNew(order);
+        }
+        created.record(orders.size(), clock.getAsLong());
+    }
+
+    @Override
+    public void statusChanged(Order previous, Order current) {
+        OrderStatus from = OrderStatus.from(previous.getStatus());
+        OrderStatus to = OrderStatus.from(current.getStatus());
+        if (from != null) {
+            byStatus[from.ordinal()].decrement();
+        }
+        if (to != null) {
+            byStatus[to.ordinal()].increment();
+            if (to.isTerminal()) {
+                completed.record(1, clock.getAsLong());
+            }
+        }
+    }
+
+    @Override
+    public void orderRestored(Order order) {
+        countNew(order);
+    }
+
+    /**
+     * 집계 스냅샷을 다시 만듭니다. 상태 목록과 음식 종류 수만큼의 비용이며 주문 수와 무관합니다.
+     */
+    OrderStats refresh() {
+        OrderStats stats = snapshot();
+        current = stats;
+        return stats;
+    }
+
+    /**
+     * 스냅샷을 다시 만들고 구독자가 있으면 /topic/stats로 전송합니다.
+     */
+    void publish() {
+        OrderStats stats = refresh();
+        if (subscriptionIndex.hasSubscribers(STATS_DESTINATION)) {
+            messagingTemplate.convertAndSend(STATS_DESTINATION, stats);
+        }
+    }
+
+    // 예외가 나면 이후 실행이 취소되므로 삼킴
+    private void publishSafely() {
+        try {
+            publish();
+        } catch (RuntimeException e) {
+            log.warn("주문 집계 전송 실패: {}", e.getMessage());
+        }
+    }
+
+    private void countNew(Order order) {
+        totalOrders.increment();
+        OrderStatus status = OrderStatus.from(order.getStatus());
+        byStatus[(status != null ? status : OrderStatus.RECEIVED).ordinal()].increment();
+        String foodName = order.getFoodName();
+        if (foodName != null) {
+            LongAdder count = byFood.get(foodName);
+            if (count == null) {
+                count = byFood.computeIfAbsent(foodName, key -> new LongAdder());
+            }
+            count.increment();
+        }
+    }
+
+    private OrderStats snapshot() {
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        for (OrderStatus status : STATUSES) {
+            statusCounts.put(status.name(), byStatus[status.ordinal()].sum());
+        }
+
+        Map<String, Long> foodCounts = new TreeMap<>();
+        byFood.forEach((foodName, count) -> foodCounts.put(foodName, count.sum()));
+
+        long now = clock.getAsLong();
+        return new OrderStats(System.currentTimeMillis(), totalOrders.sum(), statusCounts, foodCounts,
+                created.sum(now), completed.sum(now));
+    }
+}
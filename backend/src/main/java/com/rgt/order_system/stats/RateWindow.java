@@ -0,0 +1,67 @@
+package com.rgt.order_system.stats;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시간 구간 링 - 최근 buckets × bucketNanos 동안의 발생 수 (슬라이딩 윈도)
+ *
+ * 구간마다 LongAdder 하나를 두고, 링을 한 바퀴 돌아 다시 쓰게 된 칸은 새 구간으로 교체합니다.
+ * 기록은 구간 확인과 LongAdder 증가뿐이라 락이 없고, 합계는 칸 수만큼만 읽습니다.
+ */
+final class RateWindow {
+
+    private final long bucketNanos;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    RateWindow(int buckets, long bucketNanos) {
+        this.bucketNanos = bucketNanos;
+        this.buckets = new AtomicReferenceArray<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            this.buckets.set(i, new Bucket(Long.MIN_VALUE));
+        }
+    }
+
+    void record(long count, long now) {
+        long slot = now / bucketNanos;
+        int index = (int) Math.floorMod(slot, (long) buckets.length());
+        Bucket bucket = buckets.get(index);
+        if (bucket.slot != slot) {
+            if (bucket.slot > slot) {
+                return; // 한 바퀴 이상 지난 시각 (기록 지연)
+            }
+            Bucket fresh = new Bucket(slot);
+            bucket = buckets.compareAndSet(index, bucket, fresh) ? fresh : buckets.get(index);
+            if (bucket.slot != slot) {
+                return;
+            }
+        }
+        bucket.count.add(count);
+    }
+
+    /**
+     * @return now가 속한 구간을 포함한 최근 buckets개 구간의 합계
+     */
+    long sum(long now) {
+        long slot = now / bucketNanos;
+        long oldest = slot - buckets.length();
+        long sum = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket.slot > oldest && bucket.slot <= slot) {
+                sum += bucket.count.sum();
+            }
+        }
+        return sum;
+    }
+
+    private static final class Bucket {
+
+        private final long slot;
+        private final LongAdder count = new LongAdder();
+
+        private Bucket(long slot) {
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.rgt.order_system.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 주문 저장소의 콜드 계층 - 완료된 세그먼트를 세그먼트마다 압축 파일 하나로 보관합니다.
+ *
+ * 파일은 열 단위(상태 1바이트, 음식 이름 코드, 수량)로 기록해 같은 값이 이어지도록 하므로 압축이 잘 됩니다.
+ * 음식 이름은 저장소의 NameDictionary 코드 그대로이므로 파일은 이 프로세스 안에서만 유효합니다.
+ * 사전에 없는 이름(원문 열)은 세 열 뒤에 (위치, 원문) 쌍으로 덧붙입니다.
+ * 읽을 때는 세그먼트 전체를 풀어 최근에 읽은 CACHED_SEGMENTS개만 메모리에 둡니다.
+ */
+final class ColdSegments {
+
+    private static final int CACHED_SEGMENTS = 4;
+
+    private final Path directory;
+    private final Set<Integer> stored = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, OrderStore.Segment> cache = new LinkedHashMap<>(CACHED_SEGMENTS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, OrderStore.Segment> eldest) {
+            return size() > CACHED_SEGMENTS;
+        }
+    };
+
+    ColdSegments(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * 세그먼트를 파일로 기록합니다. 다 쓴 뒤 이름을 바꿔 공개하므로 읽는 쪽이 쓰는 중인 파일을 보지 않습니다.
+     */
+    void write(int index, OrderStore.Segment segment) throws IOException {
+        Path temp = directory.resolve(fileName(index) + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp))))) {
+            int size = segment.quantities.length;
+            for (int offset = 0; offset < size; offset++) {
+                out.writeByte(segment.states.get(offset));
+            }
+            for (int offset = 0; offset < size; offset++) {
+                out.writeInt(segment.foodNames[offset]);
+            }
+            for (int offset = 0; offset < size; offset++) {
+                out.writeInt(segment.quantities[offset]);
+            }
+            writeRawNames(out, segment);
+        }
+        Files.move(temp, directory.resolve(fileName(index)), StandardCopyOption.ATOMIC_MOVE);
+        stored.add(index);
+    }
+
+    boolean contains(int index) {
+        return stored.contains(index);
+    }
+
+    /**
+     * @return 보관된 세그먼트 (읽기 전용), 보관되지 않은 세그먼트면 null
+     */
+    OrderStore.Segment read(int index) {
+        if (!stored.contains(index)) {
+            return null;
+        }
+        synchronized (cache) {
+            OrderStore.Segment cached = cache.get(index);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        OrderStore.Segment segment = load(index);
+        synchronized (cache) {
+            cache.put(index, segment);
+        }
+        return segment;
+    }
+
+    int size() {
+        return stored.size();
+    }
+
+    /**
+     * 보관된 파일을 모두 지웁니다 (종료 시).
+     */
+    void delete() throws IOException {
+        for (int index : stored) {
+            Files.deleteIfExists(directory.resolve(fileName(index)));
+        }
+        stored.clear();
+        synchronized (cache) {
+            cache.clear();
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private OrderStore.Segment load(int index) {
+        int size = OrderStore.SEGMENT_SIZE;
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new BufferedInputStream(Files.newInputStream(directory.resolve(fileName(index))))))) {
+            int[] states = new int[size];
+            int[] foodNames = new int[size];
+            int[] quantities = new int[size];
+            for (int offset = 0; offset < size; offset++) {
+                states[offset] = in.readUnsignedByte();
+            }
+            for (int offset = 0; offset < size; offset++) {
+                foodNames[offset] = in.readInt();
+            }
+            for (int offset = 0; offset < size; offset++) {
+                quantities[offset] = in.readInt();
+            }
+            return new OrderStore.Segment(new AtomicIntegerArray(states), foodNames, quantities, readRawNames(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("콜드 세그먼트를 읽지 못했습니다: " + index, e);
+        }
+    }
+
+    private static void writeRawNames(DataOutputStream out, OrderStore.Segment segment) throws IOException {
+        String[] rawNames = segment.rawNames;
+        int count = 0;
+        if (rawNames != null) {
+            for (String name : rawNames) {
+                if (name != null) {
+                    count++;
+                }
+            }
+        }
+        out.writeInt(count);
+        if (count == 0) {
+            return;
+        }
+        for (int offset = 0; offset < rawNames.length; offset++) {
+            if (rawNames[offset] != null) {
+                byte[] bytes = rawNames[offset].getBytes(StandardCharsets.UTF_8);
+                out.writeInt(offset);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * @return 원문 열, 사전에 없는 이름이 하나도 없었으면 null
+     */
+    private static String[] readRawNames(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count == 0) {
+            return null;
+        }
+        String[] rawNames = new String[OrderStore.SEGMENT_SIZE];
+        for (int i = 0; i < count; i++) {
+            int offset = in.readInt();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            rawNames[offset] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return rawNames;
+    }
+
+    private static String fileName(int index) {
+        return String.format("segment-%05d.cold", index);
+    }
+}
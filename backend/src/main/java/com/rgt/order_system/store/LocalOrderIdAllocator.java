@@ -0,0 +1,29 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단일 노드용 ID 발급기 - AtomicLong 하나로 단조 증가하는 ID를 발급합니다.
+ */
+public class LocalOrderIdAllocator implements OrderIdAllocator {
+
+    private final AtomicLong orderIdGenerator = new AtomicLong(1);
+
+    @Override
+    public long allocate(Order order) {
+        return orderIdGenerator.getAndIncrement();
+    }
+
+    @Override
+    public long allocateBlock(List<Order> orders) {
+        return orderIdGenerator.getAndAdd(orders.size());
+    }
+
+    @Override
+    public void observe(long id) {
+        orderIdGenerator.accumulateAndGet(id + 1, Math::max);
+    }
+}
@@ -0,0 +1,94 @@
+package com.rgt.order_system.store;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 음식 이름 사전 - 같은 이름을 정수 코드 하나로 바꿔 저장합니다.
+ *
+ * 요청마다 역직렬화된 같은 메뉴 이름 문자열을 주문마다 보관하지 않고, 처음 들어온 문자열 하나만 남깁니다.
+ * 코드 0은 null이며, 한 번 발급된 코드는 바뀌지 않습니다. 조회는 락 없이, 새 이름 등록만 잠금으로 처리합니다.
+ *
+ * 음식 이름은 자유 입력이고 등록된 이름은 지워지지 않으므로, 사전은 이름 MAX_NAMES개, 길이 MAX_NAME_LENGTH자까지만 받습니다.
+ * 그 밖의 이름은 UNREGISTERED를 돌려주며, 저장소가 원문을 주문과 함께 보관합니다.
+ */
+final class NameDictionary {
+
+    static final int UNREGISTERED = -1;
+    static final int MAX_NAMES = 4096;
+    static final int MAX_NAME_LENGTH = 64;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[INITIAL_CAPACITY]; // names[0] = null
+    private int size = 1; // register에서만 변경
+    private volatile boolean full; // 가득 찬 뒤에는 새 이름마다 잠그지 않음
+    private final int maxNames;
+
+    NameDictionary() {
+        this(MAX_NAMES);
+    }
+
+    NameDictionary(int maxNames) {
+        this.maxNames = maxNames;
+    }
+
+    /**
+     * @return 이름의 코드 (처음 보는 이름이면 새로 등록), 사전에 넣을 수 없는 이름이면 UNREGISTERED
+     */
+    int encode(String name) {
+        if (name == null) {
+            return 0;
+        }
+        Integer code = codes.get(name);
+        if (code != null) {
+            return code;
+        }
+        return name.length() <= MAX_NAME_LENGTH && !full ? register(name) : UNREGISTERED;
+    }
+
+    /**
+     * 등록하지 않고 코드만 찾습니다 (조회 조건용).
+     * @return 이름의 코드, 등록되지 않은 이름이면 UNREGISTERED
+     */
+    int find(String name) {
+        if (name == null) {
+            return 0;
+        }
+        Integer code = codes.get(name);
+        return code != null ? code : UNREGISTERED;
+    }
+
+    /**
+     * @return 코드에 해당하는 이름 (같은 코드는 항상 같은 String 인스턴스)
+     */
+    String decode(int code) {
+        return names[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    private synchronized int register(String name) {
+        Integer existing = codes.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        if (size > maxNames) {
+            full = true;
+            return UNREGISTERED;
+        }
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        int code = size++;
+        current[code] = name;
+        names = current; // 코드를 공개하기 전에 배열을 발행
+        codes.put(name, code);
+        return code;
+    }
+}
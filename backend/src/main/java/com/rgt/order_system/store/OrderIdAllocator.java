@@ -0,0 +1,34 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+
+import java.util.List;
+
+/**
+ * 주문 ID 발급기
+ *
+ * 기본 구현은 JVM 안의 AtomicLong이며, redis 프로필에서는 여러 노드가 함께 쓰는 Redis INCR로 대체됩니다.
+ * 분산 구현은 ID 발급과 주문 기록을 원자적으로 처리해야 합니다. 발급만 되고 기록되지 않은 ID가 생기면
+ * 다른 노드의 headId가 그 ID에서 멈춥니다.
+ */
+public interface OrderIdAllocator {
+
+    /**
+     * @param order ID가 아직 없는 새 주문 (상태는 접수됨으로 설정되어 있음)
+     * @return 새 주문 ID (1부터 시작)
+     */
+    long allocate(Order order);
+
+    /**
+     * 주문 여러 건에 연속된 ID 블록을 한 번에 발급합니다.
+     * @param orders ID가 아직 없는 새 주문 목록 (순서대로 첫 ID, 첫 ID + 1, ... 을 받음)
+     * @return 블록의 첫 ID
+     */
+    long allocateBlock(List<Order> orders);
+
+    /**
+     * 저널 복구 등으로 이미 사용된 ID를 알립니다. 이후 발급되는 ID는 이 ID보다 커야 합니다.
+     */
+    default void observe(long id) {
+    }
+}
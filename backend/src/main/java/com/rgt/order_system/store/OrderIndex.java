@@ -0,0 +1,162 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.OrderStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.rgt.order_system.store.OrderStore.SEGMENT_SHIFT;
+import static com.rgt.order_system.store.OrderStore.SEGMENT_SIZE;
+
+/**
+ * 주문 보조 색인 - 저장소 세그먼트마다 상태별, 음식 이름별 비트맵(주문당 1비트)을 둡니다.
+ *
+ * 저장소가 주문을 추가하거나 상태를 바꿀 때 해당 비트만 켜고 끄므로 갱신은 상수 시간이고 락이 없습니다.
+ * 조건 조회는 비트맵 워드를 최신 ID부터 AND 하며 켜진 비트만 찾아가므로, 전체 주문을 읽지 않고
+ * 결과 수에 비례해 읽습니다 (조건에 맞는 주문이 없는 워드/세그먼트는 한 번에 건너뜀).
+ * 세그먼트당 상태 비트맵은 8KB, 음식 이름 비트맵은 그 세그먼트에 나온 메뉴마다 2KB입니다.
+ * 사전에 등록되지 않은 이름은 모두 NameDictionary.UNREGISTERED 비트맵 하나에 모이므로, 저장소가 이름을 다시 비교합니다.
+ *
+ * 상태는 앞으로만 진행되므로, 상태 변경은 새 상태 비트를 켠 뒤 이전 상태 비트를 끕니다.
+ * 같은 주문의 연속된 변경이 서로 다른 스레드에서 겹치면 이전 상태 비트가 늦게 켜져 남을 수 있지만(거짓 양성),
+ * 현재 상태 비트는 상태를 바꾼 스레드가 반드시 켜므로 빠지는 주문은 없습니다.
+ * 저장소는 조회 시 후보의 실제 상태를 확인하고, 남은 비트는 그때 지웁니다(clearStatus).
+ *
+ * 콜드 계층으로 옮긴 세그먼트는 색인에서 빠집니다.
+ */
+final class OrderIndex {
+
+    static final int ANY_FOOD = -2; // NameDictionary.UNREGISTERED(-1)는 사전 밖 이름의 비트맵
+
+    private static final int WORDS = SEGMENT_SIZE >>> 6;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final AtomicReferenceArray<SegmentIndex> segments;
+
+    OrderIndex(int maxSegments) {
+        this.segments = new AtomicReferenceArray<>(maxSegments);
+    }
+
+    /**
+     * 새 주문을 색인에 넣습니다. 저장소가 슬롯을 공개하기 전(headId 전진 전)에 호출합니다.
+     * @param foodName 음식 이름 코드 (NameDictionary)
+     */
+    void added(long id, int foodName, OrderStatus status) {
+        SegmentIndex segment = segmentFor(id);
+        int offset = offset(id);
+        set(segment.foodBits(foodName), offset);
+        set(segment.byStatus[status.ordinal()], offset);
+    }
+
+    /**
+     * 상태 변경을 반영합니다. 저장소의 상태 compare-and-set이 성공한 스레드가 호출합니다.
+     */
+    void statusChanged(long id, OrderStatus previous, OrderStatus current) {
+        SegmentIndex segment = segmentFor(id); // applyRemote에서는 추가한 스레드의 added보다 먼저 올 수 있음
+        int offset = offset(id);
+        set(segment.byStatus[current.ordinal()], offset); // 끄기 전에 켜야 조회에서 빠지는 순간이 없음
+        clear(segment.byStatus[previous.ordinal()], offset);
+    }
+
+    /**
+     * 이미 지나간 상태의 남은 비트를 지웁니다. 상태는 되돌아가지 않으므로 다시 켜질 일이 없습니다.
+     */
+    void clearStatus(long id, OrderStatus stale) {
+        SegmentIndex segment = segments.get(segmentIndex(id));
+        if (segment != null) {
+            clear(segment.byStatus[stale.ordinal()], offset(id));
+        }
+    }
+
+    /**
+     * 콜드 계층으로 옮긴 세그먼트의 색인을 놓습니다.
+     */
+    void evicted(int segmentIndex) {
+        segments.set(segmentIndex, null);
+    }
+
+    /**
+     * fromId 이하에서 조건에 맞는 가장 큰 주문 ID를 찾습니다.
+     * 상태 비트는 거짓 양성이 있을 수 있으므로 호출자가 실제 상태를 확인해야 합니다.
+     * @param status 상태 조건, null이면 모든 상태
+     * @param foodName 음식 이름 코드, ANY_FOOD면 모든 음식
+     * @return 주문 ID, 없으면 0
+     */
+    long previous(long fromId, OrderStatus status, int foodName) {
+        long id = fromId;
+        while (id >= 1) {
+            int index = segmentIndex(id);
+            long base = (long) index << SEGMENT_SHIFT; // 이 세그먼트 첫 주문 ID - 1
+            SegmentIndex segment = segments.get(index);
+            AtomicLongArray foodBits = segment == null || foodName == ANY_FOOD ? null : segment.byFood.get(foodName);
+            if (segment != null && (foodName == ANY_FOOD || foodBits != null)) {
+                AtomicLongArray statusBits = status != null ? segment.byStatus[status.ordinal()] : null;
+                int offset = offset(id);
+                long mask = -1L >>> (63 - (offset & 63)); // 첫 워드는 offset 이하 비트만
+                for (int word = offset >>> 6; word >= 0; word--, mask = -1L) {
+                    long bits = mask;
+                    if (statusBits != null) {
+                        bits &= statusBits.get(word);
+                    }
+                    if (foodBits != null) {
+                        bits &= foodBits.get(word);
+                    }
+                    if (bits != 0) {
+                        return base + ((long) word << 6) + (63 - Long.numberOfLeadingZeros(bits)) + 1;
+                    }
+                }
+            }
+            id = base; // 이전 세그먼트의 마지막 ID
+        }
+        return 0;
+    }
+
+    private SegmentIndex segmentFor(long id) {
+        int index = segmentIndex(id);
+        SegmentIndex segment = segments.get(index);
+        if (segment == null) {
+            segments.compareAndSet(index, null, new SegmentIndex());
+            segment = segments.get(index);
+        }
+        return segment;
+    }
+
+    private static void set(AtomicLongArray bits, int offset) {
+        long mask = 1L << offset; // 시프트 거리는 하위 6비트만 사용
+        bits.getAndAccumulate(offset >>> 6, mask, (word, m) -> word | m);
+    }
+
+    private static void clear(AtomicLongArray bits, int offset) {
+        long mask = 1L << offset;
+        bits.getAndAccumulate(offset >>> 6, mask, (word, m) -> word & ~m);
+    }
+
+    private static int segmentIndex(long id) {
+        return (int) ((id - 1) >>> SEGMENT_SHIFT);
+    }
+
+    private static int offset(long id) {
+        return (int) ((id - 1) & (SEGMENT_SIZE - 1));
+    }
+
+    /**
+     * 세그먼트 하나(SEGMENT_SIZE건)의 비트맵
+     */
+    private static final class SegmentIndex {
+        final AtomicLongArray[] byStatus = new AtomicLongArray[STATUSES.length];
+        final Map<Integer, AtomicLongArray> byFood = new ConcurrentHashMap<>();
+
+        SegmentIndex() {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new AtomicLongArray(WORDS);
+            }
+        }
+
+        AtomicLongArray foodBits(int foodName) {
+            AtomicLongArray bits = byFood.get(foodName);
+            return bits != null ? bits : byFood.computeIfAbsent(foodName, key -> new AtomicLongArray(WORDS));
+        }
+    }
+}
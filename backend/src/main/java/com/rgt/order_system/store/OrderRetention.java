@@ -0,0 +1,100 @@
+package com.rgt.order_system.store;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 보관 정책 - 진행 중인 주문과 최근 완료 주문 hot-completed건은 메모리에, 그보다 오래된 완료 주문은 디스크에
+ *
+ * interval-ms마다 OrderStore.evictCompleted로 모두 완료된 세그먼트(16,384건 단위)를 압축 파일로 옮깁니다.
+ * 옮긴 주문도 페이지/ID 조회와 전체 조회에서 그대로 읽히며, 필요할 때 세그먼트 단위로 풀어서 읽습니다.
+ * 하루 종일 주문을 받아도 힙에는 진행 중인 주문이 있는 세그먼트와 최근 완료 주문만 남습니다.
+ *
+ * 파일은 cold-dir 아래 실행마다 새로 만든 디렉터리에 두고 종료 시 지웁니다.
+ * 음식 이름 코드가 프로세스 안에서만 유효하므로 재시작 후에는 journal 프로필의 저널에서 다시 복구합니다.
+ */
+@Slf4j
+@Component
+public class OrderRetention {
+
+    private final OrderStore orderStore;
+    private final long hotCompleted;
+    private final Path coldDirectory;
+    private final long intervalMs;
+    private final MeterRegistry meterRegistry;
+
+    private ColdSegments coldSegments;
+    private ScheduledExecutorService retentionExecutor;
+
+    public OrderRetention(OrderStore orderStore,
+                          @Value("${order.retention.hot-completed:100000}") long hotCompleted,
+                          @Value("${order.retention.cold-dir:${java.io.tmpdir}}") String coldDirectory,
+                          @Value("${order.retention.interval-ms:10000}") long intervalMs,
+                          MeterRegistry meterRegistry) {
+        this.orderStore = orderStore;
+        this.hotCompleted = hotCompleted;
+        this.coldDirectory = Path.of(coldDirectory);
+        this.intervalMs = intervalMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(coldDirectory);
+        coldSegments = new ColdSegments(Files.createTempDirectory(coldDirectory, "order-cold-"));
+        orderStore.attachColdTier(coldSegments);
+        Gauge.builder("orders.store.cold.segments", coldSegments, ColdSegments::size)
+                .description("디스크로 옮겨진 주문 세그먼트 수 (세그먼트당 16,384건)")
+                .register(meterRegistry);
+
+        retentionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        retentionExecutor.scheduleWithFixedDelay(this::evictSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (retentionExecutor == null) {
+            return;
+        }
+        retentionExecutor.shutdownNow();
+        retentionExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        coldSegments.delete();
+    }
+
+    /**
+     * 보관 경계를 넘은 완료 세그먼트를 디스크로 옮깁니다.
+     * @return 옮긴 세그먼트 수
+     */
+    public int evict() throws IOException {
+        int evicted = orderStore.evictCompleted(hotCompleted);
+        if (evicted > 0) {
+            log.info("완료된 주문 세그먼트를 디스크로 옮겼습니다: {}개 (누적 {}개)", evicted, coldSegments.size());
+        }
+        return evicted;
+    }
+
+    // 예외가 나면 이후 실행이 취소되므로 삼킴. 옮기지 못한 세그먼트는 메모리에 남아 다음 실행에서 다시 시도
+    private void evictSafely() {
+        try {
+            evict();
+        } catch (IOException | RuntimeException e) {
+            log.warn("주문 세그먼트를 디스크로 옮기지 못했습니다: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 단일 기록 스레드 주문 처리기 (sequencer 프로필) - 링 버퍼 기반, 디스럽터 방식
+ *
+ * 기본 경로에서는 요청 스레드(Tomcat, STOMP inbound)가 저장소에 직접 기록하므로 ID 발급과 headId 전진에서 서로 경쟁하고,
+ * 리스너(브로드캐스트, 저널) 호출 순서가 ID 순서와 다를 수 있습니다. 이 프로필에서는 OrderStore의 add/addAll/updateStatus가
+ * 링 버퍼에 이벤트를 넣기만 하고, 전용 스레드 하나가 순서대로 꺼내 저장소에 반영합니다.
+ * - 요청 스레드는 AtomicLong 하나로 슬롯 순번을 받아 슬롯을 채운 뒤 순번을 발행합니다 (락 없음).
+ * - 처리 스레드는 발행된 슬롯을 연속된 만큼(max-batch-size까지) 한 번에 꺼내며, 이어진 단건 접수는 addAll 한 번으로 합쳐
+ *   ID 블록을 한 번에 발급받습니다. ID 발급, 상태 변경, 리스너 호출이 모두 이 스레드에서 일어나므로 순서가 전체적으로 정해지고
+ *   브로드캐스트 순서가 ID/처리 순서와 같습니다.
+ * - 요청 스레드는 자기 이벤트가 반영될 때까지 기다렸다가 결과(ID가 채워진 주문, 상태 변경 결과)를 받습니다.
+ *   버퍼가 가득 차면 처리 스레드가 슬롯을 비울 때까지 기다립니다.
+ *
+ * 다른 노드 변경 반영(applyRemote)과 저널 복구(restore)는 이 처리기를 거치지 않습니다.
+ */
+@Slf4j
+@Component
+@Profile("sequencer")
+public class OrderSequencer {
+
+    private static final int ADD = 0;
+    private static final int ADD_ALL = 1;
+    private static final int UPDATE_STATUS = 2;
+
+    // 기다리는 단계: 바쁜 대기 → yield → park. 코어가 하나면 바쁜 대기 동안 상대 스레드가 실행될 수 없으므로 건너뜀
+    private static final int SPIN_TRIES = Runtime.getRuntime().availableProcessors() > 1 ? 200 : 0;
+    private static final int YIELD_TRIES = 50;
+    private static final long PARK_NANOS = 1_000_000;
+
+    private final OrderStore orderStore;
+    private final int maxBatchSize;
+    private final MeterRegistry meterRegistry;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLongArray published; // 슬롯별로 마지막으로 발행된 순번
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final List<Slot> pendingAdds = new ArrayList<>(); // 처리 스레드 전용
+    private volatile long processed = -1; // 처리 스레드만 변경
+
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+    private Thread consumer;
+
+    public OrderSequencer(OrderStore orderStore,
+                          @Value("${order.sequencer.buffer-size:65536}") int bufferSize,
+                          @Value("${order.sequencer.max-batch-size:256}") int maxBatchSize,
+                          MeterRegistry meterRegistry) {
+        this.orderStore = orderStore;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.meterRegistry = meterRegistry;
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        consumer = new Thread(this::consume, "order-sequencer");
+        consumer.setDaemon(true);
+        consumer.start();
+        orderStore.attachSequencer(this);
+        Gauge.builder("orders.sequencer.backlog", this, OrderSequencer::backlog)
+                .description("처리 스레드가 아직 반영하지 않은 주문 이벤트 수")
+                .register(meterRegistry);
+        log.info("단일 기록 스레드 주문 처리기 시작: 버퍼 {}, 최대 묶음 {}", slots.length, maxBatchSize);
+    }
+
+    /**
+     * 새 요청은 저장소에 직접 기록하도록 되돌리고, 이미 들어온 이벤트를 처리한 뒤 스레드를 멈춥니다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (consumer == null) {
+            return;
+        }
+        orderStore.attachSequencer(null);
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(1000);
+    }
+
+    /**
+     * @return 처리 스레드가 아직 반영하지 않은 이벤트 수
+     */
+    public long backlog() {
+        return nextSequence.get() - 1 - processed;
+    }
+
+    /**
+     * @return 현재 스레드가 처리 스레드면 true (리스너 안에서의 기록은 저장소에 바로 반영)
+     */
+    boolean isWriterThread() {
+        return Thread.currentThread() == consumer;
+    }
+
+    Order add(Order order) {
+        return (Order) publish(ADD, order, null, 0, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Order> addAll(List<Order> orders) {
+        return (List<Order>) publish(ADD_ALL, null, orders, 0, null);
+    }
+
+    StatusUpdate updateStatus(long id, OrderStatus next) {
+        return (StatusUpdate) publish(UPDATE_STATUS, null, null, id, next);
+    }
+
+    private Object publish(int type, Order order, List<Order> orders, long id, OrderStatus status) {
+        if (!running) {
+            throw new IllegalStateException("주문 처리기가 종료되었습니다");
+        }
+        long sequence = nextSequence.getAndIncrement();
+        // 한 바퀴 전 같은 슬롯의 이벤트가 처리될 때까지 대기
+        for (int tries = 0; sequence - slots.length > processed; tries++) {
+            idle(tries);
+        }
+        int index = (int) sequence & mask;
+        Slot slot = slots[index];
+        Ticket ticket = new Ticket();
+        slot.type = type;
+        slot.order = order;
+        slot.orders = orders;
+        slot.id = id;
+        slot.status = status;
+        slot.ticket = ticket;
+        published.set(index, sequence); // 슬롯 내용을 처리 스레드에 공개
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+        return ticket.await();
+    }
+
+    private void idle(int tries) {
+        if (stopped()) {
+            throw new IllegalStateException("주문 처리기가 종료되었습니다");
+        }
+        if (!backOff(tries)) {
+            LockSupport.parkNanos(this, PARK_NANOS / 10);
+        }
+    }
+
+    /**
+     * 잠들기 전 대기 - yield 단계에서 다른 생산자가 슬롯을 채울 기회를 주므로 처리 스레드가 한 번에 여러 건을 꺼냄
+     * @return 아직 잠들 차례가 아니면 true
+     */
+    private static boolean backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+            return true;
+        }
+        if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+            return true;
+        }
+        return false;
+    }
+
+    // 종료 요청 뒤 남은 이벤트까지 처리하고 스레드가 끝났으면 true (그 뒤에 들어온 이벤트는 처리되지 않음)
+    private boolean stopped() {
+        return !running && consumer.getState() == Thread.State.TERMINATED;
+    }
+
+    private void consume() {
+        long sequence = processed + 1;
+        int idle = 0;
+        while (true) {
+            if (published.get((int) sequence & mask) != sequence) {
+                if (!running && sequence == nextSequence.get()) {
+                    return; // 종료 요청 전에 들어온 이벤트를 모두 처리함
+                }
+                if (backOff(idle++)) {
+                    continue;
+                }
+                consumerParked = true;
+                if (published.get((int) sequence & mask) != sequence) { // 표시 후 다시 확인해야 깨우기를 놓치지 않음
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                consumerParked = false;
+                continue;
+            }
+            idle = 0;
+            long last = sequence;
+            while (last - sequence + 1 < maxBatchSize && published.get((int) (last + 1) & mask) == last + 1) {
+                last++;
+            }
+            apply(sequence, last);
+            processed = last;
+            sequence = last + 1;
+        }
+    }
+
+    /**
+     * first부터 last까지의 이벤트를 순서대로 반영합니다. 이어진 단건 접수는 한 번에 저장합니다.
+     */
+    private void apply(long first, long last) {
+        for (long sequence = first; sequence <= last; sequence++) {
+            Slot slot = slots[(int) sequence & mask];
+            if (slot.type == ADD) {
+                pendingAdds.add(slot);
+                continue;
+            }
+            flushAdds();
+            Ticket ticket = slot.ticket;
+            try {
+                ticket.complete(slot.type == ADD_ALL
+                        ? orderStore.appendAll(slot.orders)
+                        : orderStore.applyStatus(slot.id, slot.status), null);
+            } catch (RuntimeException e) {
+                ticket.complete(null, e);
+            }
+            slot.clear();
+        }
+        flushAdds();
+    }
+
+    private void flushAdds() {
+        if (pendingAdds.isEmpty()) {
+            return;
+        }
+        try {
+            if (pendingAdds.size() == 1) {
+                orderStore.append(pendingAdds.get(0).order);
+            } else {
+                List<Order> orders = new ArrayList<>(pendingAdds.size()); // 리스너가 보관할 수 있으므로 매번 새 목록
+                for (Slot slot : pendingAdds) {
+                    orders.add(slot.order);
+                }
+                orderStore.appendAll(orders);
+            }
+            for (Slot slot : pendingAdds) {
+                slot.ticket.complete(slot.order, null);
+                slot.clear();
+            }
+        } catch (RuntimeException e) {
+            for (Slot slot : pendingAdds) {
+                slot.ticket.complete(null, e);
+                slot.clear();
+            }
+        }
+        pendingAdds.clear();
+    }
+
+    /**
+     * 미리 만들어 재사용하는 링 버퍼 슬롯 - 요청 스레드가 채우고 published로 공개합니다.
+     */
+    private static final class Slot {
+        int type;
+        Order order;
+        List<Order> orders;
+        long id;
+        OrderStatus status;
+        Ticket ticket;
+
+        void clear() {
+            order = null;
+            orders = null;
+            status = null;
+            ticket = null;
+        }
+    }
+
+    /**
+     * 요청 스레드가 자기 이벤트의 처리 결과를 기다리는 자리
+     */
+    private final class Ticket {
+        private final Thread waiter = Thread.currentThread();
+        private volatile boolean done;
+        private volatile boolean parked;
+        private Object result;
+        private RuntimeException failure;
+
+        void complete(Object result, RuntimeException failure) {
+            this.result = result;
+            this.failure = failure;
+            done = true; // result/failure 공개
+            if (parked) {
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        Object await() {
+            int tries = 0;
+            while (!done) {
+                if (backOff(tries++)) {
+                    continue;
+                }
+                parked = true;
+                if (!done) {
+                    if (stopped()) {
+                        throw new IllegalStateException("주문 처리기가 종료되었습니다");
+                    }
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                parked = false;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+    }
+}
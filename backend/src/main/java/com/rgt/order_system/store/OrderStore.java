@@ -0,0 +1,706 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 주문 저장소 - REST/WebSocket 컨트롤러가 함께 사용하는 단일 인메모리 저장소
+ *
+ * 주문 ID는 OrderIdAllocator(기본: AtomicLong 하나)에서 단조 증가하며 발급되고, 주문은 ID가 곧 위치가 되는
+ * 세그먼트 배열(append-only)에 저장됩니다. 쓰기는 락 없이 슬롯 하나만 채우므로 상수 시간이며,
+ * CopyOnWriteArrayList처럼 추가 때마다 전체 배열을 복사하지 않습니다.
+ *
+ * 세그먼트는 주문 객체 대신 열(column) 단위 기본형 배열로 저장합니다. ID는 위치로 정해지므로 저장하지 않고,
+ * 수량은 int[], 음식 이름은 NameDictionary 코드(int[]), 상태는 상태 순서(AtomicIntegerArray)입니다.
+ * 주문당 12바이트이며, 주문마다 생기던 Order/Long/String 객체 헤더와 중복 메뉴 이름 문자열이 없습니다.
+ * 사전은 크기가 제한되어 있어, 너무 긴 이름이나 사전이 가득 찬 뒤 들어온 새 이름은 세그먼트의 원문 열에 그대로 둡니다.
+ * Order 객체는 조회/리스너 호출 시점에만 만들어지는 읽기 전용 뷰이므로 변경해도 저장소에는 반영되지 않습니다.
+ *
+ * 읽기는 headId(빈틈 없이 공개된 마지막 ID)까지만 보이도록 하여,
+ * 동시에 추가 중인 주문 때문에 중간 ID가 빠져 보이는 일이 없습니다.
+ *
+ * 상태 열은 기록 완료 표시를 겸합니다(0 = 비어 있음). 이름/수량을 먼저 쓰고 상태를 발행하므로 상태가 보이면
+ * 나머지 열도 보입니다. 상태 변경은 상태 열 하나를 compare-and-set 하므로 전역 락 없이 주문 단위로 원자적입니다.
+ *
+ * journal 프로필에서는 기동 시 저널에서 복구한 주문을 restore로 채웁니다. 기록되기 전에 중단된 주문의 ID는
+ * 빈 슬롯으로 남으며 조회 결과에서 제외됩니다.
+ *
+ * redis 프로필에서는 각 노드의 저장소가 Redis에 기록된 주문의 로컬 복제본이 되며,
+ * 다른 노드의 변경은 applyRemote로 반영됩니다.
+ *
+ * 콜드 계층(ColdSegments)이 연결되면 모든 주문이 완료된 오래된 세그먼트를 압축 파일로 옮기고 힙에서 놓습니다
+ * (evictCompleted, OrderRetention이 주기적으로 호출). 완료는 마지막 상태라 옮긴 뒤에는 바뀌지 않으므로,
+ * 조회는 같은 경로로 세그먼트 단위로 읽어 오고 상태 변경은 그대로 거부됩니다.
+ *
+ * sequencer 프로필에서는 add/addAll/updateStatus가 OrderSequencer의 링 버퍼를 거쳐 단일 처리 스레드에서 반영되므로
+ * ID 발급, 상태 변경, 리스너 호출 순서가 하나로 정해집니다. 기본 경로는 요청 스레드가 직접 기록합니다.
+ *
+ * 상태/음식 이름 조건 조회(findMatching)는 추가와 상태 변경 때 함께 갱신되는 보조 색인(OrderIndex)을 사용하며,
+ * 콜드 계층으로 옮긴 주문은 대상이 아닙니다 (완료 이력은 /api/orders/export).
+ */
+@Component
+public class OrderStore {
+
+    static final int SEGMENT_SHIFT = 14; // 세그먼트당 16,384건
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int MAX_SEGMENTS = 1 << 16; // 최대 약 10억 건
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int EMPTY = 0;
+
+    private final OrderIdAllocator idAllocator;
+    private final AtomicReferenceArray<Segment> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final NameDictionary foodNames = new NameDictionary();
+    private final OrderIndex secondaryIndex = new OrderIndex(MAX_SEGMENTS);
+    private final AtomicLong headId = new AtomicLong(0);
+    private final LongAdder count = new LongAdder();
+    private final List<OrderStoreListener> listeners = new CopyOnWriteArrayList<>(); // 등록은 기동 시에만 발생
+    private volatile ColdSegments coldSegments;
+    private volatile OrderSequencer sequencer;
+
+    public OrderStore() {
+        this(new LocalOrderIdAllocator());
+    }
+
+    @Autowired(required = false)
+    public OrderStore(OrderIdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * 저장소 변경 리스너를 등록합니다.
+     */
+    public void addListener(OrderStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 새 주문에 고유 ID를 할당하고 접수됨 상태로 저장합니다.
+     * 리스너에는 전달한 주문 객체가 그대로 전달되므로, 저장 후에는 변경하지 않아야 합니다.
+     *
+     * ID 발급과 기록 사이에 다른 경로(redis 프로필의 applyRemote)가 같은 주문으로 슬롯을 먼저 채웠으면
+     * 슬롯을 덮어쓰지 않고, 저장된 상태를 전달한 주문에 옮긴 뒤 리스너에도 다시 알리지 않습니다.
+     * @param order 저장할 주문
+     * @return ID와 상태가 채워진 주문 (전달한 객체)
+     */
+    public Order add(Order order) {
+        OrderSequencer sequencer = this.sequencer;
+        if (sequencer != null && !sequencer.isWriterThread()) {
+            return sequencer.add(order);
+        }
+        return append(order);
+    }
+
+    // 기록 경로 (appendAll, applyStatus도 같음) - 기본 경로에서는 요청 스레드가, sequencer 프로필에서는 OrderSequencer 처리 스레드가 호출
+    Order append(Order order) {
+        order.setStatus(OrderStatus.RECEIVED.getLabel());
+        long id = idAllocator.allocate(order);
+        order.setId(id);
+        if (!write(order)) {
+            return order;
+        }
+        advanceHead();
+        for (OrderStoreListener listener : listeners) {
+            listener.orderAdded(order);
+        }
+        return order;
+    }
+
+    /**
+     * 주문 여러 건을 한 번에 저장합니다. ID는 연속된 블록으로 한 번에 발급되고 headId도 한 번만 전진하며,
+     * 리스너에는 ordersAdded로 한 번에 알립니다. add와 마찬가지로 이미 채워진 슬롯은 덮어쓰지 않고 알림에서도 뺍니다.
+     * @param orders 저장할 주문 (전달한 객체에 ID와 상태가 채워짐)
+     * @return 전달한 목록
+     */
+    public List<Order> addAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        OrderSequencer sequencer = this.sequencer;
+        if (sequencer != null && !sequencer.isWriterThread()) {
+            return sequencer.addAll(orders);
+        }
+        return appendAll(orders);
+    }
+
+    List<Order> appendAll(List<Order> orders) {
+        for (Order order : orders) {
+            order.setStatus(OrderStatus.RECEIVED.getLabel());
+        }
+        long firstId = idAllocator.allocateBlock(orders);
+        List<Order> added = orders; // 이미 채워진 슬롯이 있을 때만 새 목록
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            order.setId(firstId + i);
+            boolean written = write(order);
+            if (!written && added == orders) {
+                added = new ArrayList<>(orders.subList(0, i));
+            } else if (written && added != orders) {
+                added.add(order);
+            }
+        }
+        advanceHead();
+        if (!added.isEmpty()) {
+            for (OrderStoreListener listener : listeners) {
+                listener.ordersAdded(added);
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * 새 ID의 슬롯을 채웁니다. 이미 채워져 있으면 덮어쓰지 않고 저장된 상태를 주문에 반영합니다.
+     * @return 이 호출이 슬롯을 채웠으면 true (리스너에 알릴 대상)
+     */
+    private boolean write(Order order) {
+        long id = order.getId();
+        Segment segment = segmentFor(id);
+        int offset = offset(id);
+        int foodName = foodNames.encode(order.getFoodName());
+        if (segment.writeIfEmpty(offset, foodName, order.getFoodName(), order.getQuantity(), OrderStatus.RECEIVED)) {
+            count.increment();
+            secondaryIndex.added(id, foodName, OrderStatus.RECEIVED);
+            return true;
+        }
+        order.setStatus(statusOf(segment.states.get(offset)).getLabel());
+        return false;
+    }
+
+    /**
+     * 단일 기록 스레드 처리기를 연결합니다. null이면 요청 스레드가 직접 기록하는 기본 경로로 돌아갑니다.
+     */
+    void attachSequencer(OrderSequencer sequencer) {
+        this.sequencer = sequencer;
+    }
+
+    /**
+     * 콜드 계층을 연결합니다. 기동 시 한 번만 호출합니다.
+     */
+    void attachColdTier(ColdSegments coldSegments) {
+        this.coldSegments = coldSegments;
+    }
+
+    /**
+     * 모든 주문이 완료된 세그먼트 중 최근 완료 주문 retainCompleted건보다 오래된 것을 콜드 계층으로 옮깁니다.
+     * 완료되지 않은 주문이 하나라도 있는 세그먼트와 아직 다 채워지지 않은 세그먼트는 그대로 둡니다.
+     * @param retainCompleted 메모리에 남길 최근 완료 주문 수
+     * @return 옮긴 세그먼트 수
+     */
+    int evictCompleted(long retainCompleted) throws IOException {
+        ColdSegments cold = coldSegments;
+        if (cold == null) {
+            throw new IllegalStateException("콜드 계층이 연결되지 않았습니다");
+        }
+        long head = headId.get();
+        if (head == 0) {
+            return 0;
+        }
+        int lastFull = (int) (head >>> SEGMENT_SHIFT) - 1;
+        long completed = 0;
+        int evicted = 0;
+        // 최신 세그먼트부터 완료 주문 수를 세고, retainCompleted건을 넘긴 뒤의 세그먼트만 옮김
+        for (int index = segmentIndex(head); index >= 0; index--) {
+            Segment segment = segments.get(index);
+            if (segment == null) {
+                continue; // 이미 옮겨짐 (보관 경계보다 오래됨)
+            }
+            if (completed < retainCompleted) {
+                completed += segment.countTerminal();
+            } else if (index <= lastFull && segment.isSettled()) {
+                cold.write(index, segment);
+                segments.set(index, null); // 파일을 다 쓴 뒤에 놓으므로 읽기는 항상 둘 중 하나에서 찾음
+                secondaryIndex.evicted(index);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * ID로 주문을 조회합니다. O(1)
+     * @param id 주문 ID
+     * @return 주문 뷰, 없으면 null
+     */
+    public Order get(long id) {
+        if (id < 1 || id > headId.get()) {
+            return null;
+        }
+        return view(id);
+    }
+
+    /**
+     * 주문 상태를 변경합니다. 다른 스레드와 경쟁하면 최신 상태를 다시 읽어 재시도합니다.
+     * @param id 주문 ID
+     * @param next 변경할 상태
+     * @return 변경 결과
+     */
+    public StatusUpdate updateStatus(long id, OrderStatus next) {
+        OrderSequencer sequencer = this.sequencer;
+        if (sequencer != null && !sequencer.isWriterThread()) {
+            return sequencer.updateStatus(id, next);
+        }
+        return applyStatus(id, next);
+    }
+
+    StatusUpdate applyStatus(long id, OrderStatus next) {
+        if (get(id) == null) {
+            return new StatusUpdate(StatusUpdate.Outcome.NOT_FOUND, null);
+        }
+        Segment segment = readSegment(segmentIndex(id));
+        int offset = offset(id);
+        while (true) {
+            int state = segment.states.get(offset);
+            OrderStatus status = statusOf(state);
+            if (status == next) {
+                return new StatusUpdate(StatusUpdate.Outcome.UNCHANGED, view(id, segment, offset, state));
+            }
+            if (!status.canTransitionTo(next)) {
+                return new StatusUpdate(StatusUpdate.Outcome.REJECTED, view(id, segment, offset, state));
+            }
+            if (segment.states.compareAndSet(offset, state, stateOf(next))) {
+                secondaryIndex.statusChanged(id, status, next);
+                Order updated = view(id, segment, offset, stateOf(next));
+                notifyStatusChanged(view(id, segment, offset, state), updated);
+                return new StatusUpdate(StatusUpdate.Outcome.UPDATED, updated);
+            }
+        }
+    }
+
+    /**
+     * 다른 노드에서 발생한 주문 추가/상태 변경을 반영합니다.
+     * 슬롯이 비어 있으면 추가 이벤트를, 기존 주문보다 더 진행된 상태면 상태 변경 이벤트를 리스너에 알립니다.
+     * 상태는 앞으로만 진행되므로 메시지가 중복되거나 순서가 바뀌어도 결과는 같습니다.
+     * @param order ID가 할당된 주문
+     * @return 반영되었으면 true, 이미 같거나 더 진행된 상태면 false
+     */
+    public boolean applyRemote(Order order) {
+        long id = order.getId();
+        ColdSegments cold = coldSegments;
+        if (cold != null && cold.contains(segmentIndex(id))) {
+            return false; // 콜드 계층의 주문은 모두 완료 상태
+        }
+        Segment segment = segmentFor(id);
+        int offset = offset(id);
+        OrderStatus remoteStatus = OrderStatus.from(order.getStatus());
+        while (true) {
+            int state = segment.states.get(offset);
+            if (state == EMPTY) {
+                OrderStatus status = remoteStatus != null ? remoteStatus : OrderStatus.RECEIVED;
+                int foodName = foodNames.encode(order.getFoodName());
+                if (segment.writeIfEmpty(offset, foodName, order.getFoodName(), order.getQuantity(), status)) {
+                    count.increment();
+                    secondaryIndex.added(id, foodName, status);
+                    advanceHead();
+                    Order added = view(id, segment, offset, stateOf(status));
+                    for (OrderStoreListener listener : listeners) {
+                        listener.orderAdded(added);
+                    }
+                    return true;
+                }
+                continue;
+            }
+            if (remoteStatus == null || !statusOf(state).canTransitionTo(remoteStatus)) {
+                return false;
+            }
+            if (segment.states.compareAndSet(offset, state, stateOf(remoteStatus))) {
+                secondaryIndex.statusChanged(id, statusOf(state), remoteStatus);
+                notifyStatusChanged(view(id, segment, offset, state), view(id, segment, offset, stateOf(remoteStatus)));
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 저널에서 복구한 주문을 저장합니다. 기동 시 요청을 받기 전에만 호출해야 합니다.
+     * 리스너에는 orderRestored만 알리며, headId는 복구된 가장 큰 ID까지 전진합니다.
+     * @param orders 복구할 주문 (ID가 할당되어 있어야 함)
+     */
+    public void restore(List<Order> orders) {
+        long maxId = headId.get();
+        for (Order order : orders) {
+            long id = order.getId();
+            OrderStatus status = OrderStatus.from(order.getStatus());
+            if (status == null) {
+                status = OrderStatus.RECEIVED;
+            }
+            int foodName = foodNames.encode(order.getFoodName());
+            segmentFor(id).write(offset(id), foodName, order.getFoodName(), order.getQuantity(), status);
+            secondaryIndex.added(id, foodName, status);
+            count.increment();
+            idAllocator.observe(id);
+            maxId = Math.max(maxId, id);
+            for (OrderStoreListener listener : listeners) {
+                listener.orderRestored(order);
+            }
+        }
+        headId.accumulateAndGet(maxId, Math::max);
+        advanceHead();
+    }
+
+    /**
+     * @return 읽기 가능한 가장 최신 주문 ID (주문이 없으면 0)
+     */
+    public long headId() {
+        return headId.get();
+    }
+
+    /**
+     * @return 저장된 주문 수 (기록 중이라 아직 headId에 포함되지 않은 주문도 포함)
+     */
+    public long size() {
+        return count.sum();
+    }
+
+    /**
+     * 최신순(ID 내림차순) 페이지를 반환합니다. O(limit)
+     * @param offset 건너뛸 최신 주문 수
+     * @param limit 최대 반환 개수
+     * @return 최신순 주문 목록
+     */
+    public List<Order> findNewest(long offset, int limit) {
+        if (offset < 0) {
+            return Collections.emptyList();
+        }
+        return collectDescending(headId.get() - offset, limit);
+    }
+
+    /**
+     * 커서 기반 최신순 페이지 - beforeId보다 작은 ID의 주문을 최신순으로 반환합니다.
+     * 페이지 깊이와 무관하게 O(limit)이며, 새 주문이 들어와도 다음 페이지가 밀리지 않습니다.
+     * @param beforeId 이전 페이지의 마지막(가장 작은) 주문 ID
+     * @param limit 최대 반환 개수
+     * @return 최신순 주문 목록
+     */
+    public List<Order> findNewestBefore(long beforeId, int limit) {
+        return collectDescending(Math.min(beforeId - 1, headId.get()), limit);
+    }
+
+    /**
+     * 조건에 맞는 주문의 최신순 페이지를 반환합니다. 보조 색인을 사용하므로 O(offset + limit)입니다.
+     * @param status 상태 조건, null이면 모든 상태
+     * @param foodName 음식 이름 조건, null이면 모든 음식
+     * @param offset 건너뛸 (조건에 맞는) 최신 주문 수
+     * @param limit 최대 반환 개수
+     * @return 최신순 주문 목록
+     */
+    public List<Order> findMatching(OrderStatus status, String foodName, long offset, int limit) {
+        return collectMatching(headId.get(), status, foodName, offset, limit);
+    }
+
+    /**
+     * 조건 조회의 커서 모드 - beforeId보다 작은 ID 중 조건에 맞는 주문을 최신순으로 반환합니다. O(limit)
+     * @param beforeId 이전 페이지의 마지막(가장 작은) 주문 ID
+     */
+    public List<Order> findMatchingBefore(OrderStatus status, String foodName, long beforeId, int limit) {
+        return collectMatching(Math.min(beforeId - 1, headId.get()), status, foodName, 0, limit);
+    }
+
+    /**
+     * lastId보다 큰 ID의 주문을 최신순으로 반환합니다. O(k)
+     * ID가 곧 저장 위치이므로 시작 위치는 탐색 없이 바로 계산됩니다.
+     * @param lastId 마지막으로 받은 주문 ID
+     * @return 새 주문 목록 (ID 내림차순)
+     */
+    public List<Order> findSince(long lastId) {
+        long head = headId.get();
+        long start = Math.max(lastId, 0);
+        if (start >= head) {
+            return Collections.emptyList();
+        }
+        List<Order> result = new ArrayList<>((int) (head - start));
+        for (long id = head; id > start; id--) {
+            addIfPresent(result, id);
+        }
+        return result;
+    }
+
+    /**
+     * @return 전체 주문 목록 (ID 오름차순 복사본)
+     */
+    public List<Order> findAll() {
+        long head = headId.get();
+        List<Order> result = new ArrayList<>((int) head);
+        for (long id = 1; id <= head; id++) {
+            addIfPresent(result, id);
+        }
+        return result;
+    }
+
+    /**
+     * fromId부터 toId까지(양끝 포함, headId 이하) 주문을 ID 오름차순으로 하나씩 전달합니다.
+     * 목록을 만들지 않고 세그먼트 단위로 읽으므로 범위 크기와 관계없이 메모리 사용량이 일정합니다.
+     * @param fromId 시작 ID
+     * @param toId 끝 ID
+     * @param action 주문마다 호출할 동작
+     */
+    public void forEach(long fromId, long toId, Consumer<Order> action) {
+        long last = Math.min(toId, headId.get());
+        long id = Math.max(fromId, 1);
+        while (id <= last) {
+            int index = segmentIndex(id);
+            long segmentEnd = Math.min(last, ((long) index + 1) << SEGMENT_SHIFT);
+            Segment segment = readSegment(index);
+            for (; id <= segmentEnd; id++) {
+                int offset = offset(id);
+                int state = segment != null ? segment.states.get(offset) : EMPTY;
+                if (state != EMPTY) {
+                    action.accept(view(id, segment, offset, state));
+                }
+            }
+        }
+    }
+
+    /**
+     * from부터 ID가 작아지는 방향으로 최대 limit건을 읽습니다.
+     */
+    private List<Order> collectDescending(long from, int limit) {
+        if (limit <= 0 || from < 1) {
+            return Collections.emptyList();
+        }
+        int count = (int) Math.min(limit, from);
+        List<Order> page = new ArrayList<>(count);
+        for (long id = from; id > from - count; id--) {
+            addIfPresent(page, id);
+        }
+        return page;
+    }
+
+    /**
+     * from부터 ID가 작아지는 방향으로 색인 후보를 따라가며, 실제 상태를 확인한 주문만 담습니다.
+     */
+    private List<Order> collectMatching(long from, OrderStatus status, String foodName, long skip, int limit) {
+        if (status == null && foodName == null) {
+            return skip < 0 ? Collections.emptyList() : collectDescending(from - skip, limit);
+        }
+        int foodCode = OrderIndex.ANY_FOOD;
+        if (foodName != null) {
+            foodCode = foodNames.find(foodName); // 사전에 없으면 원문으로 저장된 주문끼리 모인 UNREGISTERED 비트맵에서 찾음
+        }
+        if (limit <= 0 || from < 1 || skip < 0) {
+            return Collections.emptyList();
+        }
+        List<Order> page = new ArrayList<>(Math.min(limit, 64));
+        long remaining = skip;
+        for (long id = secondaryIndex.previous(from, status, foodCode); id > 0 && page.size() < limit;
+             id = secondaryIndex.previous(id - 1, status, foodCode)) {
+            Order order = view(id);
+            if (order == null) {
+                continue;
+            }
+            if (status != null && !status.getLabel().equals(order.getStatus())) {
+                secondaryIndex.clearStatus(id, status); // 겹친 상태 변경이 남긴 비트 (이미 다음 상태로 진행됨)
+                continue;
+            }
+            if (foodCode == NameDictionary.UNREGISTERED && !foodName.equals(order.getFoodName())) {
+                continue;
+            }
+            if (remaining > 0) {
+                remaining--;
+                continue;
+            }
+            page.add(order);
+        }
+        return page;
+    }
+
+    // 복구된 저장소에는 기록되지 못한 ID가 빈 슬롯으로 남아 있을 수 있음
+    private void addIfPresent(List<Order> result, long id) {
+        Order order = view(id);
+        if (order != null) {
+            result.add(order);
+        }
+    }
+
+    private void notifyStatusChanged(Order previous, Order current) {
+        for (OrderStoreListener listener : listeners) {
+            listener.statusChanged(previous, current);
+        }
+    }
+
+    /**
+     * @return 슬롯의 주문 뷰, 비어 있으면 null
+     */
+    private Order view(long id) {
+        Segment segment = readSegment(segmentIndex(id));
+        if (segment == null) {
+            return null;
+        }
+        int offset = offset(id);
+        int state = segment.states.get(offset);
+        return state != EMPTY ? view(id, segment, offset, state) : null;
+    }
+
+    private Order view(long id, Segment segment, int offset, int state) {
+        return new Order(id, foodName(segment, offset), segment.quantities[offset], statusOf(state).getLabel());
+    }
+
+    private String foodName(Segment segment, int offset) {
+        int code = segment.foodNames[offset];
+        return code != NameDictionary.UNREGISTERED ? foodNames.decode(code) : segment.rawNames[offset];
+    }
+
+    /**
+     * 읽기용 세그먼트 - 메모리에 없으면 콜드 계층에서 읽어 옵니다.
+     * @return 세그먼트, 아직 만들어지지 않았으면 null
+     */
+    private Segment readSegment(int index) {
+        Segment segment = segments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+        ColdSegments cold = coldSegments;
+        return cold != null ? cold.read(index) : null;
+    }
+
+    private Segment segmentFor(long id) {
+        int index = segmentIndex(id);
+        if (index >= MAX_SEGMENTS) {
+            throw new IllegalStateException("주문 저장소 용량을 초과했습니다: id=" + id);
+        }
+        Segment segment = segments.get(index);
+        if (segment == null) {
+            // 경쟁에서 진 스레드가 만든 세그먼트는 버려지고, 먼저 등록된 세그먼트를 사용
+            segments.compareAndSet(index, null, new Segment());
+            segment = segments.get(index);
+        }
+        return segment;
+    }
+
+    /**
+     * headId를 빈틈 없이 채워진 마지막 ID까지 전진시킵니다.
+     * 앞선 ID가 아직 기록 중이면 그 ID를 기록하는 스레드가 이어서 전진시킵니다.
+     */
+    private void advanceHead() {
+        while (true) {
+            long head = headId.get();
+            long next = head + 1;
+            int index = segmentIndex(next);
+            Segment segment = index < MAX_SEGMENTS ? segments.get(index) : null;
+            if (segment == null || segment.states.get(offset(next)) == EMPTY) {
+                return;
+            }
+            headId.compareAndSet(head, next);
+        }
+    }
+
+    private static int segmentIndex(long id) {
+        return (int) ((id - 1) >>> SEGMENT_SHIFT);
+    }
+
+    private static int offset(long id) {
+        return (int) ((id - 1) & SEGMENT_MASK);
+    }
+
+    private static OrderStatus statusOf(int state) {
+        return STATUSES[state - 1];
+    }
+
+    private static int stateOf(OrderStatus status) {
+        return status.ordinal() + 1;
+    }
+
+    /**
+     * 주문 SEGMENT_SIZE건의 열 저장 공간
+     */
+    static final class Segment {
+        final AtomicIntegerArray states; // 상태 순서 + 1, 0 = 비어 있음
+        final int[] foodNames;
+        final int[] quantities;
+        volatile String[] rawNames; // 사전에 등록되지 않은 이름의 원문, 처음 필요할 때 만듦
+
+        Segment() {
+            this(new AtomicIntegerArray(SEGMENT_SIZE), new int[SEGMENT_SIZE], new int[SEGMENT_SIZE], null);
+        }
+
+        /**
+         * 콜드 계층에서 읽어 온 세그먼트 (읽기 전용)
+         */
+        Segment(AtomicIntegerArray states, int[] foodNames, int[] quantities, String[] rawNames) {
+            this.states = states;
+            this.foodNames = foodNames;
+            this.quantities = quantities;
+            this.rawNames = rawNames;
+        }
+
+        /**
+         * @return 완료 상태인 주문 수
+         */
+        int countTerminal() {
+            int count = 0;
+            for (int offset = 0; offset < SEGMENT_SIZE; offset++) {
+                int state = states.get(offset);
+                if (state != EMPTY && statusOf(state).isTerminal()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 복구된 저장소의 빈 슬롯(기록되지 못한 ID)은 다시 채워지지 않으므로 완료로 봅니다.
+         * @return 모든 주문이 완료 상태면 true
+         */
+        boolean isSettled() {
+            for (int offset = 0; offset < SEGMENT_SIZE; offset++) {
+                int state = states.get(offset);
+                if (state != EMPTY && !statusOf(state).isTerminal()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 이름/수량을 쓴 뒤 상태를 기록해 슬롯을 공개합니다.
+         * @param foodName 이름 코드, NameDictionary.UNREGISTERED면 name 원문을 저장
+         */
+        void write(int offset, int foodName, String name, int quantity, OrderStatus status) {
+            fill(offset, foodName, name, quantity);
+            states.set(offset, stateOf(status));
+        }
+
+        /**
+         * 빈 슬롯일 때만 공개합니다. 같은 ID의 주문은 내용이 같으므로 경쟁에서 진 쪽이 쓴 열 값도 같습니다.
+         */
+        boolean writeIfEmpty(int offset, int foodName, String name, int quantity, OrderStatus status) {
+            fill(offset, foodName, name, quantity);
+            return states.compareAndSet(offset, EMPTY, stateOf(status));
+        }
+
+        private void fill(int offset, int foodName, String name, int quantity) {
+            if (foodName == NameDictionary.UNREGISTERED) {
+                rawNames()[offset] = name;
+            }
+            foodNames[offset] = foodName;
+            quantities[offset] = quantity;
+        }
+
+        private String[] rawNames() {
+            String[] names = rawNames;
+            if (names == null) {
+                synchronized (this) {
+                    names = rawNames;
+                    if (names == null) {
+                        names = new String[SEGMENT_SIZE];
+                        rawNames = names;
+                    }
+                }
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+
+import java.util.List;
+
+/**
+ * 주문 저장소 변경 리스너
+ * 변경을 일으킨 스레드(sequencer 프로필에서는 OrderSequencer 처리 스레드)에서 동기적으로 호출되므로 구현은 가볍게 유지해야 합니다.
+ */
+public interface OrderStoreListener {
+
+    /**
+     * 새 주문이 저장된 뒤 호출됩니다.
+     * 앞선 ID가 아직 기록 중이면 이 주문은 headId에 포함되지 않았을 수 있습니다.
+     */
+    default void orderAdded(Order order) {
+    }
+
+    /**
+     * 여러 주문이 한 번에 저장된 뒤 호출됩니다 (OrderStore.addAll). 블록 앞의 ID가 아직 기록 중이면 headId에 포함되지 않았을 수 있습니다.
+     * 기본 구현은 주문마다 orderAdded를 호출합니다.
+     */
+    default void ordersAdded(List<Order> orders) {
+        for (Order order : orders) {
+            orderAdded(order);
+        }
+    }
+
+    /**
+     * 주문 상태가 변경된 뒤 호출됩니다.
+     * @param previous 변경 전 주문
+     * @param current 변경 후 주문
+     */
+    default void statusChanged(Order previous, Order current) {
+    }
+
+    /**
+     * 기동 시 저널에서 복구된 주문마다 호출됩니다. 새로 발생한 변경이 아니므로 전송/기록 대상이 아닙니다.
+     */
+    default void orderRestored(Order order) {
+    }
+}
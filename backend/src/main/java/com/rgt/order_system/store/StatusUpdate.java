@@ -0,0 +1,22 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+
+/**
+ * 주문 상태 변경 결과
+ * @param outcome 처리 결과
+ * @param order 변경 후(거부된 경우 현재) 주문, 주문이 없으면 null
+ */
+public record StatusUpdate(Outcome outcome, Order order) {
+
+    public enum Outcome {
+        UPDATED,    // 상태가 변경됨
+        UNCHANGED,  // 이미 요청한 상태임
+        REJECTED,   // 허용되지 않는 상태 전이
+        NOT_FOUND   // 존재하지 않는 주문
+    }
+
+    public boolean isUpdated() {
+        return outcome == Outcome.UPDATED;
+    }
+}
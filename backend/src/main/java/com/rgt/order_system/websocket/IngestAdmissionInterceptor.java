@@ -0,0 +1,117 @@
+package com.rgt.order_system.websocket;
+
+import com.rgt.order_system.ingest.Admission;
+import com.rgt.order_system.ingest.IngestLimiter;
+import com.rgt.order_system.ingest.IngestRejectedException;
+import com.rgt.order_system.ingest.OrderBatchIngest;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP 주문 접수 한도 - clientInboundChannel 인터셉터
+ *
+ * /app/order, /app/orders/batch SEND 프레임을 세션 단위로 IngestLimiter에 확인합니다.
+ * 인터셉터는 WebSocket 수신 스레드에서 실행되므로 거부된 프레임은 inbound 스레드풀 큐에 들어가지 않으며,
+ * 클라이언트에게는 retry-after 헤더가 붙은 ERROR 프레임이 전송됩니다 (StompErrorHandler).
+ * 건수 한도(order.ingest.max-batch-size)를 넘는 일괄 접수는 한도를 쓰기 전에 ERROR 프레임으로 거절합니다.
+ */
+@Component
+public class IngestAdmissionInterceptor implements ChannelInterceptor {
+
+    static final String ORDER_DESTINATION = "/app/order";
+    static final String BATCH_DESTINATION = "/app/orders/batch";
+
+    private final IngestLimiter ingestLimiter;
+    private final OrderBatchIngest batchIngest;
+
+    public IngestAdmissionInterceptor(IngestLimiter ingestLimiter, OrderBatchIngest batchIngest) {
+        this.ingestLimiter = ingestLimiter;
+        this.batchIngest = batchIngest;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        int permits;
+        if (ORDER_DESTINATION.equals(destination)) {
+            permits = 1;
+        } else if (BATCH_DESTINATION.equals(destination)) {
+            permits = message.getPayload() instanceof byte[] payload ? countOrders(payload) : 1;
+            try {
+                batchIngest.checkSize(permits);
+            } catch (IllegalArgumentException e) {
+                throw new MessagingException(message, e.getMessage(), e);
+            }
+        } else {
+            return message;
+        }
+        Admission admission = ingestLimiter.tryAcquire(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()), permits);
+        if (!admission.admitted()) {
+            throw new IngestRejectedException(message, admission);
+        }
+        return message;
+    }
+
+    /**
+     * 일괄 접수 본문의 주문 수 - 변환 전에 확인해야 하므로 역직렬화하지 않고 세어 봅니다.
+     * CBOR은 배열 헤더의 길이를, JSON은 최상위 배열 안의 객체 수(문자열 안의 괄호 제외)를 사용합니다.
+     * @return 주문 수 (최소 1)
+     */
+    static int countOrders(byte[] payload) {
+        if (payload.length == 0) {
+            return 1;
+        }
+        int head = payload[0] & 0xff;
+        if (head >= 0x80 && head <= 0x9b) {
+            return Math.max(1, cborArrayLength(payload, head));
+        }
+        int count = 0;
+        int depth = 0;
+        boolean inString = false;
+        for (int i = 0; i < payload.length; i++) {
+            byte b = payload[i];
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                if (b == '{' && depth == 1) {
+                    count++;
+                }
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+        }
+        return Math.max(1, count);
+    }
+
+    private static int cborArrayLength(byte[] payload, int head) {
+        int info = head & 0x1f;
+        if (info < 24) {
+            return info;
+        }
+        int bytes = 1 << (info - 24); // 24: 1바이트, 25: 2바이트, 26: 4바이트, 27: 8바이트
+        if (payload.length < 1 + bytes) {
+            return 1;
+        }
+        long length = 0;
+        for (int i = 1; i <= bytes; i++) {
+            length = (length << 8) | (payload[i] & 0xff);
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+}
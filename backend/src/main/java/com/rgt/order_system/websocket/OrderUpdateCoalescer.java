@@ -0,0 +1,155 @@
+package com.rgt.order_system.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * clientOutboundChannel 인터셉터 - 쓰기 중인 세션에 가는 주문 메시지를 세션별로 모아 주문마다 최신 것만 보냅니다.
+ *
+ * 주문이 짧은 시간에 여러 상태를 거치면 브로드캐스터는 window마다 주문 전체를 다시 보내고, 뒤처진 구독자는 중간 상태를 모두 받게 됩니다.
+ * 세션의 소켓 쓰기가 진행 중이면(SessionWriteTracker) 주문 ID 헤더가 붙은 MESSAGE 프레임을 바로 내보내지 않고
+ * 세션별 대기 목록에 (구독 ID, 주문 ID) 기준으로 넣으며, 같은 주문의 새 메시지는 대기 중인 이전 메시지를 대체합니다.
+ * 따라서 느린 세션의 대기량은 이벤트 수가 아니라 진행 중인 주문 수로 제한됩니다.
+ * 대기 메시지는 그 세션의 쓰기가 끝나면 처음 대기한 순서대로 채널에 다시 보냅니다.
+ *
+ * 주문 ID 헤더가 없는 메시지(/topic/orders/batch, /topic/orders/deltas, 통계 등)는 그대로 통과합니다.
+ * 순번 경로는 빠짐없이 받아야 하므로 브로드캐스터가 헤더를 붙이지 않습니다.
+ */
+@Slf4j
+@Component
+public class OrderUpdateCoalescer implements ChannelInterceptor, SessionWriteListener {
+
+    /**
+     * 주문 하나를 담은 메시지에 브로드캐스터가 붙이는 헤더 (네이티브 헤더가 아니므로 STOMP 프레임에는 포함되지 않음)
+     */
+    public static final String ORDER_ID_HEADER = "orderId";
+
+    // 대기했다가 다시 보내는 메시지 표시 - 다시 대기시키지 않음
+    private static final String FLUSHED_HEADER = "orderUpdateCoalescer.flushed";
+
+    private final SessionWriteTracker writeTracker;
+    private final boolean enabled;
+    private final Counter coalescedCounter;
+    private final Map<String, Backlog> backlogs = new ConcurrentHashMap<>();
+
+    public OrderUpdateCoalescer(SessionWriteTracker writeTracker,
+                                MeterRegistry meterRegistry,
+                                @Value("${order.websocket.coalesce-order-updates:true}") boolean enabled) {
+        this.writeTracker = writeTracker;
+        this.enabled = enabled;
+        this.coalescedCounter = Counter.builder("orders.websocket.coalesced")
+                .description("쓰기 중인 세션에서 같은 주문의 새 메시지로 대체되어 보내지 않은 메시지 수")
+                .register(meterRegistry);
+        if (enabled) {
+            writeTracker.addListener(this);
+        }
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (!enabled
+                || !(headers.get(ORDER_ID_HEADER) instanceof Long orderId)
+                || headers.containsKey(FLUSHED_HEADER)
+                || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        Backlog backlog = sessionId != null ? backlogs.get(sessionId) : null;
+        if (backlog == null) {
+            return message;
+        }
+        synchronized (backlog) {
+            // 대기 중인 메시지가 있으면 쓸 수 있어도 뒤에 세워야 같은 주문의 이전 상태가 나중에 도착하지 않음
+            if (backlog.messages.isEmpty() && writeTracker.isWritable(sessionId)) {
+                return message;
+            }
+            backlog.channel = channel;
+            if (backlog.messages.put(new PendingKey(SimpMessageHeaderAccessor.getSubscriptionId(headers), orderId), message) != null) {
+                coalescedCounter.increment();
+            }
+        }
+        // 넣는 사이 쓰기가 끝났으면 writeCompleted가 이 메시지를 보지 못했을 수 있음
+        if (writeTracker.isWritable(sessionId)) {
+            flush(backlog);
+        }
+        return null;
+    }
+
+    @Override
+    public void sessionOpened(String sessionId) {
+        backlogs.put(sessionId, new Backlog());
+    }
+
+    @Override
+    public void writeCompleted(String sessionId) {
+        Backlog backlog = backlogs.get(sessionId);
+        if (backlog != null) {
+            flush(backlog);
+        }
+    }
+
+    @Override
+    public void sessionClosed(String sessionId) {
+        backlogs.remove(sessionId);
+    }
+
+    /**
+     * @return 세션에서 대기 중인 메시지 수
+     */
+    int pendingCount(String sessionId) {
+        Backlog backlog = backlogs.get(sessionId);
+        if (backlog == null) {
+            return 0;
+        }
+        synchronized (backlog) {
+            return backlog.messages.size();
+        }
+    }
+
+    /**
+     * 대기 메시지를 채널로 다시 보냅니다. 잠금 안에서 보내므로, 그동안 들어온 새 메시지는 대기 목록에 쌓여 이 메시지들보다 먼저 나가지 않습니다.
+     * 채널 전송은 출력 스레드풀에 작업을 넣기만 하므로 잠금을 오래 잡지 않습니다.
+     */
+    private void flush(Backlog backlog) {
+        synchronized (backlog) {
+            if (backlog.messages.isEmpty()) {
+                return;
+            }
+            for (Message<?> message : backlog.messages.values()) {
+                try {
+                    backlog.channel.send(MessageBuilder.fromMessage(message).setHeader(FLUSHED_HEADER, true).build());
+                } catch (RuntimeException e) {
+                    log.warn("대기 중인 주문 메시지 전송 실패: {}", e.getMessage());
+                }
+            }
+            backlog.messages.clear();
+        }
+    }
+
+    private record PendingKey(String subscriptionId, long orderId) {
+    }
+
+    /**
+     * 세션 하나의 대기 메시지 - 같은 키는 처음 대기한 자리를 유지한 채 최신 메시지로 바뀝니다.
+     */
+    private static final class Backlog {
+        final Map<PendingKey, Message<?>> messages = new LinkedHashMap<>();
+        MessageChannel channel;
+    }
+}
@@ -0,0 +1,58 @@
+package com.rgt.order_system.websocket;
+
+import com.rgt.order_system.broadcast.OrderBroadcaster;
+import com.rgt.order_system.broadcast.OrderPayloadFormat;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 주문 구독 형식 협상 - clientInboundChannel 인터셉터
+ *
+ * /topic/orders, /topic/orders/batch와 상태/음식별 경로(/topic/orders/status/..., /topic/orders/item/...) 구독 프레임에 content-type(또는 accept) 헤더로 application/cbor를 지정하면
+ * 같은 경로의 CBOR 구독(/topic/cbor/...)으로 바꿉니다. 헤더가 없거나 JSON이면 그대로 둡니다.
+ * 클라이언트는 구독 ID로 프레임을 구분하므로 구독 경로가 바뀌어도 그대로 동작합니다.
+ */
+@Component
+public class PayloadFormatNegotiator implements ChannelInterceptor {
+
+    private static final Set<String> NEGOTIABLE_DESTINATIONS =
+            Set.of(OrderBroadcaster.ORDERS_DESTINATION, OrderBroadcaster.BATCH_DESTINATION);
+    private static final List<String> NEGOTIABLE_PREFIXES =
+            List.of(OrderBroadcaster.STATUS_DESTINATION_PREFIX, OrderBroadcaster.ITEM_DESTINATION_PREFIX);
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.SUBSCRIBE
+                || !isNegotiable(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+            return message;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        OrderPayloadFormat format = OrderPayloadFormat.fromMimeType(accessor.getFirstNativeHeader("content-type"));
+        if (format == null) {
+            format = OrderPayloadFormat.fromMimeType(accessor.getFirstNativeHeader("accept"));
+        }
+        if (format == null || format == OrderPayloadFormat.JSON) {
+            return message;
+        }
+        accessor.setDestination(format.destination(accessor.getDestination()));
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private static boolean isNegotiable(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        return NEGOTIABLE_DESTINATIONS.contains(destination)
+                || NEGOTIABLE_PREFIXES.stream().anyMatch(destination::startsWith);
+    }
+}
@@ -0,0 +1,21 @@
+package com.rgt.order_system.websocket;
+
+/**
+ * SessionWriteTracker가 추적하는 세션의 연결/쓰기 이벤트 리스너
+ *
+ * 쓰기를 마친 스레드(clientOutboundChannel 스레드)에서 바로 호출되므로, 구현체는 오래 막히는 작업을 하면 안 됩니다.
+ */
+public interface SessionWriteListener {
+
+    default void sessionOpened(String sessionId) {
+    }
+
+    /**
+     * 세션의 소켓 쓰기 하나가 끝나 다시 쓸 수 있게 되면 호출됩니다.
+     */
+    default void writeCompleted(String sessionId) {
+    }
+
+    default void sessionClosed(String sessionId) {
+    }
+}
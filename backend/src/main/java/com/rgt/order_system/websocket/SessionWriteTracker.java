@@ -0,0 +1,133 @@
+package com.rgt.order_system.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 세션별 쓰기 상태 추적기
+ *
+ * 실제 소켓 쓰기가 얼마나 오래 막혀 있는지 세션마다 기록합니다.
+ * Spring이 세션을 ConcurrentWebSocketSessionDecorator로 감싸기 전에 이 데코레이터가 먼저 감싸므로,
+ * 여기서 측정되는 시간은 버퍼링이 아닌 실제 네트워크 쓰기 시간입니다.
+ *
+ * 막힌 쓰기는 clientOutboundChannel 스레드 하나를 붙잡고 있으므로, Tomcat의 블로킹 전송 타임아웃(기본 20초)도
+ * send-time-limit-ms로 줄여서 느린 세션이 출력 스레드를 오래 점유하지 못하게 합니다.
+ *
+ * 세션 연결/종료와 쓰기 완료는 등록된 SessionWriteListener에 알립니다.
+ */
+@Component
+public class SessionWriteTracker implements WebSocketHandlerDecoratorFactory {
+
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final long slowThresholdNanos;
+    private final long sendTimeLimitMs;
+    private final Map<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+    private final List<SessionWriteListener> listeners = new CopyOnWriteArrayList<>();
+
+    public SessionWriteTracker(@Value("${order.websocket.slow-consumer-threshold-ms:1000}") long slowThresholdMs,
+                               @Value("${order.websocket.send-time-limit-ms:5000}") long sendTimeLimitMs) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.sendTimeLimitMs = sendTimeLimitMs;
+    }
+
+    public void addListener(SessionWriteListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    @NonNull
+    public WebSocketHandler decorate(@NonNull WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                limitBlockingSend(session);
+                TrackedSession tracked = new TrackedSession(session);
+                sessions.put(session.getId(), tracked);
+                for (SessionWriteListener listener : listeners) {
+                    listener.sessionOpened(session.getId());
+                }
+                super.afterConnectionEstablished(tracked);
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                for (SessionWriteListener listener : listeners) {
+                    listener.sessionClosed(session.getId());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private void limitBlockingSend(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession
+                && nativeSession.getNativeSession() instanceof jakarta.websocket.Session standardSession) {
+            standardSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+        }
+    }
+
+    /**
+     * @return 현재 쓰기가 임계 시간 이상 막혀 있으면 true
+     */
+    public boolean isSlow(String sessionId) {
+        TrackedSession tracked = sessionId != null ? sessions.get(sessionId) : null;
+        if (tracked == null) {
+            return false;
+        }
+        long startedAt = tracked.writeStartedAt;
+        return startedAt != 0 && System.nanoTime() - startedAt > slowThresholdNanos;
+    }
+
+    /**
+     * @return 쓰기가 진행 중이 아니면 true
+     */
+    public boolean isWritable(String sessionId) {
+        TrackedSession tracked = sessionId != null ? sessions.get(sessionId) : null;
+        return tracked == null || tracked.writeStartedAt == 0;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    private final class TrackedSession extends WebSocketSessionDecorator {
+
+        private volatile long writeStartedAt;
+
+        TrackedSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(@NonNull WebSocketMessage<?> message) throws IOException {
+            // ConcurrentWebSocketSessionDecorator가 세션당 한 스레드만 쓰도록 보장
+            writeStartedAt = System.nanoTime();
+            try {
+                super.sendMessage(message);
+            } finally {
+                writeStartedAt = 0;
+                for (SessionWriteListener listener : listeners) {
+                    listener.writeCompleted(getId());
+                }
+            }
+        }
+    }
+}
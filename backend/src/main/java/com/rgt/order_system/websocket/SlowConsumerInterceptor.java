@@ -0,0 +1,72 @@
+package com.rgt.order_system.websocket;
+
+import com.rgt.order_system.broadcast.OrderBroadcaster;
+import com.rgt.order_system.broadcast.OrderPayloadFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * clientOutboundChannel 인터셉터 - DROP 정책일 때 느린 구독자에게 가는 MESSAGE 프레임을 버립니다.
+ * 버려진 프레임은 브로커 출력 큐와 세션 버퍼를 차지하지 않으므로, 느린 세션 하나가
+ * 다른 구독자의 전송을 지연시키지 않습니다.
+ *
+ * 버리는 대상은 놓쳐도 주문 조회로 따라잡을 수 있는 주문 브로드캐스트 경로(형식별 /topic/orders와 그 아래 경로)뿐입니다.
+ * 요청한 세션에만 가는 응답(/user/...)이나 순번을 빠짐없이 받아야 하는 /topic/orders/deltas 등 다른 경로는
+ * 느린 세션이어도 그대로 보냅니다.
+ */
+@Slf4j
+@Component
+public class SlowConsumerInterceptor implements ChannelInterceptor {
+
+    private final SessionWriteTracker writeTracker;
+    private final SlowConsumerPolicy policy;
+    private final Counter droppedCounter;
+
+    public SlowConsumerInterceptor(SessionWriteTracker writeTracker,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${order.websocket.slow-consumer-policy:DISCONNECT}") SlowConsumerPolicy policy) {
+        this.writeTracker = writeTracker;
+        this.policy = policy;
+        this.droppedCounter = Counter.builder("orders.websocket.dropped")
+                .description("느린 구독자에게 보내지 않고 버린 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        if (policy != SlowConsumerPolicy.DROP
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (writeTracker.isSlow(sessionId)
+                && isDroppable(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+            droppedCounter.increment();
+            log.debug("느린 구독자 메시지 버림: sessionId={}", sessionId);
+            return null;
+        }
+        return message;
+    }
+
+    private static boolean isDroppable(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (OrderPayloadFormat format : OrderPayloadFormat.values()) {
+            String root = format.destination(OrderBroadcaster.ORDERS_DESTINATION);
+            if (destination.equals(root) || destination.startsWith(root + "/")) {
+                return !destination.equals(format.destination(OrderBroadcaster.DELTAS_DESTINATION));
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.rgt.order_system.websocket;
+
+/**
+ * 느린 구독자 처리 정책
+ */
+public enum SlowConsumerPolicy {
+    /**
+     * send-time-limit / send-buffer-size-limit를 넘으면 세션을 종료합니다. (Spring 기본 동작)
+     */
+    DISCONNECT,
+    /**
+     * 쓰기가 slow-consumer-threshold-ms 이상 막혀 있는 세션에는 주문 브로드캐스트 경로의 새 메시지를 보내지 않고 버립니다.
+     * 세션별 응답(/user/...)과 변경분 경로(/topic/orders/deltas)는 버리지 않습니다.
+     * 버퍼 한도를 넘으면 DISCONNECT와 마찬가지로 세션이 종료됩니다.
+     */
+    DROP
+}
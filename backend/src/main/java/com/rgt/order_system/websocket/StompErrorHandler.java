@@ -0,0 +1,54 @@
+package com.rgt.order_system.websocket;
+
+import com.rgt.order_system.ingest.Admission;
+import com.rgt.order_system.ingest.IngestRejectedException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * STOMP ERROR 프레임 - 주문 접수 한도에 걸린 경우 retry-after(초) 헤더를 붙입니다.
+ * STOMP 규약에 따라 ERROR 프레임 뒤에는 연결이 닫히므로, 클라이언트는 retry-after 후에 다시 연결합니다.
+ * 그 밖의 오류는 기본 처리와 같습니다.
+ */
+@Component
+public class StompErrorHandler extends StompSubProtocolErrorHandler {
+
+    static final String RETRY_AFTER_HEADER = "retry-after";
+
+    @Override
+    public Message<byte[]> handleClientMessageProcessingError(Message<byte[]> clientMessage, Throwable ex) {
+        IngestRejectedException rejected = findRejection(ex);
+        if (rejected == null) {
+            return super.handleClientMessageProcessingError(clientMessage, ex);
+        }
+        Admission admission = rejected.getAdmission();
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+        accessor.setMessage(rejected.getMessage());
+        accessor.setNativeHeader(RETRY_AFTER_HEADER, String.valueOf(admission.retryAfterSeconds()));
+        if (clientMessage != null) {
+            String receipt = StompHeaderAccessor.wrap(clientMessage).getReceipt();
+            if (receipt != null) {
+                accessor.setReceiptId(receipt);
+            }
+        }
+        accessor.setLeaveMutable(true);
+        byte[] body = ("주문 접수 한도를 초과했습니다. " + admission.retryAfterSeconds() + "초 후에 다시 시도해 주세요.")
+                .getBytes(StandardCharsets.UTF_8);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    private static IngestRejectedException findRejection(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IngestRejectedException rejected) {
+                return rejected;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.rgt.order_system.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * STOMP 지표 - 활성 세션 수와 채널 스레드풀 대기열 길이
+ *
+ * 세션 종료 이벤트는 같은 세션에 대해 여러 번 발생할 수 있으므로 카운터 대신 세션 ID 집합의 크기를 사용합니다.
+ * 채널 대기열은 WebSocketConfig에서 설정한 inbound/outbound/broker 채널 스레드풀의 대기 작업 수입니다.
+ * 가상 스레드로 실행되는 채널(virtual 프로필)은 대기열이 없으므로 대기열 지표를 등록하지 않습니다.
+ */
+@Component
+public class StompMetrics {
+
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    public StompMetrics(MeterRegistry meterRegistry,
+                        @Qualifier("clientInboundChannelExecutor") Executor inboundExecutor,
+                        @Qualifier("clientOutboundChannelExecutor") Executor outboundExecutor,
+                        @Qualifier("brokerChannelExecutor") Executor brokerExecutor) {
+        Gauge.builder("stomp.sessions.active", sessions, Set::size)
+                .description("연결된 STOMP 세션 수")
+                .register(meterRegistry);
+        queueGauge(meterRegistry, "inbound", inboundExecutor);
+        queueGauge(meterRegistry, "outbound", outboundExecutor);
+        queueGauge(meterRegistry, "broker", brokerExecutor);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            sessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    int activeSessions() {
+        return sessions.size();
+    }
+
+    private static void queueGauge(MeterRegistry meterRegistry, String channel, Executor executor) {
+        if (!(executor instanceof ThreadPoolTaskExecutor threadPool)) {
+            return;
+        }
+        Gauge.builder("stomp.channel.queue", threadPool, ThreadPoolTaskExecutor::getQueueSize)
+                .description("STOMP 채널 스레드풀에서 실행을 기다리는 메시지 수")
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.rgt.order_system.websocket;
+
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 구독 경로별 구독 수 - clientInboundChannel의 SUBSCRIBE/UNSUBSCRIBE/DISCONNECT를 보고 집계합니다.
+ *
+ * 브로드캐스터가 구독자가 없는 경로의 인코딩과 전송을 건너뛰는 데 사용합니다.
+ * 비정상 종료된 세션도 STOMP 처리기가 DISCONNECT를 보내므로 구독이 남지 않습니다.
+ */
+@Component
+public class SubscriptionIndex implements ChannelInterceptor {
+
+    // 세션 ID → (구독 ID → 구독 경로)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (type == null || sessionId == null) {
+            return message;
+        }
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        switch (type) {
+            case SUBSCRIBE -> subscribe(sessionId, subscriptionId,
+                    SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            case UNSUBSCRIBE -> unsubscribe(sessionId, subscriptionId);
+            case DISCONNECT -> disconnect(sessionId);
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    /**
+     * @return destination을 구독 중인 구독이 하나라도 있으면 true
+     */
+    public boolean hasSubscribers(String destination) {
+        return counts.containsKey(destination);
+    }
+
+    /**
+     * 라우팅 경로 전체의 구독 여부 - 구독 중인 경로 종류만큼만 확인합니다 (구독자 수와 무관).
+     * @return prefix로 시작하는 경로에 구독이 하나라도 있으면 true
+     */
+    public boolean hasSubscribersUnder(String prefix) {
+        for (String destination : counts.keySet()) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return destination의 구독 수
+     */
+    public int subscriberCount(String destination) {
+        return counts.getOrDefault(destination, 0);
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        if (subscriptionId == null || destination == null) {
+            return;
+        }
+        String previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        counts.merge(destination, 1, Integer::sum);
+    }
+
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null || subscriptionId == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    private void disconnect(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    // 0이 되면 키를 지워 hasSubscribers가 containsKey 한 번으로 끝나도록 함
+    private void decrement(String destination) {
+        counts.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
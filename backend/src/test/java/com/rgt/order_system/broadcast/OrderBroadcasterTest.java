@@ -0,0 +1,265 @@
+package com.rgt.order_system.broadcast;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.websocket.OrderUpdateCoalescer;
+import com.rgt.order_system.websocket.SubscriptionIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderBroadcasterTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private OrderStore orderStore;
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionIndex subscriptionIndex;
+    private OrderBroadcaster broadcaster;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        orderStore = new OrderStore();
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptionIndex = new SubscriptionIndex();
+        broadcaster = new OrderBroadcaster(orderStore, messagingTemplate,
+                new OrderPayloadCache(objectMapper), subscriptionIndex, new OrderReplayLog(64), meterRegistry, 200, 256, 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        broadcaster.stop();
+    }
+
+    /**
+     * window 안에 발생한 주문 추가와 상태 변경이 하나의 배치 프레임으로 전송되고,
+     * 같은 주문의 상태 변경은 마지막 상태 하나로 합쳐지는지 확인합니다.
+     */
+    @Test
+    void testEventsAreBatchedAndCoalesced() throws Exception {
+        // 브로드캐스트 스레드 시작 전에 이벤트를 쌓아 하나의 window에 들어가도록 함
+        orderStore.add(new Order(null, "김치찌개", 1, null));
+        orderStore.add(new Order(null, "된장찌개", 2, null));
+        orderStore.updateStatus(1, OrderStatus.COOKING);
+        orderStore.updateStatus(1, OrderStatus.READY);
+        broadcaster.start();
+
+        ArgumentCaptor<Message<?>> batchCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(2000).times(1))
+                .send(eq(OrderBroadcaster.BATCH_DESTINATION), batchCaptor.capture());
+        verify(messagingTemplate, timeout(2000).times(2))
+                .send(eq(OrderBroadcaster.ORDERS_DESTINATION), any(Message.class));
+
+        // 미리 인코딩된 JSON 바이트가 그대로 전송됨
+        Message<?> message = batchCaptor.getValue();
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        List<Order> batch = objectMapper.readValue((byte[]) message.getPayload(), new TypeReference<List<Order>>() {});
+        assertEquals(2, batch.size());
+        assertEquals(1L, batch.get(0).getId());
+        assertEquals(OrderStatus.READY.getLabel(), batch.get(0).getStatus());
+        assertEquals(2L, batch.get(1).getId());
+
+        broadcaster.stop(); // 전송 직후 기록되는 메트릭을 확인하기 위해 스레드 종료를 기다림
+        assertEquals(1, meterRegistry.get("orders.broadcast.batch.size").summary().count());
+        assertEquals(2.0, meterRegistry.get("orders.broadcast.batch.size").summary().totalAmount());
+        assertEquals(4, meterRegistry.get("orders.broadcast.delay").timer().count());
+        assertEquals(0, broadcaster.pendingCount());
+    }
+
+    /**
+     * 큐가 가득 차면 변경을 일으킨 스레드가 기다리지 않고, 넘친 이벤트는 버려지는지 확인합니다.
+     * 버린 변경에도 순번은 발급되어 재전송 기록에 남습니다.
+     */
+    @Test
+    void testFullQueueDropsInsteadOfBlocking() {
+        OrderStore store = new OrderStore();
+        OrderReplayLog replayLog = new OrderReplayLog(64);
+        OrderBroadcaster bounded = new OrderBroadcaster(store, messagingTemplate,
+                new OrderPayloadCache(objectMapper), new SubscriptionIndex(), replayLog, meterRegistry, 200, 256, 2);
+
+        // 작업 스레드를 시작하지 않아 큐가 비워지지 않음
+        for (int i = 0; i < 5; i++) {
+            store.add(new Order(null, "김치찌개", 1, null));
+        }
+
+        assertEquals(5, store.headId());
+        assertEquals(2, bounded.pendingCount());
+        assertEquals(3.0, meterRegistry.get("orders.broadcast.dropped").counter().count());
+        assertEquals(5, replayLog.headSeq()); // 버린 변경도 lastSeq 재전송으로 받을 수 있음
+    }
+
+    /**
+     * CBOR 배치 경로에 구독자가 있으면 같은 배치가 CBOR로도 전송되고,
+     * 구독자가 없는 CBOR 건별 경로로는 전송하지 않는지 확인합니다.
+     */
+    @Test
+    void testCborPublishedOnlyToSubscribedDestinations() throws Exception {
+        String cborBatch = OrderPayloadFormat.CBOR.destination(OrderBroadcaster.BATCH_DESTINATION);
+        subscribe("session-1", "sub-0", cborBatch);
+
+        orderStore.add(new Order(null, "김치찌개", 1, null));
+        orderStore.add(new Order(null, "된장찌개", 2, null));
+        broadcaster.start();
+
+        ArgumentCaptor<Message<?>> batchCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(2000).times(1)).send(eq(cborBatch), batchCaptor.capture());
+        verify(messagingTemplate, timeout(2000).times(1))
+                .send(eq(OrderBroadcaster.BATCH_DESTINATION), any(Message.class));
+        broadcaster.stop();
+        verify(messagingTemplate, never())
+                .send(eq(OrderPayloadFormat.CBOR.destination(OrderBroadcaster.ORDERS_DESTINATION)), any(Message.class));
+
+        Message<?> message = batchCaptor.getValue();
+        assertEquals(OrderPayloadFormat.CBOR.getMimeType(), message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        Order[] batch = new CBORMapper().readValue((byte[]) message.getPayload(), Order[].class);
+        assertEquals(2, batch.length);
+        assertEquals("된장찌개", batch[1].getFoodName());
+    }
+
+    /**
+     * 상태별 경로는 window 안에서 지나간 상태도 받고, 음식별 경로는 해당 음식의 최신 상태만 받으며,
+     * 구독자가 없는 경로로는 전송하지 않는지 확인합니다.
+     */
+    @Test
+    void testRoutedDestinations() throws Exception {
+        String ready = OrderBroadcaster.statusDestination(OrderStatus.READY);
+        String doenjang = OrderBroadcaster.itemDestination("된장찌개");
+        subscribe("pickup", "sub-0", ready);
+        subscribe("station", "sub-0", doenjang);
+
+        orderStore.add(new Order(null, "김치찌개", 1, null));
+        orderStore.add(new Order(null, "된장찌개", 2, null));
+        orderStore.updateStatus(1, OrderStatus.COOKING);
+        orderStore.updateStatus(1, OrderStatus.READY);
+        orderStore.updateStatus(1, OrderStatus.DONE);
+        broadcaster.start();
+
+        ArgumentCaptor<Message<?>> readyCaptor = ArgumentCaptor.forClass(Message.class);
+        ArgumentCaptor<Message<?>> itemCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(2000).times(1)).send(eq(ready), readyCaptor.capture());
+        verify(messagingTemplate, timeout(2000).times(1)).send(eq(doenjang), itemCaptor.capture());
+        broadcaster.stop();
+        verify(messagingTemplate, never())
+                .send(eq(OrderBroadcaster.statusDestination(OrderStatus.COOKING)), any(Message.class));
+        verify(messagingTemplate, never())
+                .send(eq(OrderBroadcaster.itemDestination("김치찌개")), any(Message.class));
+
+        Order readyOrder = objectMapper.readValue((byte[]) readyCaptor.getValue().getPayload(), Order.class);
+        assertEquals(1L, readyOrder.getId());
+        assertEquals(OrderStatus.READY.getLabel(), readyOrder.getStatus());
+        assertEquals(2L, objectMapper.readValue((byte[]) itemCaptor.getValue().getPayload(), Order.class).getId());
+        assertEquals(1L, readyCaptor.getValue().getHeaders().get(OrderUpdateCoalescer.ORDER_ID_HEADER));
+        assertEquals(2L, itemCaptor.getValue().getHeaders().get(OrderUpdateCoalescer.ORDER_ID_HEADER));
+    }
+
+    /**
+     * 변경분 경로에는 병합 없이 모든 변경이 순번 순서대로 전송되는지 확인합니다.
+     */
+    @Test
+    void testDeltasCarrySequenceNumbers() throws Exception {
+        subscribe("dashboard", "sub-0", OrderBroadcaster.DELTAS_DESTINATION);
+
+        orderStore.add(new Order(null, "김치찌개", 1, null));
+        orderStore.updateStatus(1, OrderStatus.COOKING);
+        orderStore.add(new Order(null, "된장찌개", 2, null));
+        broadcaster.start();
+
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, timeout(2000).times(1)).send(eq(OrderBroadcaster.DELTAS_DESTINATION), captor.capture());
+
+        List<Map<String, Object>> deltas = objectMapper.readValue((byte[]) captor.getValue().getPayload(),
+                new TypeReference<List<Map<String, Object>>>() {});
+        assertEquals(3, deltas.size());
+        for (int i = 0; i < deltas.size(); i++) {
+            assertEquals(i + 1, ((Number) deltas.get(i).get("seq")).intValue());
+        }
+        assertEquals(OrderStatus.COOKING.getLabel(), ((Map<?, ?>) deltas.get(1).get("order")).get("status"));
+    }
+
+    /**
+     * 여러 스레드가 동시에 주문을 추가해도 순번을 받은 주문은 모두 headId 안에 있어,
+     * headSeq()를 읽은 뒤의 저장소 조회(동기화 스냅샷)에서 빠지는 주문이 없는지 확인합니다.
+     */
+    @Test
+    void testSequencedOrdersAreVisibleUnderConcurrentWriters() throws Exception {
+        int writers = 4;
+        int ordersPerWriter = 5_000;
+        OrderStore store = new OrderStore();
+        OrderReplayLog replayLog = new OrderReplayLog(writers * ordersPerWriter);
+        new OrderBroadcaster(store, messagingTemplate, new OrderPayloadCache(objectMapper), subscriptionIndex,
+                replayLog, new SimpleMeterRegistry(), 200, 256, writers * ordersPerWriter);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < ordersPerWriter; i++) {
+                    store.add(new Order(null, "김치찌개", 1, null));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        boolean writing = true;
+        while (writing) {
+            writing = threads.stream().anyMatch(Thread::isAlive);
+            long seq = replayLog.headSeq();
+            for (OrderDelta delta : replayLog.since(0)) {
+                if (delta.seq() <= seq) {
+                    assertNotNull(store.get(delta.order().getId()), "순번 " + delta.seq() + "의 주문이 보이지 않음");
+                }
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(writers * ordersPerWriter, replayLog.headSeq()); // 보류된 변경 없이 모두 순번을 받음
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        subscriptionIndex.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()),
+                mock(MessageChannel.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.rgt.order_system.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderPayloadCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderPayloadCache cache = new OrderPayloadCache(objectMapper);
+
+    /**
+     * 같은 (주문 ID, 버전)은 한 번만 인코딩되어 같은 배열을 재사용하고,
+     * 상태가 바뀌면 새로 인코딩되는지 확인합니다.
+     */
+    @Test
+    void testEncodeOncePerVersion() throws Exception {
+        Order received = new Order(1L, "김치찌개", 2, OrderStatus.RECEIVED.getLabel());
+        Order cooking = new Order(1L, "김치찌개", 2, OrderStatus.COOKING.getLabel());
+
+        byte[] first = cache.encode(received);
+        assertSame(first, cache.encode(received));
+
+        byte[] updated = cache.encode(cooking);
+        assertNotSame(first, updated);
+        assertEquals(OrderStatus.COOKING.getLabel(), objectMapper.readValue(updated, Order.class).getStatus());
+    }
+
+    /**
+     * 캐시된 주문 JSON을 이어 붙인 배열이 Jackson 직렬화 결과와 같은지 확인합니다.
+     */
+    @Test
+    void testEncodeArrayMatchesJackson() throws Exception {
+        List<Order> orders = List.of(
+                new Order(2L, "된장찌개", 1, OrderStatus.RECEIVED.getLabel()),
+                new Order(1L, "김치찌개", 3, OrderStatus.DONE.getLabel()));
+
+        assertEquals(objectMapper.writeValueAsString(orders),
+                new String(cache.encodeArray(orders), StandardCharsets.UTF_8));
+        assertEquals("[]", new String(cache.encodeArray(List.of()), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 캐시된 주문 CBOR을 이어 붙인 배열이 배열 헤더 길이(1/2/3바이트)와 관계없이 그대로 읽히고,
+     * 같은 주문의 JSON보다 작은지 확인합니다.
+     */
+    @Test
+    void testEncodeCborArray() throws Exception {
+        CBORMapper cborMapper = new CBORMapper();
+        for (int size : new int[]{0, 1, 23, 24, 255, 256}) {
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                orders.add(new Order((long) i + 1, "김치찌개", 1 + (i & 3), OrderStatus.RECEIVED.getLabel()));
+            }
+
+            Order[] decoded = cborMapper.readValue(cache.encodeArray(orders, OrderPayloadFormat.CBOR), Order[].class);
+            assertEquals(size, decoded.length);
+            for (int i = 0; i < size; i++) {
+                assertEquals(orders.get(i).getId(), decoded[i].getId());
+                assertEquals(orders.get(i).getQuantity(), decoded[i].getQuantity());
+            }
+        }
+
+        Order order = new Order(1L, "김치찌개", 2, OrderStatus.RECEIVED.getLabel());
+        assertTrue(cache.encode(order, OrderPayloadFormat.CBOR).length < cache.encode(order).length);
+        assertEquals("김치찌개", cborMapper.readValue(cache.encode(order, OrderPayloadFormat.CBOR), Order.class).getFoodName());
+    }
+
+    /**
+     * 순번이 붙은 변경 목록이 Jackson으로 직렬화한 결과와 같은지 확인합니다.
+     */
+    @Test
+    void testEncodeDeltasMatchesJackson() throws Exception {
+        List<OrderDelta> deltas = List.of(
+                new OrderDelta(7, new Order(1L, "김치찌개", 2, OrderStatus.RECEIVED.getLabel())),
+                new OrderDelta(8, new Order(1L, "김치찌개", 2, OrderStatus.COOKING.getLabel())));
+
+        assertEquals(objectMapper.writeValueAsString(deltas),
+                new String(cache.encodeDeltas(deltas), StandardCharsets.UTF_8));
+        assertEquals("[]", new String(cache.encodeDeltas(List.of()), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package com.rgt.order_system.broadcast;
+
+import com.rgt.order_system.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderReplayLogTest {
+
+    /**
+     * 보관 범위 안의 순번이면 이후 변경을 순서대로 돌려주고,
+     * 덮어써진 순번이나 발급된 적 없는 순번이면 null(스냅샷 필요)을 돌려주는지 확인합니다.
+     */
+    @Test
+    void testSinceWithinAndOutsideRing() {
+        OrderReplayLog log = new OrderReplayLog(4);
+        assertEquals(0, log.headSeq());
+        assertEquals(List.of(), log.since(0));
+
+        for (long id = 1; id <= 6; id++) {
+            assertEquals(id, log.append(new Order(id, "김치찌개", 1, null)).seq());
+        }
+        assertEquals(6, log.headSeq());
+
+        List<OrderDelta> deltas = log.since(3);
+        assertEquals(3, deltas.size());
+        assertEquals(4, deltas.get(0).seq());
+        assertEquals(6L, deltas.get(2).order().getId());
+        assertEquals(4, log.since(2).size());
+        assertEquals(List.of(), log.since(6));
+
+        assertNull(log.since(1)); // 2번은 이미 덮어써짐
+        assertNull(log.since(7)); // 서버 재시작 등으로 순번이 앞선 경우
+        assertNull(log.since(-1));
+    }
+
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new OrderReplayLog(5).capacity());
+        assertEquals(8192, new OrderReplayLog(8192).capacity());
+    }
+}
@@ -0,0 +1,152 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.BumjunkimApplication;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드(virtual 프로필) 롱폴링 비교 (./gradlew loadTest -PjavaVersion=21)
+ *
+ * /api/orders/since?waitMs= 요청을 단계별로(1,000 → 8,000개) 동시에 보류시킨 뒤 주문 하나를 추가하고,
+ * 모든 클라이언트가 응답을 받을 때까지의 지연(p99)을 기록합니다.
+ * 모든 요청이 보류되고 응답을 받은 가장 큰 단계를 최대 동시 클라이언트 수로 봅니다.
+ */
+@Slf4j
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class LongPollThreadingLoadTest {
+
+    private static final int[] CLIENT_STEPS = {1000, 2000, 4000, 8000};
+    private static final long WAIT_MS = 30_000;
+
+    private static final Map<Boolean, Integer> maxClients = new ConcurrentHashMap<>();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void longPollClients(boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BumjunkimApplication.class)
+                .properties(
+                        "server.port=0",
+                        "custom.websocket.sockjs.enabled=false",
+                        "server.tomcat.max-connections=20000",
+                        "logging.level.com.rgt.order_system=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual");
+        }
+        String mode = virtualThreads ? "가상 스레드" : "플랫폼 스레드";
+
+        // HttpClient.close()는 Java 21부터 있으므로 Java 17 테스트 컴파일을 위해 사용하지 않음
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        try (var context = (ServletWebServerApplicationContext) builder.run()) {
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            OrderStore orderStore = context.getBean(OrderStore.class);
+            OrderLongPollRegistry registry = context.getBean(OrderLongPollRegistry.class);
+
+            int reached = 0;
+            for (int clients : CLIENT_STEPS) {
+                long[] latencies = runStep(client, baseUrl, orderStore, registry, clients);
+                if (latencies == null) {
+                    log.info("{}: 동시 롱폴링 {}개 실패", mode, clients);
+                    break;
+                }
+                reached = clients;
+                log.info("{}: 동시 롱폴링 {}개 - 응답 지연 p50={}ms, p99={}ms",
+                        mode, clients, percentile(latencies, 0.50), percentile(latencies, 0.99));
+            }
+            maxClients.put(virtualThreads, reached);
+        }
+    }
+
+    @AfterAll
+    static void compare() {
+        Integer platform = maxClients.get(false);
+        Integer virtual = maxClients.get(true);
+        log.info("최대 동시 롱폴링 클라이언트 - 플랫폼 스레드: {}, 가상 스레드: {}", platform, virtual);
+        if (platform != null && virtual != null) {
+            assertTrue(virtual >= platform, "가상 스레드 모드가 더 적은 롱폴링 클라이언트를 처리했습니다.");
+        }
+    }
+
+    /**
+     * @return 클라이언트별 응답 지연(ms, 정렬됨), 보류되지 않았거나 응답을 받지 못한 요청이 있으면 null
+     */
+    private static long[] runStep(HttpClient client, String baseUrl, OrderStore orderStore,
+                                  OrderLongPollRegistry registry, int clients) throws InterruptedException {
+        URI uri = URI.create(baseUrl + "/api/orders/since?lastId=" + orderStore.headId() + "&waitMs=" + WAIT_MS);
+        long[] completedAt = new long[clients];
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMillis(WAIT_MS * 2)).build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> completedAt[index] = System.nanoTime()));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (registry.waitingCount() < clients) {
+            if (System.nanoTime() > deadline) {
+                drain(orderStore, responses);
+                return null;
+            }
+            Thread.sleep(10);
+        }
+
+        long addedAt = System.nanoTime();
+        orderStore.add(new Order(null, "longpoll", 1, null));
+
+        long[] latencies = new long[clients];
+        for (int i = 0; i < clients; i++) {
+            try {
+                HttpResponse<Void> response = responses.get(i).get(WAIT_MS, TimeUnit.MILLISECONDS);
+                if (response.statusCode() != 200) {
+                    return null;
+                }
+            } catch (Exception e) {
+                return null;
+            }
+            latencies[i] = TimeUnit.NANOSECONDS.toMillis(completedAt[i] - addedAt);
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    // 실패한 단계의 보류 요청을 모두 완료시켜 다음 모드에 영향이 없도록 함
+    private static void drain(OrderStore orderStore, List<CompletableFuture<HttpResponse<Void>>> responses) {
+        orderStore.add(new Order(null, "drain", 1, null));
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, WAIT_MS, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> null)
+                .join();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
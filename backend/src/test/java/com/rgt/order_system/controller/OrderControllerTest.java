@@ -1,21 +1,27 @@
 package com.rgt.order_system.controller;
+import com.rgt.order_system.ingest.IdempotencyCache;
+import com.rgt.order_system.ingest.IngestLimiter;
+import com.rgt.order_system.ingest.OrderBatchIngest;
+import com.rgt.order_system.metrics.OrderMetrics;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doNothing;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.slf4j.Logger;
@@ -32,16 +38,22 @@ public class OrderControllerTest {
 
     private MockMvc mockMvc;
 
-    @Mock
-    private SimpMessagingTemplate messagingTemplate;
-
-    @InjectMocks
     private OrderController orderController;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrderStore orderStore;
+
     @BeforeEach
     void setUp() {
         // MockMvc 및 Mockito 초기화
         MockitoAnnotations.openMocks(this);
+        orderStore = new OrderStore();
+        meterRegistry = new SimpleMeterRegistry();
+        OrderBatchIngest batchIngest = new OrderBatchIngest(orderStore, new IdempotencyCache(60_000, 1000), 3);
+        IngestLimiter ingestLimiter = new IngestLimiter(100_000, 100_000, 100_000, 100_000, 100, Integer.MAX_VALUE,
+                meterRegistry, () -> 0, System::nanoTime);
+        orderController = new OrderController(orderStore, batchIngest, ingestLimiter, new OrderMetrics(meterRegistry, orderStore));
         mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
     }
 
@@ -65,6 +77,10 @@ public class OrderControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("text/plain;charset=UTF-8"))
                 .andExpect(content().string("주문이 접수되었습니다."));
+
+        // 주문 접수 시간과 저장소 크기 지표
+        assertEquals(1, meterRegistry.get(OrderMetrics.REQUESTS).tag("operation", "createOrder").timer().count());
+        assertEquals(1.0, meterRegistry.get("orders.store.size").gauge().value());
     }
 
     // 테스트용 주문 변경
@@ -93,6 +109,151 @@ public class OrderControllerTest {
                 .andExpect(content().string("주문 상태가 업데이트되었습니다."));
     }
 
+    // 주문 ID 기준 상태 변경 - 정상 전이
+    @Test
+    void testUpdateOrderStatusById_Success() throws Exception {
+        createPizzaOrder();
+
+        mockMvc.perform(put("/api/orders/1/status")
+                        .param("status", "COOKING")
+                        .characterEncoding("UTF-8"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("주문 상태가 업데이트되었습니다."));
+
+        mockMvc.perform(put("/api/orders/1/status")
+                        .param("status", "준비완료")
+                        .characterEncoding("UTF-8"))
+                .andExpect(status().isOk());
+    }
+
+    // 이전 단계로 되돌리는 상태 변경은 409로 거부
+    @Test
+    void testUpdateOrderStatusById_IllegalTransition() throws Exception {
+        createPizzaOrder();
+
+        mockMvc.perform(put("/api/orders/1/status").param("status", "DONE"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/orders/1/status").param("status", "COOKING"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(put("/api/orders/1/status").param("status", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // 존재하지 않는 주문 ID는 404
+    @Test
+    void testUpdateOrderStatusById_NotFound() throws Exception {
+        mockMvc.perform(put("/api/orders/100/status").param("status", "COOKING"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("존재하지 않는 주문입니다."));
+    }
+
+    // 일괄 접수 - 연속된 ID 블록, 같은 키로 재시도하면 처음 접수된 ID를 돌려주고 새 주문을 만들지 않음
+    @Test
+    void testCreateOrdersBatch_Idempotent() throws Exception {
+        String batchJson = """
+        [
+            {"idempotencyKey": "pos-1", "foodName": "김치찌개", "quantity": 1},
+            {"idempotencyKey": "pos-2", "foodName": "된장찌개", "quantity": 2},
+            {"foodName": "비빔밥", "quantity": 1}
+        ]
+        """;
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[2].id").value(3))
+                .andExpect(jsonPath("$[0].duplicate").value(false));
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content("""
+                        [{"idempotencyKey": "pos-2", "foodName": "된장찌개", "quantity": 2}]
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].duplicate").value(true));
+
+        assertEquals(3, orderStore.headId());
+        assertEquals(2, meterRegistry.get(OrderMetrics.REQUESTS).tag("operation", "createOrders").timer().count());
+    }
+
+    // 한도(테스트에서는 3건)를 넘는 일괄 접수는 400
+    @Test
+    void testCreateOrdersBatch_TooLarge() throws Exception {
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"foodName\":\"a\"},{\"foodName\":\"b\"},{\"foodName\":\"c\"},{\"foodName\":\"d\"}]"))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, orderStore.headId());
+    }
+
+    // 건수 한도를 넘어 400으로 거절된 일괄 접수는 접수 한도를 쓰지 않음
+    @Test
+    void testCreateOrdersBatch_TooLargeKeepsPermits() throws Exception {
+        // 클라이언트당 초당 1건, 버스트 2건 (시계는 멈춰 있음), 일괄 접수는 최대 2건
+        IngestLimiter ingestLimiter = new IngestLimiter(1, 2, 1000, 1000, 100, Integer.MAX_VALUE,
+                meterRegistry, () -> 0, () -> 0L);
+        OrderBatchIngest batchIngest = new OrderBatchIngest(orderStore, new IdempotencyCache(60_000, 1000), 2);
+        MockMvc limited = MockMvcBuilders.standaloneSetup(
+                new OrderController(orderStore, batchIngest, ingestLimiter, new OrderMetrics(meterRegistry, orderStore))).build();
+
+        limited.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"foodName\":\"a\"},{\"foodName\":\"b\"},{\"foodName\":\"c\"}]"))
+                .andExpect(status().isBadRequest());
+        limited.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"foodName\":\"a\",\"quantity\":1},{\"foodName\":\"b\",\"quantity\":1}]"))
+                .andExpect(status().isOk());
+
+        assertEquals(2, orderStore.headId());
+    }
+
+    // 접수 한도를 넘으면 429와 Retry-After, 일괄 접수는 주문 수만큼 한도를 사용
+    @Test
+    void testCreateOrder_RateLimited() throws Exception {
+        // 클라이언트당 초당 1건, 버스트 2건 (시계는 멈춰 있음)
+        IngestLimiter ingestLimiter = new IngestLimiter(1, 2, 1000, 1000, 100, Integer.MAX_VALUE,
+                meterRegistry, () -> 0, () -> 0L);
+        OrderBatchIngest batchIngest = new OrderBatchIngest(orderStore, new IdempotencyCache(60_000, 1000), 10);
+        MockMvc limited = MockMvcBuilders.standaloneSetup(
+                new OrderController(orderStore, batchIngest, ingestLimiter, new OrderMetrics(meterRegistry, orderStore))).build();
+
+        limited.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"foodName\":\"a\",\"quantity\":1},{\"foodName\":\"b\",\"quantity\":1}]"))
+                .andExpect(status().isOk());
+        limited.perform(post("/api/order")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content("{\"foodName\":\"Pizza\",\"quantity\":1}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        assertEquals(2, orderStore.headId());
+        assertEquals(1.0, meterRegistry.get("orders.ingest.rejected").tag("reason", "client").counter().count());
+    }
+
+    private void createPizzaOrder() throws Exception {
+        mockMvc.perform(post("/api/order")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content("""
+                        {
+                            "foodName": "Pizza",
+                            "quantity": 2
+                        }
+                        """))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void test1000Orders_Requests() throws Exception {
         int numThreads = 1000;
@@ -132,7 +293,7 @@ public class OrderControllerTest {
     // 테스트용 없는 주문 확인
     @Test
     void testUpdateOrderStatus_InvalidIndex() throws Exception {
-        mockMvc.perform(put("/order/100") // 존재하지 않는 인덱스
+        mockMvc.perform(put("/api/order/100") // 존재하지 않는 인덱스
                         .param("status", "조리중")
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .characterEncoding("UTF-8")) // 요청 인코딩
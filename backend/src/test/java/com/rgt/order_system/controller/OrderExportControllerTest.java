@@ -0,0 +1,87 @@
+package com.rgt.order_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class OrderExportControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderStore orderStore;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        orderStore = new OrderStore();
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new OrderExportController(orderStore, new OrderPayloadCache(objectMapper))).build();
+        for (int i = 1; i <= 10; i++) {
+            orderStore.add(new Order(null, "메뉴" + i, i, null));
+        }
+        orderStore.updateStatus(4, OrderStatus.DONE);
+        orderStore.updateStatus(6, OrderStatus.DONE);
+        orderStore.updateStatus(9, OrderStatus.DONE);
+    }
+
+    // ID 범위와 상태 조건에 맞는 주문만 한 줄에 하나씩
+    @Test
+    void testExportNdjsonWithFilters() throws Exception {
+        String body = export("/api/orders/export?fromId=3&toId=8&status=DONE");
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(4, objectMapper.readValue(lines[0], Order.class).getId());
+        assertEquals(6, objectMapper.readValue(lines[1], Order.class).getId());
+
+        assertEquals(10, export("/api/orders/export").split("\n").length);
+        assertEquals(7, export("/api/orders/export?status=접수됨").split("\n").length);
+    }
+
+    // CSV는 머리글 다음에 주문마다 한 줄, 쉼표/따옴표가 있는 값은 따옴표로 감쌈
+    @Test
+    void testExportCsvQuotesFields() throws Exception {
+        orderStore.add(new Order(null, "떡볶이, \"매운맛\"", 2, null));
+
+        MvcResult pending = mockMvc.perform(get("/api/orders/export").param("format", "csv").param("fromId", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-10-11.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals("id,foodName,quantity,status\r\n"
+                + "10,메뉴10,10,접수됨\r\n"
+                + "11,\"떡볶이, \"\"매운맛\"\"\",2,접수됨\r\n", body);
+    }
+
+    @Test
+    void testExportRejectsUnknownFormatOrStatus() throws Exception {
+        mockMvc.perform(get("/api/orders/export").param("format", "xml")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/export").param("status", "배달중")).andExpect(status().isBadRequest());
+    }
+
+    private String export(String url) throws Exception {
+        MvcResult pending = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(OrderExportController.NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.rgt.order_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 주문 100만 건 내보내기 - 작은 힙(64MB)에서 실행합니다 (./gradlew exportTest)
+ *
+ * 저장소(주문당 12바이트)는 힙에 들어가지만, 주문 100만 건의 Order 목록이나 응답 전체를 메모리에 만들면
+ * OutOfMemoryError가 납니다. 응답은 바이트 수와 줄 수만 세고 버립니다.
+ */
+@Slf4j
+@Tag("export")
+public class OrderExportLoadTest {
+
+    private static final int ORDER_COUNT = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ndjson", "csv"})
+    void exportOneMillionOrders(String format) throws Exception {
+        OrderStore store = new OrderStore();
+        for (int i = 0; i < ORDER_COUNT; i += BATCH_SIZE) {
+            List<Order> batch = new ArrayList<>(BATCH_SIZE);
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                batch.add(new Order(null, "메뉴" + (j % 50), j % 5 + 1, null));
+            }
+            store.addAll(batch);
+        }
+        for (long id = 2; id <= ORDER_COUNT; id += 2) {
+            store.updateStatus(id, OrderStatus.DONE);
+        }
+        OrderExportController controller = new OrderExportController(store, new OrderPayloadCache(new ObjectMapper()));
+
+        CountingOutputStream all = new CountingOutputStream();
+        long start = System.nanoTime();
+        StreamingResponseBody body = controller.exportOrders(format, 1, null, null).getBody();
+        body.writeTo(all);
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        int header = "csv".equals(format) ? 1 : 0;
+        assertEquals(ORDER_COUNT + header, all.lines);
+
+        CountingOutputStream done = new CountingOutputStream();
+        controller.exportOrders(format, 1, null, "DONE").getBody().writeTo(done);
+        assertEquals(ORDER_COUNT / 2 + header, done.lines);
+
+        log.info("주문 100만 건 내보내기({}): {} ms, {} MB, 최대 힙 {} MB", format, elapsedMs,
+                all.bytes / (1024 * 1024), Runtime.getRuntime().maxMemory() / (1024 * 1024));
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
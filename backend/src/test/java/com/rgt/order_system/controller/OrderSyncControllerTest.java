@@ -0,0 +1,91 @@
+package com.rgt.order_system.controller;
+
+import com.rgt.order_system.broadcast.OrderReplayLog;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.OrderStoreListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderSyncControllerTest {
+
+    private OrderStore orderStore;
+    private OrderReplayLog replayLog;
+    private OrderSyncController controller;
+
+    @BeforeEach
+    void setUp() {
+        orderStore = new OrderStore();
+        replayLog = new OrderReplayLog(4);
+        // 브로드캐스터처럼 저장소 반영 후 순번 발급
+        orderStore.addListener(new OrderStoreListener() {
+            @Override
+            public void orderAdded(Order order) {
+                replayLog.append(order);
+            }
+
+            @Override
+            public void statusChanged(Order previous, Order current) {
+                replayLog.append(current);
+            }
+        });
+        controller = new OrderSyncController(orderStore, replayLog, 2);
+        for (int i = 0; i < 3; i++) {
+            orderStore.add(new Order(null, "김치찌개", 1, null));
+        }
+    }
+
+    /**
+     * lastSeq가 없으면 최신 주문 스냅샷과 그 시점의 순번을 돌려주는지 확인합니다.
+     */
+    @Test
+    void testSnapshotWithoutLastSeq() {
+        OrderSync sync = controller.sync(headers(null, null));
+
+        assertTrue(sync.reset());
+        assertEquals(3, sync.seq());
+        assertEquals(2, sync.orders().size());
+        assertEquals(3L, sync.orders().get(0).getId());
+        assertTrue(sync.deltas().isEmpty());
+
+        assertEquals(3, controller.sync(headers(null, "5")).orders().size());
+    }
+
+    /**
+     * 재전송 범위 안의 lastSeq면 이후 변경만, 범위를 벗어나면 스냅샷을 돌려주는지 확인합니다.
+     */
+    @Test
+    void testResumeFromLastSeq() {
+        orderStore.updateStatus(1, OrderStatus.COOKING);
+
+        OrderSync resumed = controller.sync(headers("3", null));
+        assertFalse(resumed.reset());
+        assertEquals(4, resumed.seq());
+        assertEquals(1, resumed.deltas().size());
+        assertEquals(OrderStatus.COOKING.getLabel(), resumed.deltas().get(0).order().getStatus());
+
+        OrderSync upToDate = controller.sync(headers("4", null));
+        assertFalse(upToDate.reset());
+        assertEquals(4, upToDate.seq());
+
+        orderStore.updateStatus(1, OrderStatus.READY); // 순번 5 - 1번 순번이 링에서 밀려남
+        assertTrue(controller.sync(headers("0", null)).reset());
+        assertTrue(controller.sync(headers("not-a-number", null)).reset());
+    }
+
+    private static SimpMessageHeaderAccessor headers(String lastSeq, String size) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        if (lastSeq != null) {
+            accessor.addNativeHeader(OrderSyncController.LAST_SEQ_HEADER, lastSeq);
+        }
+        if (size != null) {
+            accessor.addNativeHeader(OrderSyncController.SIZE_HEADER, size);
+        }
+        return accessor;
+    }
+}
@@ -0,0 +1,190 @@
+package com.rgt.order_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.broadcast.OrderPayloadCache;
+import com.rgt.order_system.ingest.IdempotencyCache;
+import com.rgt.order_system.ingest.OrderBatchIngest;
+import com.rgt.order_system.metrics.OrderMetrics;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderWebSocketControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private OrderStore orderStore;
+    private OrderLongPollRegistry longPollRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderWebSocketController controller;
+
+    @BeforeEach
+    void setUp() {
+        orderStore = new OrderStore();
+        longPollRegistry = new OrderLongPollRegistry(orderStore);
+        longPollRegistry.start();
+        meterRegistry = new SimpleMeterRegistry();
+        controller = new OrderWebSocketController(messagingTemplate, orderStore, longPollRegistry,
+                new OrderPayloadCache(new ObjectMapper()),
+                new OrderBatchIngest(orderStore, new IdempotencyCache(60_000, 1000), 1000),
+                new OrderMetrics(meterRegistry, orderStore));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        longPollRegistry.stop();
+    }
+
+    // 새 주문이 없으면 304, 있으면 최신순 목록과 ETag 반환
+    @Test
+    void testOrdersSinceNotModified() throws Exception {
+        mockMvc.perform(get("/api/orders/since").param("lastId", "0"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        orderStore.add(new Order(null, "김치찌개", 1, "접수됨"));
+        orderStore.add(new Order(null, "된장찌개", 1, "접수됨"));
+
+        mockMvc.perform(get("/api/orders/since").param("lastId", "0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(2));
+
+        mockMvc.perform(get("/api/orders/since").param("lastId", "2"))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/orders/since").param("lastId", "1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified());
+    }
+
+    // 롱폴링 요청은 새 주문이 추가될 때 완료됨
+    @Test
+    void testOrdersSinceLongPollCompletesOnNewOrder() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/orders/since")
+                        .param("lastId", "0")
+                        .param("waitMs", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, longPollRegistry.waitingCount());
+
+        orderStore.add(new Order(null, "비빔밥", 2, "접수됨"));
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].foodName").value("비빔밥"));
+        assertEquals(0, longPollRegistry.waitingCount());
+    }
+
+    // 커서(before) 기반 페이지네이션
+    @Test
+    void testPaginationWithBeforeCursor() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            orderStore.add(new Order(null, "menu-" + i, 1, "접수됨"));
+        }
+
+        mockMvc.perform(get("/api/orders").param("before", "21").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].id").value(20))
+                .andExpect(jsonPath("$[9].id").value(11));
+
+        mockMvc.perform(get("/api/orders").param("page", "1").param("size", "10"))
+                .andExpect(jsonPath("$[0].id").value(20));
+    }
+
+    // 상태/음식 이름 조건 조회 - 페이지와 커서는 조건에 맞는 주문 기준
+    @Test
+    void testPaginationWithFilters() throws Exception {
+        for (int i = 1; i <= 30; i++) {
+            orderStore.add(new Order(null, i % 2 == 0 ? "김치찌개" : "라면", 1, null));
+        }
+        for (long id = 3; id <= 30; id += 3) {
+            orderStore.updateStatus(id, OrderStatus.COOKING);
+        }
+
+        mockMvc.perform(get("/api/orders").param("status", "COOKING").param("foodName", "김치찌개"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].id").value(30))
+                .andExpect(jsonPath("$[4].id").value(6));
+
+        mockMvc.perform(get("/api/orders").param("status", "조리중").param("page", "1").param("size", "4"))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].id").value(18))
+                .andExpect(jsonPath("$[3].id").value(9));
+
+        mockMvc.perform(get("/api/orders").param("foodName", "라면").param("before", "10").param("size", "2"))
+                .andExpect(jsonPath("$[0].id").value(9))
+                .andExpect(jsonPath("$[1].id").value(7));
+
+        mockMvc.perform(get("/api/orders").param("foodName", "비빔밥"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/orders").param("status", "배달중")).andExpect(status().isBadRequest());
+    }
+
+    // 전체 조회는 목록을 만들지 않고 ID 오름차순 JSON 배열로 스트리밍
+    @Test
+    void testGetAllOrdersStreamsJsonArray() throws Exception {
+        MvcResult empty = mockMvc.perform(get("/api/getallorders"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(empty))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+
+        for (int i = 1; i <= 3; i++) {
+            orderStore.add(new Order(null, "메뉴" + i, i, null));
+        }
+        MvcResult pending = mockMvc.perform(get("/api/getallorders"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[2].foodName").value("메뉴3"));
+    }
+
+    // 주문 접수/조회 핸들러마다 처리 시간이 기록됨
+    @Test
+    void testHandlerTimersRecorded() throws Exception {
+        controller.handleOrder(new Order(null, "김밥", 1, null));
+        controller.handleOrder(new Order(null, "라면", 1, null));
+        mockMvc.perform(get("/api/orders")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders/since").param("lastId", "0")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders/since").param("lastId", "2")).andExpect(status().isNotModified());
+
+        assertEquals(2, requestCount("handleOrder"));
+        assertEquals(1, requestCount("getOrdersWithPagination"));
+        assertEquals(2, requestCount("getOrdersSince"));
+        assertEquals(2.0, meterRegistry.get("orders.store.size").gauge().value());
+    }
+
+    private long requestCount(String operation) {
+        return meterRegistry.get(OrderMetrics.REQUESTS).tag("operation", operation).timer().count();
+    }
+}
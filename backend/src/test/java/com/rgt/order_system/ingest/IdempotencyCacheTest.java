@@ -0,0 +1,63 @@
+package com.rgt.order_system.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * 예약된 키는 ttl 동안 중복으로 보고되고, 만료되면 다시 예약할 수 있는지 확인합니다.
+     */
+    @Test
+    void testReserveUntilExpired() {
+        IdempotencyCache cache = new IdempotencyCache(1000, 100, now::get);
+
+        assertNull(cache.reserve("a"));
+        IdempotencyCache.Entry pending = cache.reserve("a");
+        assertNotNull(pending);
+        assertNull(pending.orderId()); // 처리 중
+
+        cache.complete("a", 42);
+        assertEquals(42L, cache.reserve("a").orderId());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertNull(cache.reserve("a"));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * 보관 한도를 넘으면 가장 오래된 키부터 지워지는지 확인합니다.
+     */
+    @Test
+    void testBoundedByMaxKeys() {
+        IdempotencyCache cache = new IdempotencyCache(60_000, 3, now::get);
+        for (int i = 0; i < 10; i++) {
+            assertNull(cache.reserve("key-" + i));
+            now.incrementAndGet();
+        }
+        assertEquals(3, cache.size());
+        assertNull(cache.reserve("key-0"));
+        assertNotNull(cache.reserve("key-9"));
+    }
+
+    /**
+     * 접수에 실패해 취소한 키는 다시 예약할 수 있지만, 완료된 키는 취소되지 않는지 확인합니다.
+     */
+    @Test
+    void testRelease() {
+        IdempotencyCache cache = new IdempotencyCache(60_000, 100, now::get);
+        cache.reserve("failed");
+        cache.release("failed");
+        assertNull(cache.reserve("failed"));
+
+        cache.complete("failed", 7);
+        cache.release("failed");
+        assertEquals(7L, cache.reserve("failed").orderId());
+    }
+}
@@ -0,0 +1,148 @@
+package com.rgt.order_system.ingest;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IngestLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger broadcastDepth = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IngestLimiter limiter(double clientRate, int clientBurst, double globalRate, int globalBurst, int maxClients) {
+        return new IngestLimiter(clientRate, clientBurst, globalRate, globalBurst, maxClients, 100,
+                meterRegistry, queueDepth::get, 200, broadcastDepth::get, now::get);
+    }
+
+    /**
+     * 전체 한도의 10배로 10초 동안 밀어 넣어도 저장되는 주문 수가 rate × 시간 + burst를 넘지 않는지 확인합니다.
+     */
+    @Test
+    void testTenfoldOverloadBoundsStoredOrders() {
+        IngestLimiter limiter = limiter(1000, 1000, 500, 200, 10_000);
+        OrderStore store = new OrderStore();
+        int offeredPerMs = 5; // 초당 5000건 = 전체 한도의 10배
+        int rejected = 0;
+
+        for (int ms = 0; ms < 10_000; ms++) {
+            now.set(TimeUnit.MILLISECONDS.toNanos(ms));
+            for (int i = 0; i < offeredPerMs; i++) {
+                Admission admission = limiter.tryAcquire("client-" + (i % 50), 1);
+                if (admission.admitted()) {
+                    store.add(new Order(null, "김치찌개", 1, null));
+                } else {
+                    assertTrue(admission.retryAfterNanos() > 0);
+                    rejected++;
+                }
+            }
+        }
+
+        assertTrue(store.headId() <= 500 * 10 + 200, "stored=" + store.headId());
+        assertTrue(store.headId() >= 500 * 10, "stored=" + store.headId());
+        assertEquals(rejected, (int) meterRegistry.get("orders.ingest.rejected").tag("reason", "global").counter().count());
+    }
+
+    /**
+     * 클라이언트별 한도는 다른 클라이언트에 영향을 주지 않고, 거부되면 다음 토큰까지의 시간을 알려 주는지 확인합니다.
+     */
+    @Test
+    void testClientLimitIsPerClient() {
+        IngestLimiter limiter = limiter(2, 2, 1000, 1000, 100);
+
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+        Admission admission = limiter.tryAcquire("a", 1);
+        assertFalse(admission.admitted());
+        assertEquals("client", admission.reason());
+        assertEquals(SECOND / 2, admission.retryAfterNanos());
+        assertEquals(1, admission.retryAfterSeconds());
+
+        assertTrue(limiter.tryAcquire("b", 1).admitted());
+
+        now.addAndGet(SECOND / 2);
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+    }
+
+    /**
+     * burst보다 큰 일괄 접수는 한 번 허용하되, 초과분만큼 이후 요청이 기다리는지 확인합니다.
+     */
+    @Test
+    void testLargeBatchBorrowsFromFuture() {
+        IngestLimiter limiter = limiter(10, 10, 1000, 1000, 100);
+
+        assertTrue(limiter.tryAcquire("a", 30).admitted()); // 잔량 -20
+        Admission admission = limiter.tryAcquire("a", 1);
+        assertFalse(admission.admitted());
+        assertEquals(21 * SECOND / 10, admission.retryAfterNanos());
+
+        now.addAndGet(21 * SECOND / 10);
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+    }
+
+    /**
+     * 전체 한도에 걸린 요청은 클라이언트 토큰을 쓰지 않는지 확인합니다.
+     */
+    @Test
+    void testGlobalRejectionRefundsClient() {
+        IngestLimiter limiter = limiter(10, 10, 1, 1, 100);
+
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("global", limiter.tryAcquire("a", 1).reason());
+        }
+        now.addAndGet(SECOND);
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+    }
+
+    /**
+     * 브로커 출력 큐나 브로드캐스트 큐가 한도를 넘으면 토큰과 무관하게 거부하는지 확인합니다.
+     */
+    @Test
+    void testOverloadShedsLoad() {
+        IngestLimiter limiter = limiter(10, 10, 1000, 1000, 100);
+
+        queueDepth.set(101);
+        Admission admission = limiter.tryAcquire("a", 1);
+        assertFalse(admission.admitted());
+        assertEquals("overload", admission.reason());
+
+        queueDepth.set(100);
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+
+        broadcastDepth.set(201);
+        admission = limiter.tryAcquire("a", 1);
+        assertFalse(admission.admitted());
+        assertEquals("overload", admission.reason());
+
+        broadcastDepth.set(200);
+        assertTrue(limiter.tryAcquire("a", 1).admitted());
+    }
+
+    /**
+     * 서로 다른 클라이언트가 계속 들어와도 버킷 수가 max-clients를 넘지 않고, 한가한 버킷은 정리되는지 확인합니다.
+     */
+    @Test
+    void testClientMapIsBounded() {
+        IngestLimiter limiter = limiter(1, 1, 1_000_000, 1_000_000, 100);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("10.0." + (i / 256) + "." + (i % 256), 1);
+        }
+        assertEquals(100, limiter.clientCount());
+
+        now.addAndGet(2 * SECOND); // 모든 버킷이 다시 가득 참
+        assertTrue(limiter.tryAcquire("new-client", 1).admitted());
+        assertEquals(1, limiter.clientCount());
+    }
+}
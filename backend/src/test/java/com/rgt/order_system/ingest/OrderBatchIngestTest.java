@@ -0,0 +1,70 @@
+package com.rgt.order_system.ingest;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.store.OrderStoreListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderBatchIngestTest {
+
+    private OrderStore orderStore;
+    private OrderBatchIngest ingest;
+    private final List<List<Order>> notifications = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        orderStore = new OrderStore();
+        orderStore.addListener(new OrderStoreListener() {
+            @Override
+            public void ordersAdded(List<Order> orders) {
+                notifications.add(List.copyOf(orders));
+            }
+        });
+        ingest = new OrderBatchIngest(orderStore, new IdempotencyCache(60_000, 1000), 100);
+    }
+
+    /**
+     * 중복이 아닌 주문만 연속된 ID로 한 번에 저장되고, 요청 안의 중복 키와 이전 요청의 키가 모두 걸러지는지 확인합니다.
+     */
+    @Test
+    void testDuplicatesSkippedAndIdsContiguous() {
+        List<OrderSubmissionResult> first = ingest.submit(List.of(
+                new OrderSubmission("k1", "김치찌개", 1),
+                new OrderSubmission("k2", "된장찌개", 2)));
+        assertEquals(List.of(1L, 2L), first.stream().map(OrderSubmissionResult::id).toList());
+
+        List<OrderSubmissionResult> retry = ingest.submit(List.of(
+                new OrderSubmission("k2", "된장찌개", 2),
+                new OrderSubmission("k3", "비빔밥", 1),
+                new OrderSubmission("k3", "비빔밥", 1),
+                new OrderSubmission(null, "냉면", 1)));
+        assertTrue(retry.get(0).duplicate());
+        assertEquals(2L, retry.get(0).id());
+        assertEquals(3L, retry.get(1).id());
+        assertTrue(retry.get(2).duplicate());
+        assertEquals(3L, retry.get(2).id());
+        assertEquals(4L, retry.get(3).id());
+        assertFalse(retry.get(3).duplicate());
+
+        assertEquals(4, orderStore.headId());
+        assertEquals("냉면", orderStore.get(4).getFoodName());
+        assertEquals(2, notifications.size()); // 요청마다 저장소 변경 알림 한 번
+        assertEquals(2, notifications.get(1).size());
+    }
+
+    @Test
+    void testRejectsOversizedBatch() {
+        List<OrderSubmission> submissions = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            submissions.add(new OrderSubmission("k" + i, "라면", 1));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ingest.submit(submissions));
+        assertEquals(0, orderStore.headId());
+    }
+}
@@ -0,0 +1,80 @@
+package com.rgt.order_system.journal;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 저널 수집 처리량과 복구 시간 측정 (./gradlew loadTest)
+ * 목표: 수집 처리량은 인메모리 대비 10% 이내, 주문 100만 건 복구는 1초 이내
+ */
+@Slf4j
+@Tag("load")
+public class OrderJournalLoadTest {
+
+    private static final int ORDER_COUNT = 1_000_000;
+    private static final int THREADS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testIngestThroughputAndRecovery() throws Exception {
+        ingest(new OrderStore()); // 워밍업
+        long inMemoryNanos = ingest(new OrderStore());
+
+        OrderStore store = new OrderStore();
+        OrderJournal journal = new OrderJournal(store, directory, 1 << 20, 10, 1000, 60_000);
+        journal.start();
+        long journalNanos = ingest(store);
+        journal.stop();
+
+        log.info("주문 {}건 수집 - 인메모리 {}ms, 저널 {}ms ({}%)", ORDER_COUNT,
+                TimeUnit.NANOSECONDS.toMillis(inMemoryNanos), TimeUnit.NANOSECONDS.toMillis(journalNanos),
+                journalNanos * 100 / inMemoryNanos);
+
+        OrderStore restored = new OrderStore();
+        OrderJournal restarted = new OrderJournal(restored, directory, 1 << 20, 10, 1000, 60_000);
+        long start = System.nanoTime();
+        restarted.start();
+        long recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        restarted.stop();
+
+        log.info("주문 {}건 복구 - {}ms", restored.headId(), recoveryMillis);
+        assertEquals(ORDER_COUNT, restored.headId());
+        assertTrue(recoveryMillis < 1000, "100만 건 복구가 1초를 넘었습니다: " + recoveryMillis + "ms");
+    }
+
+    private static long ingest(OrderStore store) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < ORDER_COUNT / THREADS; i++) {
+                    store.add(new Order(null, "김치찌개", 2, null));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return elapsed;
+    }
+}
@@ -0,0 +1,109 @@
+package com.rgt.order_system.journal;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderJournalTest {
+
+    private static final String LONG_NAME = "매콤한 차돌박이 된장찌개와 계란말이 그리고 공기밥 두 그릇 세트"; // 이름 조각 레코드 사용
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 재시작 후 저널을 재생하면 주문, 가장 진행된 상태, 다음 주문 ID가 복구되는지 확인합니다.
+     */
+    @Test
+    void testReplayRestoresOrdersAndStatuses() throws Exception {
+        OrderStore store = new OrderStore();
+        OrderJournal journal = startJournal(store, 1024);
+        store.add(new Order(null, "김치찌개", 2, null));
+        store.add(new Order(null, LONG_NAME, 1, null));
+        store.add(new Order(null, "비빔밥", 3, null));
+        store.updateStatus(1, OrderStatus.COOKING);
+        store.updateStatus(1, OrderStatus.READY);
+        store.updateStatus(2, OrderStatus.DONE);
+        journal.stop();
+
+        OrderStore restored = new OrderStore();
+        OrderJournal restarted = startJournal(restored, 1024);
+
+        assertEquals(3, restored.headId());
+        assertEquals(store.findAll(), restored.findAll());
+        assertEquals(LONG_NAME, restored.get(2).getFoodName());
+        assertEquals(OrderStatus.READY.getLabel(), restored.get(1).getStatus());
+        assertEquals(4L, restored.add(new Order(null, "라면", 1, null)).getId());
+        restarted.stop();
+    }
+
+    /**
+     * 체크섬이 맞지 않는 레코드는 버리고 나머지 주문은 복구되는지 확인합니다.
+     */
+    @Test
+    void testCorruptedRecordIsSkipped() throws Exception {
+        OrderStore store = new OrderStore();
+        OrderJournal journal = startJournal(store, 1024);
+        for (int i = 0; i < 3; i++) {
+            store.add(new Order(null, "menu-" + i, 1, null));
+        }
+        journal.stop();
+
+        try (RandomAccessFile file = new RandomAccessFile(journal.segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(JournalRecord.SIZE + 30); // 두 번째 주문의 메뉴 이름
+            file.write('X');
+        }
+
+        OrderStore restored = new OrderStore();
+        startJournal(restored, 1024).stop();
+
+        assertEquals(3, restored.headId());
+        assertNull(restored.get(2));
+        assertEquals(2, restored.findAll().size());
+        assertEquals(2, restored.findNewest(0, 10).size());
+        assertEquals(2L, restored.size());
+    }
+
+    /**
+     * 닫힌 세그먼트의 주문이 모두 완료되면 주문당 ADD 레코드 하나만 남도록 압축되는지 확인합니다.
+     */
+    @Test
+    void testCompactionAfterOrdersComplete() throws Exception {
+        int segmentRecords = OrderJournal.MIN_SEGMENT_RECORDS;
+        OrderStore store = new OrderStore();
+        OrderJournal journal = startJournal(store, segmentRecords);
+        for (int i = 0; i < 500; i++) {
+            store.add(new Order(null, "menu-" + i, 1, null));
+        }
+        for (long id = 1; id <= 500; id++) {
+            store.updateStatus(id, OrderStatus.COOKING);
+        }
+        for (long id = 1; id <= 500; id++) {
+            store.updateStatus(id, OrderStatus.DONE); // 첫 세그먼트가 가득 차고 두 번째 세그먼트로 넘어감
+        }
+        journal.stop(); // 마지막 동기화에서 첫 세그먼트가 닫힘
+        journal.compact();
+
+        Path first = journal.segmentFiles().get(0);
+        assertEquals(500L * JournalRecord.SIZE, Files.size(first));
+
+        OrderStore restored = new OrderStore();
+        startJournal(restored, segmentRecords).stop();
+        assertEquals(500, restored.headId());
+        assertEquals(store.findAll(), restored.findAll());
+    }
+
+    private OrderJournal startJournal(OrderStore store, int segmentRecords) throws Exception {
+        OrderJournal journal = new OrderJournal(store, directory, segmentRecords, 10, 1000, 60_000);
+        journal.start();
+        return journal;
+    }
+}
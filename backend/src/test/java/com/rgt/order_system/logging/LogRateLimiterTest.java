@@ -0,0 +1,33 @@
+package com.rgt.order_system.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofSeconds(1), now::get);
+
+    // 구간마다 permits건만 허용하고, 생략된 건수는 다음 허용 로그에서 꺼내 씀
+    @Test
+    void allowsPermitsPerInterval() {
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+        assertFalse(limiter.tryAcquire());
+
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+        assertTrue(limiter.tryAcquire());
+        assertEquals(3, limiter.drainSuppressed());
+        assertEquals(0, limiter.drainSuppressed());
+    }
+}
@@ -0,0 +1,47 @@
+package com.rgt.order_system.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * /actuator/prometheus로 주문 지표가 노출되는지 확인합니다.
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "custom.websocket.sockjs.enabled=false")
+public class PrometheusEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void orderMetricsAreScraped() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity("/api/order", new HttpEntity<>("{\"foodName\":\"Pizza\",\"quantity\":1}", headers), String.class);
+        restTemplate.getForEntity("/api/orders", String.class);
+        Thread.sleep(200); // 브로드캐스트 배치 전송 대기
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(200, response.getStatusCode().value());
+        String body = response.getBody();
+        assertTrue(body.contains("orders_requests_seconds_count{application=\"bumjunkim\",operation=\"createOrder\"} 1"), body);
+        assertTrue(body.contains("operation=\"getOrdersWithPagination\""), body);
+        assertTrue(body.contains("orders_requests_seconds_bucket"), body);
+        assertTrue(body.contains("orders_broadcast_delay_seconds_bucket"), body);
+        assertTrue(body.contains("orders_store_size"), body);
+        assertTrue(body.contains("stomp_channel_queue{application=\"bumjunkim\",channel=\"outbound\"}"), body);
+        assertTrue(body.contains("stomp_sessions_active"), body);
+    }
+}
@@ -0,0 +1,148 @@
+package com.rgt.order_system.redis;
+
+import com.rgt.order_system.BumjunkimApplication;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * redis 프로필 통합 테스트 - 같은 Redis를 공유하는 노드 두 개를 띄워 주문이 서로 전달되는지 확인합니다.
+ * Docker가 없으면 건너뜁니다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class RedisOrderRelayTest {
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final String keyPrefix = "test-" + UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    // 노드 B에서 들어온 주문이 노드 A의 저장소와 STOMP 구독자에게 전달됨
+    @Test
+    void testOrderPlacedOnOtherNodeReachesSubscriber() throws Exception {
+        ConfigurableApplicationContext nodeA = startNode("node-a");
+        ConfigurableApplicationContext nodeB = startNode("node-b");
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        int portA = ((WebServerApplicationContext) nodeA).getWebServer().getPort();
+        StompSession session = stompClient.connectAsync("ws://localhost:" + portA + "/ws", new StompSessionHandlerAdapter() {
+        }).get(3, TimeUnit.SECONDS);
+
+        CompletableFuture<Order> received = new CompletableFuture<>();
+        session.subscribe("/topic/orders", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Order.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.complete((Order) payload);
+            }
+        });
+        Thread.sleep(200); // 구독 등록 대기
+
+        Order placed = nodeB.getBean(OrderStore.class).add(new Order(null, "김치찌개", 2, null));
+
+        Order order = received.get(5, TimeUnit.SECONDS);
+        assertEquals(placed.getId(), order.getId());
+        assertEquals("김치찌개", order.getFoodName());
+        assertEquals(placed.getId(), nodeA.getBean(OrderStore.class).get(placed.getId()).getId());
+    }
+
+    // 두 노드에서 동시에 주문해도 ID가 겹치지 않고, 두 저장소 모두 빈틈 없이 같은 주문을 가짐
+    @Test
+    void testConcurrentOrdersOnTwoNodesConverge() throws Exception {
+        OrderStore storeA = startNode("node-a").getBean(OrderStore.class);
+        OrderStore storeB = startNode("node-b").getBean(OrderStore.class);
+
+        int ordersPerNode = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Long>> ids = new ArrayList<>();
+        for (int i = 0; i < ordersPerNode; i++) {
+            ids.add(executor.submit(() -> storeA.add(new Order(null, "A", 1, null)).getId()));
+            ids.add(executor.submit(() -> storeB.add(new Order(null, "B", 1, null)).getId()));
+        }
+        Set<Long> unique = ConcurrentHashMap.newKeySet();
+        for (Future<Long> id : ids) {
+            unique.add(id.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(ordersPerNode * 2, unique.size());
+        await().atMost(5, TimeUnit.SECONDS).until(() ->
+                storeA.headId() == ordersPerNode * 2 && storeB.headId() == ordersPerNode * 2);
+        assertEquals(storeA.findAll(), storeB.findAll());
+    }
+
+    // 상태 변경이 다른 노드로 전달되고, 늦게 기동한 노드는 기존 주문을 Redis에서 적재함
+    @Test
+    void testStatusChangeAndLateJoiner() {
+        OrderStore storeA = startNode("node-a").getBean(OrderStore.class);
+        OrderStore storeB = startNode("node-b").getBean(OrderStore.class);
+
+        long id = storeA.add(new Order(null, "비빔밥", 1, null)).getId();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> storeB.get(id) != null);
+
+        assertTrue(storeB.updateStatus(id, OrderStatus.COOKING).isUpdated());
+        await().atMost(5, TimeUnit.SECONDS).until(() ->
+                OrderStatus.COOKING.getLabel().equals(storeA.get(id).getStatus()));
+
+        OrderStore storeC = startNode("node-c").getBean(OrderStore.class);
+        assertEquals(id, storeC.headId());
+        assertEquals(OrderStatus.COOKING.getLabel(), storeC.get(id).getStatus());
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId) {
+        ConfigurableApplicationContext context = startRedisNode(nodeId, keyPrefix);
+        nodes.add(context);
+        return context;
+    }
+
+    static ConfigurableApplicationContext startRedisNode(String nodeId, String keyPrefix) {
+        return new SpringApplicationBuilder(BumjunkimApplication.class)
+                .profiles("redis")
+                .properties(
+                        "server.port=0",
+                        "custom.websocket.sockjs.enabled=false",
+                        "spring.data.redis.host=" + redis.getHost(),
+                        "spring.data.redis.port=" + redis.getMappedPort(6379),
+                        "order.redis.key-prefix=" + keyPrefix,
+                        "order.redis.node-id=" + nodeId)
+                .run();
+    }
+}
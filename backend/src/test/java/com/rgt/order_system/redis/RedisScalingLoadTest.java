@@ -0,0 +1,75 @@
+package com.rgt.order_system.redis;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * redis 프로필 노드 수별 처리량 비교 (./gradlew loadTest)
+ *
+ * 노드 1/2/4개가 같은 Redis를 공유하며 총 20,000건을 나눠 받고,
+ * 모든 노드가 전체 주문을 반영할 때까지의 처리량(건/초)을 기록합니다.
+ */
+@Slf4j
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+public class RedisScalingLoadTest {
+
+    private static final int TOTAL_ORDERS = 20_000;
+    private static final int THREADS_PER_NODE = 8;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4})
+    void throughputByNodeCount(int nodeCount) throws Exception {
+        RedisOrderRelayTest.redis.start();
+        String keyPrefix = "load-" + UUID.randomUUID();
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        try {
+            List<OrderStore> stores = new ArrayList<>();
+            for (int i = 0; i < nodeCount; i++) {
+                ConfigurableApplicationContext node = RedisOrderRelayTest.startRedisNode("node-" + i, keyPrefix);
+                nodes.add(node);
+                stores.add(node.getBean(OrderStore.class));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(nodeCount * THREADS_PER_NODE);
+            int perThread = TOTAL_ORDERS / (nodeCount * THREADS_PER_NODE);
+            int total = perThread * nodeCount * THREADS_PER_NODE;
+
+            long start = System.nanoTime();
+            for (OrderStore store : stores) {
+                for (int t = 0; t < THREADS_PER_NODE; t++) {
+                    executor.execute(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            store.add(new Order(null, "menu", 1, null));
+                        }
+                    });
+                }
+            }
+            executor.shutdown();
+            executor.awaitTermination(2, TimeUnit.MINUTES);
+            await().atMost(1, TimeUnit.MINUTES).pollInterval(10, TimeUnit.MILLISECONDS)
+                    .until(() -> stores.stream().allMatch(store -> store.headId() == total));
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            log.info("노드 {}개: {}건 / {}초 = {}건/초 (모든 노드 반영 기준)",
+                    nodeCount, total, String.format("%.2f", seconds), String.format("%.0f", total / seconds));
+        } finally {
+            nodes.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.rgt.order_system.stats;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import com.rgt.order_system.store.OrderStore;
+import com.rgt.order_system.websocket.SubscriptionIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderStatsAggregatorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private final OrderStore store = new OrderStore();
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final SubscriptionIndex subscriptionIndex = mock(SubscriptionIndex.class);
+    private final OrderStatsAggregator aggregator =
+            new OrderStatsAggregator(store, messagingTemplate, subscriptionIndex, 1000, now::get);
+
+    /**
+     * 접수/일괄 접수/상태 변경이 음식별, 상태별 집계에 반영되는지 확인합니다.
+     */
+    @Test
+    void testCountsFollowStoreChanges() {
+        store.add(new Order(null, "김치찌개", 1, null));
+        store.add(new Order(null, "김치찌개", 2, null));
+        store.addAll(List.of(new Order(null, "라면", 1, null), new Order(null, "냉면", 1, null)));
+        store.updateStatus(1, OrderStatus.COOKING);
+        store.updateStatus(2, OrderStatus.DONE);
+        store.updateStatus(2, OrderStatus.COOKING); // 역방향은 반영되지 않음
+
+        OrderStats stats = aggregator.refresh();
+        assertEquals(4, stats.totalOrders());
+        assertEquals(Map.of("RECEIVED", 2L, "COOKING", 1L, "READY", 0L, "DONE", 1L), stats.byStatus());
+        assertEquals(Map.of("김치찌개", 2L, "라면", 1L, "냉면", 1L), stats.byFood());
+        assertEquals(4, stats.ordersPerMinute());
+        assertEquals(1, stats.completedPerMinute());
+        assertSame(stats, aggregator.current());
+    }
+
+    /**
+     * 처리량은 최근 1분만 포함하고, 누적 집계는 그대로인지 확인합니다.
+     */
+    @Test
+    void testRateWindowSlides() {
+        for (int second = 0; second < 90; second++) {
+            now.set(second * SECOND);
+            store.add(new Order(null, "비빔밥", 1, null));
+        }
+        OrderStats stats = aggregator.refresh();
+        assertEquals(90, stats.totalOrders());
+        assertEquals(60, stats.ordersPerMinute());
+
+        now.set(200 * SECOND);
+        assertEquals(0, aggregator.refresh().ordersPerMinute());
+        assertEquals(90, aggregator.current().totalOrders());
+    }
+
+    /**
+     * /topic/stats 구독자가 있을 때만 전송하는지 확인합니다.
+     */
+    @Test
+    void testPublishOnlyWhenSubscribed() {
+        store.add(new Order(null, "떡볶이", 1, null));
+        aggregator.publish();
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        when(subscriptionIndex.hasSubscribers(OrderStatsAggregator.STATS_DESTINATION)).thenReturn(true);
+        aggregator.publish();
+        verify(messagingTemplate).convertAndSend(eq(OrderStatsAggregator.STATS_DESTINATION), eq(aggregator.current()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.rgt.order_system.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameDictionaryTest {
+
+    /**
+     * 같은 이름은 같은 코드로, 처음 등록된 문자열 하나로 복원되는지 확인합니다.
+     */
+    @Test
+    void testEncodeReusesCode() {
+        NameDictionary dictionary = new NameDictionary();
+        String first = new String("김치찌개");
+        int code = dictionary.encode(first);
+
+        assertEquals(code, dictionary.encode(new String("김치찌개")));
+        assertSame(first, dictionary.decode(code));
+        assertEquals(0, dictionary.encode(null));
+        assertNull(dictionary.decode(0));
+    }
+
+    /**
+     * 사전이 가득 차거나 이름이 너무 길면 등록하지 않고 UNREGISTERED를 돌려주는지 확인합니다.
+     * 이미 등록된 이름은 가득 찬 뒤에도 같은 코드로 찾습니다.
+     */
+    @Test
+    void testEncodeStopsRegisteringPastLimits() {
+        NameDictionary dictionary = new NameDictionary(2);
+        int first = dictionary.encode("김치찌개");
+        dictionary.encode("된장찌개");
+
+        assertEquals(NameDictionary.UNREGISTERED, dictionary.encode("비빔밥"));
+        assertEquals(first, dictionary.encode("김치찌개"));
+        assertEquals(2, dictionary.size());
+
+        NameDictionary roomy = new NameDictionary();
+        assertEquals(NameDictionary.UNREGISTERED, roomy.encode("x".repeat(NameDictionary.MAX_NAME_LENGTH + 1)));
+        assertEquals(0, roomy.size());
+    }
+}
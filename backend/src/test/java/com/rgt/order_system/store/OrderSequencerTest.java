@@ -0,0 +1,113 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderSequencerTest {
+
+    private final OrderStore store = new OrderStore();
+    private final List<Long> notified = new ArrayList<>(); // 처리 스레드에서만 추가
+    private final ConcurrentLinkedQueue<String> listenerThreads = new ConcurrentLinkedQueue<>();
+    private OrderSequencer sequencer;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sequencer.stop();
+    }
+
+    /**
+     * 여러 스레드가 작은 링 버퍼로 단건/일괄 접수와 상태 변경을 동시에 보내도, 모든 주문이 한 번씩 반영되고
+     * 리스너 호출(브로드캐스트)이 처리 스레드 하나에서 ID 순서대로 일어나는지 확인합니다.
+     */
+    @Test
+    void testConcurrentProducersAreTotallyOrdered() throws Exception {
+        store.addListener(new OrderStoreListener() {
+            @Override
+            public void orderAdded(Order order) {
+                notified.add(order.getId());
+                listenerThreads.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public void statusChanged(Order previous, Order current) {
+                listenerThreads.add(Thread.currentThread().getName());
+            }
+        });
+        sequencer = new OrderSequencer(store, 64, 16, new SimpleMeterRegistry());
+        sequencer.start();
+
+        int threads = 16;
+        int ordersPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < ordersPerThread; i += 10) {
+                    // 10건 중 5건은 단건, 5건은 일괄 접수, 접수한 주문 하나는 조리중으로 변경
+                    Order first = null;
+                    for (int j = 0; j < 5; j++) {
+                        Order order = store.add(new Order(null, "김치찌개", 1, null));
+                        assertNotNull(order.getId());
+                        first = first == null ? order : first;
+                    }
+                    List<Order> batch = new ArrayList<>();
+                    for (int j = 0; j < 5; j++) {
+                        batch.add(new Order(null, "라면", 1, null));
+                    }
+                    List<Order> added = store.addAll(batch);
+                    assertEquals(added.get(0).getId() + 4, added.get(4).getId());
+                    assertTrue(store.updateStatus(first.getId(), OrderStatus.COOKING).isUpdated());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int total = threads * ordersPerThread;
+        assertEquals(total, store.headId());
+        assertEquals(total, notified.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i + 1, notified.get(i)); // 알림 순서 = ID 순서
+        }
+        assertTrue(listenerThreads.stream().allMatch("order-sequencer"::equals));
+        assertEquals(total / 10, store.findMatching(OrderStatus.COOKING, null, 0, total).size());
+    }
+
+    /**
+     * 상태 변경 결과가 요청 스레드에 그대로 돌아오고, 종료 후에는 저장소에 직접 기록되는지 확인합니다.
+     */
+    @Test
+    void testStatusResultsAndStop() throws Exception {
+        sequencer = new OrderSequencer(store, 8, 256, new SimpleMeterRegistry());
+        sequencer.start();
+        store.add(new Order(null, "김치찌개", 1, null));
+
+        assertEquals(StatusUpdate.Outcome.UPDATED, store.updateStatus(1, OrderStatus.READY).outcome());
+        assertEquals(StatusUpdate.Outcome.REJECTED, store.updateStatus(1, OrderStatus.COOKING).outcome());
+        assertEquals(StatusUpdate.Outcome.NOT_FOUND, store.updateStatus(2, OrderStatus.COOKING).outcome());
+
+        sequencer.stop();
+        store.addListener(new OrderStoreListener() {
+            @Override
+            public void orderAdded(Order order) {
+                listenerThreads.add(Thread.currentThread().getName());
+            }
+        });
+        assertEquals(2L, store.add(new Order(null, "라면", 1, null)).getId());
+        assertEquals(List.of(Thread.currentThread().getName()), List.copyOf(listenerThreads));
+    }
+}
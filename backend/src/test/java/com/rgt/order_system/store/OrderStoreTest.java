@@ -0,0 +1,408 @@
+package com.rgt.order_system.store;
+
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class OrderStoreTest {
+
+    /**
+     * 모두 완료된 오래된 세그먼트만 디스크로 옮겨지고, 옮긴 뒤에도 같은 주문이 조회되며 상태는 바뀌지 않는지 확인합니다.
+     */
+    @Test
+    void testEvictCompletedToColdTier(@TempDir Path coldDirectory) throws Exception {
+        OrderStore store = new OrderStore();
+        store.attachColdTier(new ColdSegments(coldDirectory));
+        int total = OrderStore.SEGMENT_SIZE * 3 + 10;
+        String longName = "라".repeat(NameDictionary.MAX_NAME_LENGTH + 1); // 사전에 없는 이름도 함께 옮겨지는지 확인
+        for (int i = 0; i < total; i++) {
+            store.add(new Order(null, i == 0 ? longName : i % 2 == 0 ? "김치찌개" : "라면", i % 5 + 1, null));
+        }
+        // 앞의 두 세그먼트는 모두 완료, 두 번째 세그먼트에는 조리 중인 주문 하나를 남김
+        long stuck = OrderStore.SEGMENT_SIZE + 7;
+        for (long id = 1; id <= OrderStore.SEGMENT_SIZE * 2L; id++) {
+            store.updateStatus(id, id == stuck ? OrderStatus.COOKING : OrderStatus.DONE);
+        }
+        for (long id = OrderStore.SEGMENT_SIZE * 2L + 1; id <= total; id++) {
+            store.updateStatus(id, OrderStatus.DONE);
+        }
+        List<Order> before = store.findAll();
+
+        // 최근 완료 주문이 세 번째 세그먼트 이후로 충분하지 않으면 옮기지 않음
+        assertEquals(0, store.evictCompleted(total));
+        assertEquals(1, store.evictCompleted(OrderStore.SEGMENT_SIZE));
+        assertEquals(0, store.evictCompleted(OrderStore.SEGMENT_SIZE)); // 진행 중인 주문이 있는 세그먼트는 남음
+        try (var files = Files.list(coldDirectory)) {
+            assertEquals(1, files.count());
+        }
+
+        assertEquals(before, store.findAll());
+        assertEquals(before.get(0), store.get(1));
+        assertEquals(longName, store.get(1).getFoodName());
+        assertEquals(List.of(store.get(3), store.get(2), store.get(1)), store.findNewestBefore(4, 10));
+        assertEquals(StatusUpdate.Outcome.UNCHANGED, store.updateStatus(1, OrderStatus.DONE).outcome());
+        assertEquals(StatusUpdate.Outcome.REJECTED, store.updateStatus(1, OrderStatus.COOKING).outcome());
+        assertFalse(store.applyRemote(new Order(2L, "라면", 1, OrderStatus.DONE.getLabel())));
+
+        // 남은 주문이 완료되면 다음 실행에서 옮겨짐
+        store.updateStatus(stuck, OrderStatus.DONE);
+        assertEquals(1, store.evictCompleted(OrderStore.SEGMENT_SIZE));
+        assertEquals(OrderStatus.DONE.getLabel(), store.get(stuck).getStatus());
+    }
+
+    /**
+     * 주문 ID가 1부터 순서대로 할당되고 ID로 조회되는지 확인합니다.
+     */
+    @Test
+    void testAddAssignsSequentialIds() {
+        OrderStore store = new OrderStore();
+
+        Order first = store.add(new Order(null, "김치찌개", 1, "접수됨"));
+        Order second = store.add(new Order(null, "된장찌개", 2, "접수됨"));
+
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertEquals(2L, store.headId());
+        assertEquals(2L, store.size());
+        assertEquals(second, store.get(2));
+        assertNull(store.get(3));
+        assertNull(store.get(0));
+    }
+
+    /**
+     * 일괄 저장은 세그먼트 경계를 넘어도 연속된 ID로 저장되고, headId가 한 번에 끝까지 전진하는지 확인합니다.
+     */
+    @Test
+    void testAddAllAssignsContiguousBlock() {
+        OrderStore store = new OrderStore();
+        for (int i = 0; i < OrderStore.SEGMENT_SIZE - 2; i++) {
+            store.add(new Order(null, "김치찌개", 1, null));
+        }
+        List<Order> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(new Order(null, "된장찌개", i + 1, null));
+        }
+
+        store.addAll(batch);
+
+        long firstId = OrderStore.SEGMENT_SIZE - 1;
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(firstId + i, batch.get(i).getId());
+            assertEquals(OrderStatus.RECEIVED.getLabel(), batch.get(i).getStatus());
+            assertEquals(i + 1, store.get(firstId + i).getQuantity());
+        }
+        assertEquals(firstId + 4, store.headId());
+        assertEquals(firstId + 5, store.add(new Order(null, "비빔밥", 1, null)).getId());
+        assertTrue(store.addAll(List.of()).isEmpty());
+    }
+
+    /**
+     * 조회 결과는 저장된 열로 만든 뷰이며, 같은 음식 이름은 하나의 문자열로 공유되는지 확인합니다.
+     */
+    @Test
+    void testViewsShareFoodNames() {
+        OrderStore store = new OrderStore();
+        store.add(new Order(null, new String("김치찌개"), 1, null));
+        Order added = store.add(new Order(null, new String("김치찌개"), 3, null));
+
+        Order view = store.get(2);
+        assertNotSame(added, view);
+        assertEquals(new Order(2L, "김치찌개", 3, "접수됨"), view);
+        assertSame(store.get(1).getFoodName(), view.getFoodName());
+
+        // 뷰를 변경해도 저장소에는 반영되지 않음
+        view.setQuantity(99);
+        assertEquals(3, store.get(2).getQuantity());
+    }
+
+    /**
+     * 사전에 넣지 않는 이름(너무 긴 이름, 사전이 가득 찬 뒤의 새 이름)도 원문 그대로 조회되는지 확인합니다.
+     */
+    @Test
+    void testNamesOutsideDictionaryKeepOriginal() {
+        OrderStore store = new OrderStore();
+        String longName = "특".repeat(NameDictionary.MAX_NAME_LENGTH + 1);
+        store.add(new Order(null, longName, 1, null));
+        for (int i = 0; i < NameDictionary.MAX_NAMES + 10; i++) {
+            store.add(new Order(null, "menu-" + i, 1, null));
+        }
+
+        assertEquals(longName, store.get(1).getFoodName());
+        assertEquals("menu-0", store.get(2).getFoodName());
+        assertEquals("menu-" + (NameDictionary.MAX_NAMES + 9), store.get(NameDictionary.MAX_NAMES + 11).getFoodName());
+        assertEquals(NameDictionary.MAX_NAMES + 11L, store.size());
+
+        // 사전 밖 이름도 조건 조회로 찾음
+        assertEquals(List.of(store.get(1)), store.findMatching(null, longName, 0, 10));
+        String lastName = "menu-" + (NameDictionary.MAX_NAMES + 9);
+        assertEquals(List.of(store.get(NameDictionary.MAX_NAMES + 11)), store.findMatching(OrderStatus.RECEIVED, lastName, 0, 10));
+        assertTrue(store.findMatching(null, "없는 메뉴", 0, 10).isEmpty());
+    }
+
+    /**
+     * 최신순 페이지와 lastId 이후 주문 조회가 ID 내림차순으로 반환되는지 확인합니다.
+     * 세그먼트 경계를 넘는 범위도 함께 검증합니다.
+     */
+    @Test
+    void testFindNewestAndSince() {
+        OrderStore store = new OrderStore();
+        int total = OrderStore.SEGMENT_SIZE + 5;
+        for (int i = 0; i < total; i++) {
+            store.add(new Order(null, "menu-" + i, 1, "접수됨"));
+        }
+
+        List<Order> firstPage = store.findNewest(0, 10);
+        assertEquals(10, firstPage.size());
+        assertEquals(total, firstPage.get(0).getId());
+        assertEquals(total - 9, firstPage.get(9).getId());
+
+        List<Order> lastPage = store.findNewest(total - 3, 10);
+        assertEquals(3, lastPage.size());
+        assertEquals(1L, lastPage.get(2).getId());
+
+        assertTrue(store.findNewest(total, 10).isEmpty());
+
+        List<Order> since = store.findSince(total - 8);
+        assertEquals(8, since.size());
+        assertEquals(total, since.get(0).getId());
+        assertTrue(store.findSince(total).isEmpty());
+
+        assertEquals(total, store.findAll().size());
+    }
+
+    /**
+     * 커서(before) 기반 페이지가 해당 ID보다 작은 주문만 최신순으로 반환하는지 확인합니다.
+     */
+    @Test
+    void testFindNewestBeforeCursor() {
+        OrderStore store = new OrderStore();
+        for (int i = 0; i < 25; i++) {
+            store.add(new Order(null, "menu-" + i, 1, "접수됨"));
+        }
+
+        List<Order> page = store.findNewestBefore(11, 5);
+        assertEquals(5, page.size());
+        assertEquals(10L, page.get(0).getId());
+        assertEquals(6L, page.get(4).getId());
+
+        // 아직 발급되지 않은 커서는 최신 주문부터 반환
+        assertEquals(25L, store.findNewestBefore(Long.MAX_VALUE, 1).get(0).getId());
+        assertEquals(2, store.findNewestBefore(3, 10).size());
+        assertTrue(store.findNewestBefore(1, 10).isEmpty());
+    }
+
+    /**
+     * 상태/음식 이름 조건 조회가 세그먼트를 넘어 최신순으로 조건에 맞는 주문만 반환하고,
+     * 상태 변경과 콜드 계층 이동이 색인에 반영되는지 확인합니다.
+     */
+    @Test
+    void testFindMatchingUsesIndexes(@TempDir Path coldDirectory) throws Exception {
+        OrderStore store = new OrderStore();
+        store.attachColdTier(new ColdSegments(coldDirectory));
+        int total = OrderStore.SEGMENT_SIZE * 2 + 100;
+        for (int i = 0; i < total; i++) {
+            store.add(new Order(null, i % 3 == 0 ? "김치찌개" : "라면", 1, null));
+        }
+        // 첫 세그먼트는 모두 완료, 그 뒤로는 1000건마다 조리중
+        for (long id = 1; id <= total; id++) {
+            if (id <= OrderStore.SEGMENT_SIZE) {
+                store.updateStatus(id, OrderStatus.DONE);
+            } else if (id % 1000 == 0) {
+                store.updateStatus(id, OrderStatus.COOKING);
+            }
+        }
+
+        List<Order> cooking = store.findMatching(OrderStatus.COOKING, null, 0, 100);
+        assertEquals(total / 1000 - OrderStore.SEGMENT_SIZE / 1000, cooking.size());
+        assertEquals(32000L, cooking.get(0).getId());
+        assertEquals(17000L, cooking.get(cooking.size() - 1).getId());
+        assertEquals(List.of(store.get(31000), store.get(28000)),
+                store.findMatching(OrderStatus.COOKING, "김치찌개", 0, 2)); // 1번부터 세 번째마다 김치찌개
+        assertEquals(List.of(store.get(25000)), store.findMatching(OrderStatus.COOKING, "김치찌개", 2, 1));
+        assertEquals(List.of(store.get(19000), store.get(18000)), store.findMatchingBefore(OrderStatus.COOKING, null, 20000, 2));
+        assertEquals(List.of(store.get(total), store.get(total - 1)), store.findMatching(null, "라면", 0, 2));
+        assertEquals(List.of(store.get(total)), store.findMatching(OrderStatus.RECEIVED, "라면", 0, 1));
+        assertTrue(store.findMatching(null, "비빔밥", 0, 10).isEmpty());
+        assertTrue(store.findMatching(OrderStatus.READY, null, 0, 10).isEmpty());
+
+        store.updateStatus(32000, OrderStatus.READY);
+        assertEquals(31000L, store.findMatching(OrderStatus.COOKING, null, 0, 1).get(0).getId());
+        assertEquals(List.of(store.get(32000)), store.findMatching(OrderStatus.READY, null, 0, 10));
+
+        // 콜드 계층으로 옮긴 완료 주문은 조건 조회 대상에서 빠짐
+        assertEquals(OrderStore.SEGMENT_SIZE, store.findMatching(OrderStatus.DONE, null, 0, total).size());
+        assertEquals(1, store.evictCompleted(0));
+        assertTrue(store.findMatching(OrderStatus.DONE, null, 0, 10).isEmpty());
+        assertEquals(List.of(store.get(OrderStore.SEGMENT_SIZE + 1)),
+                store.findMatchingBefore(null, "라면", OrderStore.SEGMENT_SIZE + 2, 10));
+    }
+
+    /**
+     * 여러 스레드가 같은 주문들의 상태를 동시에 진행시킨 뒤, 상태별 조건 조회 결과가
+     * 전체를 읽어 거른 결과와 같은지(빠지거나 남는 주문이 없는지) 확인합니다.
+     */
+    @Test
+    void testFindMatchingConsistentUnderConcurrentTransitions() throws Exception {
+        OrderStore store = new OrderStore();
+        int orderCount = 20_000;
+        for (int i = 0; i < orderCount; i++) {
+            store.add(new Order(null, "menu-" + (i % 7), 1, null));
+        }
+        OrderStatus[] targets = {OrderStatus.COOKING, OrderStatus.READY, OrderStatus.DONE};
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            executor.submit(() -> {
+                for (long id = 1; id <= orderCount; id++) {
+                    // 주문마다 스레드별로 다른 목표 상태 - 같은 주문의 전이가 서로 겹침
+                    store.updateStatus(id, targets[(int) ((id * 31 + seed) % targets.length)]);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (OrderStatus status : OrderStatus.values()) {
+            List<Order> expected = new ArrayList<>();
+            store.forEach(1, orderCount, order -> {
+                if (status.getLabel().equals(order.getStatus())) {
+                    expected.add(0, order);
+                }
+            });
+            assertEquals(expected, store.findMatching(status, null, 0, orderCount), status.name());
+            assertEquals(expected.stream().filter(order -> "menu-3".equals(order.getFoodName())).toList(),
+                    store.findMatching(status, "menu-3", 0, orderCount), status.name());
+        }
+    }
+
+    /**
+     * 상태는 앞 단계로만 변경되며, 같은 주문을 여러 스레드가 동시에 변경해도
+     * 정확히 한 번만 반영되는지 확인합니다.
+     */
+    @Test
+    void testUpdateStatusTransitions() throws Exception {
+        OrderStore store = new OrderStore();
+        Order order = store.add(new Order(null, "김치찌개", 1, "PENDING"));
+        assertEquals("접수됨", order.getStatus());
+
+        assertEquals(StatusUpdate.Outcome.UPDATED, store.updateStatus(1, OrderStatus.COOKING).outcome());
+        assertEquals(StatusUpdate.Outcome.UNCHANGED, store.updateStatus(1, OrderStatus.COOKING).outcome());
+        assertEquals(StatusUpdate.Outcome.REJECTED, store.updateStatus(1, OrderStatus.RECEIVED).outcome());
+        assertEquals(StatusUpdate.Outcome.NOT_FOUND, store.updateStatus(2, OrderStatus.COOKING).outcome());
+        assertEquals("조리중", store.get(1).getStatus());
+
+        int threads = 16;
+        AtomicInteger updated = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                if (store.updateStatus(1, OrderStatus.READY).isUpdated()) {
+                    updated.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, updated.get());
+        assertEquals("준비완료", store.get(1).getStatus());
+    }
+
+    /**
+     * ID 발급과 기록 사이에 다른 경로(redis 프로필의 동기화)가 같은 주문으로 슬롯을 먼저 채우고 상태까지 바꿨으면,
+     * 저장(add/addAll)은 슬롯을 덮어쓰지 않고 리스너에도 다시 알리지 않는지 확인합니다.
+     */
+    @Test
+    void testAddDoesNotOverwriteSlotFilledBeforeWrite() {
+        OrderStore[] holder = new OrderStore[1];
+        LocalOrderIdAllocator local = new LocalOrderIdAllocator();
+        OrderStore store = new OrderStore(new OrderIdAllocator() {
+            @Override
+            public long allocate(Order order) {
+                long id = local.allocate(order);
+                fillFromRemote(id, order);
+                return id;
+            }
+
+            @Override
+            public long allocateBlock(List<Order> orders) {
+                long firstId = local.allocateBlock(orders);
+                fillFromRemote(firstId + 1, orders.get(1)); // 블록 중간 하나만
+                return firstId;
+            }
+
+            private void fillFromRemote(long id, Order order) {
+                holder[0].applyRemote(new Order(id, order.getFoodName(), order.getQuantity(), OrderStatus.RECEIVED.getLabel()));
+                holder[0].applyRemote(new Order(id, order.getFoodName(), order.getQuantity(), OrderStatus.COOKING.getLabel()));
+            }
+        });
+        holder[0] = store;
+        List<Long> notified = new ArrayList<>();
+        store.addListener(new OrderStoreListener() {
+            @Override
+            public void orderAdded(Order order) {
+                notified.add(order.getId());
+            }
+        });
+
+        Order order = store.add(new Order(null, "김치찌개", 1, null));
+        assertEquals(OrderStatus.COOKING.getLabel(), order.getStatus());
+        assertEquals(OrderStatus.COOKING.getLabel(), store.get(1).getStatus());
+
+        store.addAll(new ArrayList<>(List.of(new Order(null, "된장찌개", 1, null), new Order(null, "비빔밥", 2, null),
+                new Order(null, "냉면", 3, null))));
+        assertEquals(OrderStatus.COOKING.getLabel(), store.get(3).getStatus());
+        assertEquals(OrderStatus.RECEIVED.getLabel(), store.get(4).getStatus());
+        assertEquals(4L, store.headId());
+        assertEquals(4L, store.size());
+        assertEquals(List.of(1L, 3L, 2L, 4L), notified); // 원격 반영(1, 3)은 반영 시점에, 직접 저장(2, 4)은 저장 후 한 번씩
+    }
+
+    /**
+     * 100만 건을 여러 스레드에서 동시에 추가하는 부하 테스트입니다.
+     * 모든 ID가 빠짐없이 한 번씩 할당되는지 검증하고 처리량을 기록합니다.
+     */
+    @Test
+    void testConcurrentIngestOneMillionOrders() throws Exception {
+        OrderStore store = new OrderStore();
+        int orderCount = 1_000_000;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        long startTime = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < orderCount / threads; i++) {
+                    store.add(new Order(null, "Pizza", 1, "접수됨"));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        double elapsedMs = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        assertEquals(orderCount, store.headId());
+        assertEquals(orderCount, store.size());
+        for (long id = 1; id <= orderCount; id++) {
+            assertEquals(id, store.get(id).getId());
+        }
+
+        log.info("100만 건 동시 추가 완료! 총 소요 시간: {} ms, 처리량: {} orders/s",
+                elapsedMs, (long) (orderCount / (elapsedMs / 1000.0)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.rgt.order_system.websocket;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.rgt.order_system.ingest.IdempotencyCache;
+import com.rgt.order_system.ingest.IngestLimiter;
+import com.rgt.order_system.ingest.IngestRejectedException;
+import com.rgt.order_system.ingest.OrderBatchIngest;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class IngestAdmissionInterceptorTest {
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    // 세션당 초당 1건, 버스트 3건 (시계는 멈춰 있음), 일괄 접수는 최대 4건
+    private final IngestAdmissionInterceptor interceptor = new IngestAdmissionInterceptor(
+            new IngestLimiter(1, 3, 1000, 1000, 100, Integer.MAX_VALUE, new SimpleMeterRegistry(), () -> 0, () -> 0L),
+            new OrderBatchIngest(new OrderStore(), new IdempotencyCache(60_000, 1000), 4));
+
+    // 일괄 접수 본문은 역직렬화 없이 주문 수를 셈 (문자열 안의 괄호는 제외)
+    @Test
+    void countOrdersInBatchPayload() throws Exception {
+        assertEquals(2, IngestAdmissionInterceptor.countOrders(
+                "[{\"foodName\":\"{[피자]}\",\"quantity\":1,\"meta\":{\"a\":1}},{\"foodName\":\"\\\"{\",\"quantity\":2}]"
+                        .getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, IngestAdmissionInterceptor.countOrders("[]".getBytes(StandardCharsets.UTF_8)));
+
+        CBORMapper cbor = new CBORMapper();
+        assertEquals(3, IngestAdmissionInterceptor.countOrders(
+                cbor.writeValueAsBytes(Collections.nCopies(3, Map.of("foodName", "a", "quantity", 1)))));
+        assertEquals(300, IngestAdmissionInterceptor.countOrders(
+                cbor.writeValueAsBytes(Collections.nCopies(300, Map.of("foodName", "a", "quantity", 1)))));
+    }
+
+    // 한도를 넘은 SEND는 예외로 끊고, ERROR 프레임에 retry-after와 receipt-id가 붙음
+    @Test
+    void rejectedSendBecomesErrorFrameWithRetryAfter() {
+        Message<byte[]> batch = send("s", IngestAdmissionInterceptor.BATCH_DESTINATION, "[{},{}]", null);
+        assertSame(batch, interceptor.preSend(batch, channel));
+        Message<byte[]> sync = send("other", "/app/orders/sync", "", null);
+        assertSame(sync, interceptor.preSend(sync, channel));
+
+        Message<byte[]> order = send("s", IngestAdmissionInterceptor.ORDER_DESTINATION, "{}", "r-1");
+        assertSame(order, interceptor.preSend(order, channel));
+        IngestRejectedException rejected =
+                assertThrows(IngestRejectedException.class, () -> interceptor.preSend(order, channel));
+        assertEquals("client", rejected.getAdmission().reason());
+
+        Message<byte[]> error = new StompErrorHandler().handleClientMessageProcessingError(order, rejected);
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(error);
+        assertEquals(StompCommand.ERROR, accessor.getCommand());
+        assertEquals("1", accessor.getFirstNativeHeader(StompErrorHandler.RETRY_AFTER_HEADER));
+        assertEquals("r-1", accessor.getReceiptId());
+
+        // 다른 세션은 영향 없음
+        Message<byte[]> other = send("t", IngestAdmissionInterceptor.ORDER_DESTINATION, "{}", null);
+        assertSame(other, interceptor.preSend(other, channel));
+    }
+
+    // 건수 한도를 넘는 일괄 접수는 한도를 쓰지 않고 거절되어, 같은 세션의 다음 접수가 그대로 허용됨
+    @Test
+    void oversizedBatchIsRejectedWithoutConsumingPermits() {
+        Message<byte[]> oversized = send("s", IngestAdmissionInterceptor.BATCH_DESTINATION, "[{},{},{},{},{}]", null);
+        MessagingException rejected = assertThrows(MessagingException.class, () -> interceptor.preSend(oversized, channel));
+        assertFalse(rejected instanceof IngestRejectedException);
+
+        Message<byte[]> batch = send("s", IngestAdmissionInterceptor.BATCH_DESTINATION, "[{},{},{}]", null);
+        assertSame(batch, interceptor.preSend(batch, channel));
+    }
+
+    private static Message<byte[]> send(String sessionId, String destination, String body, String receipt) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        if (receipt != null) {
+            accessor.setReceipt(receipt);
+        }
+        return MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,155 @@
+package com.rgt.order_system.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OrderUpdateCoalescerTest {
+
+    private final SessionWriteTracker tracker = new SessionWriteTracker(1000, 5000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderUpdateCoalescer coalescer = new OrderUpdateCoalescer(tracker, meterRegistry, true);
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final MessageChannel channel = new RecordingChannel();
+    private final CountDownLatch writeReleased = new CountDownLatch(1);
+
+    private WebSocketHandler handler;
+    private WebSocketSession session;
+    private WebSocketSession tracked;
+    private Thread writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s");
+        doAnswer(invocation -> {
+            writeReleased.await(); // 소켓 버퍼가 가득 찬 것처럼 쓰기가 막힘
+            return null;
+        }).when(session).sendMessage(any());
+
+        WebSocketHandler delegate = mock(WebSocketHandler.class);
+        handler = tracker.decorate(delegate);
+        handler.afterConnectionEstablished(session);
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(delegate).afterConnectionEstablished(captor.capture());
+        tracked = captor.getValue();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeReleased.countDown();
+        if (writer != null) {
+            writer.join(2000);
+        }
+    }
+
+    // 쓰기 중에는 (구독, 주문)마다 최신 메시지 하나만 남고, 쓰기가 끝나면 처음 대기한 순서대로 전송됨
+    @Test
+    void latestUpdatePerOrderIsSentAfterWrite() throws Exception {
+        Message<byte[]> first = order(1, "sub-0", "접수");
+        assertSame(first, coalescer.preSend(first, channel), "쓸 수 있는 세션에는 바로 전송");
+
+        startBlockedWrite();
+        assertNull(coalescer.preSend(order(1, "sub-0", "접수"), channel));
+        assertNull(coalescer.preSend(order(2, "sub-0", "접수"), channel));
+        assertNull(coalescer.preSend(order(1, "sub-0", "조리중"), channel));
+        assertNull(coalescer.preSend(order(1, "sub-1", "조리중"), channel));
+        assertNull(coalescer.preSend(order(1, "sub-0", "완료"), channel));
+
+        Message<byte[]> batch = message(null, "sub-0", "[]");
+        assertSame(batch, coalescer.preSend(batch, channel), "주문 ID 헤더가 없는 메시지는 통과");
+        assertEquals(3, coalescer.pendingCount("s"));
+        assertEquals(2.0, meterRegistry.get("orders.websocket.coalesced").counter().count());
+        assertTrue(sent.isEmpty());
+
+        writeReleased.countDown();
+        writer.join(2000);
+        assertEquals(List.of("sub-0:1:완료", "sub-0:2:접수", "sub-1:1:조리중"), sent);
+        assertEquals(0, coalescer.pendingCount("s"));
+
+        Message<byte[]> next = order(2, "sub-0", "조리중");
+        assertSame(next, coalescer.preSend(next, channel));
+    }
+
+    // 종료된 세션의 대기 메시지는 버려짐
+    @Test
+    void closedSessionDropsPendingUpdates() throws Exception {
+        startBlockedWrite();
+        assertNull(coalescer.preSend(order(1, "sub-0", "접수"), channel));
+        assertEquals(1, coalescer.pendingCount("s"));
+
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        writeReleased.countDown();
+        writer.join(2000);
+
+        assertEquals(0, coalescer.pendingCount("s"));
+        assertTrue(sent.isEmpty());
+        Message<byte[]> late = order(1, "sub-0", "조리중");
+        assertSame(late, coalescer.preSend(late, channel));
+    }
+
+    private void startBlockedWrite() throws InterruptedException {
+        writer = new Thread(() -> {
+            try {
+                tracked.sendMessage(new TextMessage("frame"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.start();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (tracker.isWritable("s") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertFalse(tracker.isWritable("s"));
+    }
+
+    private static Message<byte[]> order(long id, String subscriptionId, String status) {
+        return message(id, subscriptionId, subscriptionId + ":" + id + ":" + status);
+    }
+
+    private static Message<byte[]> message(Long orderId, String subscriptionId, String payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("s");
+        accessor.setSubscriptionId(subscriptionId);
+        if (orderId != null) {
+            accessor.setHeader(OrderUpdateCoalescer.ORDER_ID_HEADER, orderId);
+        }
+        return MessageBuilder.createMessage(payload.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    /**
+     * clientOutboundChannel처럼 인터셉터를 거친 메시지만 전송된 것으로 기록
+     */
+    private final class RecordingChannel implements MessageChannel {
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            Message<?> passed = coalescer.preSend(message, this);
+            if (passed != null) {
+                sent.add(new String((byte[]) passed.getPayload(), StandardCharsets.UTF_8));
+            }
+            return true;
+        }
+    }
+}
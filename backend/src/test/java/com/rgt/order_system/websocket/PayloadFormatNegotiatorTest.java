@@ -0,0 +1,102 @@
+package com.rgt.order_system.websocket;
+
+import com.rgt.order_system.broadcast.OrderBroadcaster;
+import com.rgt.order_system.broadcast.OrderPayloadFormat;
+import com.rgt.order_system.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class PayloadFormatNegotiatorTest {
+
+    private static final String CBOR_ORDERS = OrderPayloadFormat.CBOR.destination(OrderBroadcaster.ORDERS_DESTINATION);
+
+    private final PayloadFormatNegotiator negotiator = new PayloadFormatNegotiator();
+    private final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    // content-type 또는 accept가 CBOR이면 CBOR 경로로, 없거나 JSON이면 그대로
+    @Test
+    void cborSubscriptionIsRewritten() {
+        assertEquals(CBOR_ORDERS, destinationOf(negotiate(subscribe("s", "0", "content-type", "application/cbor"))));
+        assertEquals(CBOR_ORDERS, destinationOf(negotiate(subscribe("s", "1", "accept", "application/cbor"))));
+        assertEquals(OrderBroadcaster.ORDERS_DESTINATION,
+                destinationOf(negotiate(subscribe("s", "2", "content-type", "application/json"))));
+        assertEquals(OrderBroadcaster.ORDERS_DESTINATION, destinationOf(negotiate(subscribe("s", "3", null, null))));
+        assertEquals(OrderBroadcaster.ORDERS_DESTINATION,
+                destinationOf(negotiate(subscribe("s", "4", "content-type", "not a mime type"))));
+    }
+
+    // 상태/음식별 경로도 같은 방식으로 협상되고, 경로 묶음 단위로 구독 여부를 확인할 수 있음
+    @Test
+    void routedSubscriptionIsRewritten() {
+        String ready = OrderBroadcaster.statusDestination(OrderStatus.READY);
+        Message<?> message = negotiate(subscribe("s", "0", ready, "content-type", "application/cbor"));
+
+        assertEquals(OrderPayloadFormat.CBOR.destination(ready), destinationOf(message));
+        assertTrue(subscriptionIndex.hasSubscribersUnder(
+                OrderPayloadFormat.CBOR.destination(OrderBroadcaster.STATUS_DESTINATION_PREFIX)));
+        assertFalse(subscriptionIndex.hasSubscribersUnder(OrderBroadcaster.STATUS_DESTINATION_PREFIX));
+        assertFalse(subscriptionIndex.hasSubscribersUnder(
+                OrderPayloadFormat.CBOR.destination(OrderBroadcaster.ITEM_DESTINATION_PREFIX)));
+    }
+
+    // 협상된 경로 기준으로 구독 수가 집계되고, 구독 해제/세션 종료 시 빠짐
+    @Test
+    void subscriptionIndexFollowsNegotiatedDestination() {
+        negotiate(subscribe("a", "0", "content-type", "application/cbor"));
+        negotiate(subscribe("b", "0", "content-type", "application/cbor"));
+        negotiate(subscribe("b", "1", null, null));
+        assertEquals(2, subscriptionIndex.subscriberCount(CBOR_ORDERS));
+        assertTrue(subscriptionIndex.hasSubscribers(OrderBroadcaster.ORDERS_DESTINATION));
+
+        negotiate(frame(StompCommand.UNSUBSCRIBE, "a", "0"));
+        assertEquals(1, subscriptionIndex.subscriberCount(CBOR_ORDERS));
+
+        negotiate(frame(StompCommand.DISCONNECT, "b", null));
+        assertFalse(subscriptionIndex.hasSubscribers(CBOR_ORDERS));
+        assertFalse(subscriptionIndex.hasSubscribers(OrderBroadcaster.ORDERS_DESTINATION));
+    }
+
+    // WebSocketConfig와 같은 순서로 인터셉터 실행
+    private Message<?> negotiate(Message<?> message) {
+        return subscriptionIndex.preSend(negotiator.preSend(message, channel), channel);
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String header, String value) {
+        return subscribe(sessionId, subscriptionId, OrderBroadcaster.ORDERS_DESTINATION, header, value);
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination,
+                                             String header, String value) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        if (header != null) {
+            accessor.setNativeHeader(header, value);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static String destinationOf(Message<?> message) {
+        return SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    }
+}
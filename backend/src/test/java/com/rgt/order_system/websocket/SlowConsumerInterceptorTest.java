@@ -0,0 +1,106 @@
+package com.rgt.order_system.websocket;
+
+import com.rgt.order_system.broadcast.OrderBroadcaster;
+import com.rgt.order_system.broadcast.OrderPayloadFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SlowConsumerInterceptorTest {
+
+    private final SessionWriteTracker tracker = new SessionWriteTracker(0, 5000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlowConsumerInterceptor interceptor =
+            new SlowConsumerInterceptor(tracker, meterRegistry, SlowConsumerPolicy.DROP);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final CountDownLatch writeReleased = new CountDownLatch(1);
+
+    private WebSocketSession tracked;
+    private Thread writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s");
+        doAnswer(invocation -> {
+            writeReleased.await(); // 소켓 버퍼가 가득 찬 것처럼 쓰기가 막힘
+            return null;
+        }).when(session).sendMessage(any());
+
+        WebSocketHandler delegate = mock(WebSocketHandler.class);
+        tracker.decorate(delegate).afterConnectionEstablished(session);
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(delegate).afterConnectionEstablished(captor.capture());
+        tracked = captor.getValue();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeReleased.countDown();
+        if (writer != null) {
+            writer.join(2000);
+        }
+    }
+
+    // 느린 세션에는 주문 브로드캐스트 경로만 버리고, 세션별 응답은 그대로 보냄
+    @Test
+    void dropsOnlyOrderBroadcastsForSlowSession() throws Exception {
+        Message<byte[]> before = message(OrderBroadcaster.BATCH_DESTINATION);
+        assertSame(before, interceptor.preSend(before, channel), "쓰기가 막히지 않은 세션에는 전송");
+
+        startBlockedWrite();
+        assertNull(interceptor.preSend(message(OrderBroadcaster.ORDERS_DESTINATION), channel));
+        assertNull(interceptor.preSend(message(OrderBroadcaster.BATCH_DESTINATION), channel));
+        String cborBatch = OrderPayloadFormat.CBOR.destination(OrderBroadcaster.BATCH_DESTINATION);
+        assertNull(interceptor.preSend(message(cborBatch), channel));
+        assertNull(interceptor.preSend(message(OrderBroadcaster.STATUS_DESTINATION_PREFIX + "RECEIVED"), channel));
+
+        Message<byte[]> deltas = message(OrderBroadcaster.DELTAS_DESTINATION);
+        assertSame(deltas, interceptor.preSend(deltas, channel), "순번 변경분은 버리지 않음");
+        Message<byte[]> reply = message("/user/queue/orders");
+        assertSame(reply, interceptor.preSend(reply, channel));
+        Message<byte[]> other = message("/topic/ordersummary");
+        assertSame(other, interceptor.preSend(other, channel), "/topic/orders 아래 경로만 버림");
+        assertEquals(4.0, meterRegistry.get("orders.websocket.dropped").counter().count());
+    }
+
+    private void startBlockedWrite() throws InterruptedException {
+        writer = new Thread(() -> {
+            try {
+                tracked.sendMessage(new TextMessage("frame"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.start();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!tracker.isSlow("s") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(tracker.isSlow("s"));
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("s");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,221 @@
+package com.rgt.order_system.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgt.order_system.model.Order;
+import com.rgt.order_system.store.OrderStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 느린 구독자 부하 테스트 (./gradlew loadTest)
+ *
+ * STOMP 클라이언트 1,000개 중 5%는 프레임마다 수신을 멈춰 소켓 버퍼를 가득 채웁니다.
+ * 느린 세션이 쌓인 뒤에도 DROP 정책이 실제로 느린 세션의 메시지를 버리고(orders.websocket.dropped),
+ * 빠른 클라이언트는 모두 마지막 주문까지 받으며 수신 지연(p99)이 처음과 비슷하게 유지되는지 확인합니다.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "custom.websocket.sockjs.enabled=false",
+        "order.websocket.slow-consumer-policy=DROP",
+        "order.websocket.slow-consumer-threshold-ms=100",
+        "order.websocket.send-time-limit-ms=2000",
+        "order.websocket.outbound.core-pool-size=64",
+        "order.broadcast.max-batch-size=32" // 배치 프레임이 클라이언트 수신 버퍼(32KB) 안에 들어가도록
+})
+public class SlowConsumerLoadTest {
+
+    private static final int CLIENTS = 1000;
+    private static final int SLOW_CLIENTS = CLIENTS / 20;
+    private static final int ORDERS_PER_ROUND = 20;
+    private static final int ROUNDS_PER_PHASE = 50;
+    private static final long ROUND_INTERVAL_MS = 200;
+    private static final long CATCH_UP_MS = 10_000; // 단계가 끝난 뒤 빠른 클라이언트가 마지막 주문을 받을 때까지 기다리는 한도
+    private static final String PADDING = "x".repeat(512);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderStore orderStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, Long> submittedAt = new ConcurrentHashMap<>();
+    private final List<StompSession> sessions = new CopyOnWriteArrayList<>();
+    private final AtomicLongArray lastReceivedId = new AtomicLongArray(CLIENTS); // 클라이언트별로 받은 가장 큰 주문 ID
+    private volatile ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private volatile long lastSubmittedId;
+
+    @AfterEach
+    void tearDown() {
+        sessions.forEach(session -> {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        });
+    }
+
+    @Test
+    void fastClientLatencyStaysFlatWithSlowConsumers() throws Exception {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(32 * 1024); // 배치 프레임(최대 32건)이 기본 8KB를 넘음 (세션마다 할당됨)
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient(container));
+        stompClient.setMessageConverter(new ByteArrayMessageConverter() {
+            {
+                addSupportedMimeTypes(MimeTypeUtils.APPLICATION_JSON); // 주문 메시지는 application/json
+            }
+        });
+        stompClient.setInboundMessageSizeLimit(1024 * 1024);
+        String wsUrl = "ws://localhost:" + port + "/ws";
+
+        CountDownLatch ready = new CountDownLatch(CLIENTS);
+        ExecutorService connector = Executors.newFixedThreadPool(50);
+        List<Future<?>> connections = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            int client = i;
+            connections.add(connector.submit(() -> connect(stompClient, wsUrl, client, ready)));
+        }
+        for (Future<?> connection : connections) {
+            connection.get(30, TimeUnit.SECONDS);
+        }
+        connector.shutdown();
+
+        // 모든 구독이 등록될 때까지 프로브 주문 전송
+        while (!ready.await(200, TimeUnit.MILLISECONDS)) {
+            orderStore.add(new Order(null, "probe", 1, null));
+        }
+
+        long[] baseline = runPhase();
+        long[] congested = runPhase();
+        log.info("빠른 클라이언트 지연(ms) - 초기 p50={}, p99={} / 느린 구독자 적체 후 p50={}, p99={}",
+                baseline[0], baseline[1], congested[0], congested[1]);
+
+        assertTrue(meterRegistry.get("orders.websocket.dropped").counter().count() > 0,
+                "느린 구독자에게 가는 메시지를 버려야 합니다");
+        for (int client = SLOW_CLIENTS; client < CLIENTS; client++) {
+            assertEquals(lastSubmittedId, lastReceivedId.get(client),
+                    "빠른 클라이언트 " + client + "가 마지막 주문까지 받아야 합니다");
+        }
+        assertTrue(congested[1] <= Math.max(baseline[1] * 3, 250),
+                "느린 구독자가 빠른 클라이언트 지연을 늘리지 않아야 합니다: " + Arrays.toString(congested));
+    }
+
+    private void connect(WebSocketStompClient stompClient, String wsUrl, int client, CountDownLatch ready) {
+        boolean slow = client < SLOW_CLIENTS;
+        try {
+            StompSession session = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {
+            }).get(10, TimeUnit.SECONDS);
+            sessions.add(session);
+            session.subscribe("/topic/orders/batch", new StompFrameHandler() {
+                private boolean received;
+
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return byte[].class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    if (!received) {
+                        received = true;
+                        ready.countDown();
+                    }
+                    if (slow) {
+                        // 수신 스레드를 막아 서버 쪽 소켓 버퍼가 차게 만듦
+                        sleep(500);
+                        return;
+                    }
+                    recordLatency(client, (byte[]) payload);
+                }
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException("STOMP 연결 실패", e);
+        }
+    }
+
+    /**
+     * @return {p50, p99} (ms)
+     */
+    private long[] runPhase() throws Exception {
+        latencies = new ConcurrentLinkedQueue<>();
+        for (int round = 0; round < ROUNDS_PER_PHASE; round++) {
+            for (int i = 0; i < ORDERS_PER_ROUND; i++) {
+                long now = System.nanoTime();
+                Order order = orderStore.add(new Order(null, PADDING, 1, null));
+                submittedAt.put(order.getId(), now);
+                lastSubmittedId = order.getId();
+            }
+            Thread.sleep(ROUND_INTERVAL_MS);
+        }
+        awaitFastClients();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertTrue(sorted.length > 0, "빠른 클라이언트가 주문을 받지 못했습니다.");
+        return new long[]{percentile(sorted, 0.50), percentile(sorted, 0.99)};
+    }
+
+    private void recordLatency(int client, byte[] payload) {
+        long now = System.nanoTime();
+        try {
+            for (Order order : objectMapper.readValue(payload, Order[].class)) {
+                lastReceivedId.accumulateAndGet(client, order.getId(), Math::max);
+                Long sentAt = submittedAt.get(order.getId());
+                if (sentAt != null) {
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(now - sentAt));
+                }
+            }
+        } catch (Exception e) {
+            log.error("배치 프레임 파싱 실패: {}", e.getMessage());
+        }
+    }
+
+    private void awaitFastClients() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CATCH_UP_MS);
+        for (int client = SLOW_CLIENTS; client < CLIENTS; client++) {
+            while (lastReceivedId.get(client) < lastSubmittedId && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
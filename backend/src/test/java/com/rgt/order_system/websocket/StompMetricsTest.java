@@ -0,0 +1,82 @@
+package com.rgt.order_system.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StompMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor outboundExecutor;
+    private StompMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboundExecutor = executor();
+        metrics = new StompMetrics(meterRegistry, executor(), outboundExecutor, executor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboundExecutor.shutdown();
+    }
+
+    // 같은 세션의 종료 이벤트가 여러 번 와도 한 번만 빠짐
+    @Test
+    void activeSessionsFollowConnectAndDisconnect() {
+        metrics.onConnected(new SessionConnectedEvent(this, message("a")));
+        metrics.onConnected(new SessionConnectedEvent(this, message("b")));
+        assertEquals(2.0, meterRegistry.get("stomp.sessions.active").gauge().value());
+
+        metrics.onDisconnect(new SessionDisconnectEvent(this, message("a"), "a", CloseStatus.NORMAL));
+        metrics.onDisconnect(new SessionDisconnectEvent(this, message("a"), "a", CloseStatus.NORMAL));
+        assertEquals(1, metrics.activeSessions());
+        assertEquals(1.0, meterRegistry.get("stomp.sessions.active").gauge().value());
+    }
+
+    // 스레드가 모두 막혀 있으면 나머지 작업은 채널 대기열에 쌓임
+    @Test
+    void channelQueueGaugeReportsPendingTasks() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            outboundExecutor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertEquals(3.0, meterRegistry.get("stomp.channel.queue").tag("channel", "outbound").gauge().value());
+        assertEquals(0.0, meterRegistry.get("stomp.channel.queue").tag("channel", "inbound").gauge().value());
+        release.countDown();
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        return executor;
+    }
+
+    private static Message<byte[]> message(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -184,6 +184,8 @@ const Dashboard = () => {
       const lastId = localStorageUtil.getLastId();
       const response = await fetch(`${API_BASE_URL}/api/orders/since?lastId=${lastId}`);
       
+      // 304: 마지막으로 받은 이후 새 주문 없음
+      if (response.status === 304) return;
       if (!response.ok) throw new Error('새 주문 데이터를 가져오는데 실패했습니다');
       
       const newOrders = await response.json();
@@ -238,34 +240,44 @@ const Dashboard = () => {
         console.log("WebSocket connected");
         setWebSocketStatus("웹소켓 연결됨");
         
-        client.subscribe("/topic/orders", (message) => {
+        // 서버가 일정 시간 동안 모은 주문 변경을 배열 하나로 전송 (같은 주문은 최신 상태만 포함)
+        client.subscribe("/topic/orders/batch", (message) => {
           try {
-            const newOrder = JSON.parse(message.body);
-            console.log("New order received:", newOrder);
+            const batch = JSON.parse(message.body);
+            console.log("Order batch received:", batch.length);
             
             setOrders(prevOrders => {
-              // 이미 존재하는지 확인
-              if (prevOrders.some(order => order.id === newOrder.id)) {
-                return prevOrders;
-              }
+              const knownIds = new Set(prevOrders.map(order => order.id));
+              const newOrders = batch.filter(order => !knownIds.has(order.id));
+              const updates = new Map(batch.map(order => [order.id, order]));
               
-              // 새 주문을 맨 앞에 추가
-              const updatedOrders = [newOrder, ...prevOrders].slice(0, maxOrdersRef.current);
+              // 기존 주문은 최신 상태로 교체하고, 새 주문은 맨 앞에 추가
+              const mergedOrders = prevOrders.map(order => updates.get(order.id) || order);
+              const updatedOrders = [...newOrders.sort((a, b) => b.id - a.id), ...mergedOrders]
+                .slice(0, maxOrdersRef.current);
               
               // localStorage 업데이트
               localStorageUtil.saveOrders(updatedOrders);
               
               // 최신 ID 업데이트
-              localStorageUtil.setLastId(Math.max(newOrder.id, localStorageUtil.getLastId()));
+              const maxId = Math.max(...batch.map(order => order.id));
+              localStorageUtil.setLastId(Math.max(maxId, localStorageUtil.getLastId()));
+              
+              // 알림 표시
+              if (newOrders.length === 1) {
+                setNotification({
+                  message: `새 주문: ${newOrders[0].foodName} (${newOrders[0].quantity}개)`,
+                  severity: 'info'
+                });
+              } else if (newOrders.length > 1) {
+                setNotification({
+                  message: `새 주문 ${newOrders.length}건`,
+                  severity: 'info'
+                });
+              }
               
               return updatedOrders;
             });
-            
-            // 알림 표시
-            setNotification({
-              message: `새 주문: ${newOrder.foodName} (${newOrder.quantity}개)`,
-              severity: 'info'
-            });
           } catch (error) {
             console.error("Error processing message:", error);
           }